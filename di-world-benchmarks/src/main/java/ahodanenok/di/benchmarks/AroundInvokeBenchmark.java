@@ -0,0 +1,118 @@
+package ahodanenok.di.benchmarks;
+
+import ahodanenok.di.DefaultWorld;
+import ahodanenok.di.ObjectRequest;
+import ahodanenok.di.character.ClassCharacter;
+import ahodanenok.di.character.InterceptorCharacter;
+import org.openjdk.jmh.annotations.*;
+
+import javax.interceptor.AroundInvoke;
+import javax.interceptor.InterceptorBinding;
+import javax.interceptor.InvocationContext;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a business method call on a proxy compared to a direct call:
+ * a method without interceptors on a proxied object must cost the same as a direct one,
+ * an intercepted method costs the chain of interceptors in addition.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AroundInvokeBenchmark {
+
+    @InterceptorBinding
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface Counted { }
+
+    public static class Service {
+
+        private int counter;
+
+        public int plain(int value) {
+            return counter += value;
+        }
+
+        @Counted
+        public int counted(int value) {
+            return counter += value;
+        }
+    }
+
+    public static class TwiceInterceptedService {
+
+        private int counter;
+
+        public int intercepted(int value) {
+            return counter += value;
+        }
+    }
+
+    @Counted
+    public static class CountedInterceptor {
+
+        @AroundInvoke
+        public Object aroundInvoke(InvocationContext context) throws Exception {
+            return context.proceed();
+        }
+    }
+
+    public static class TimedInterceptor {
+
+        @AroundInvoke
+        public Object aroundInvoke(InvocationContext context) throws Exception {
+            return context.proceed();
+        }
+    }
+
+    private Service direct;
+    private Service proxy;
+    private TwiceInterceptedService twiceIntercepted;
+    private int value;
+
+    @Setup
+    public void setup() {
+        direct = new Service();
+
+        DefaultWorld world = new DefaultWorld();
+        world.getQueue().add(InterceptorCharacter.of(CountedInterceptor.class));
+        world.getQueue().add(InterceptorCharacter.of(TimedInterceptor.class));
+        world.getQueue().add(ClassCharacter.of(Service.class));
+        world.getQueue().add(ClassCharacter.of(TwiceInterceptedService.class)
+                .interceptedBy(CountedInterceptor.class, TimedInterceptor.class));
+        world.getQueue().flush();
+        proxy = world.find(ObjectRequest.of(Service.class));
+        twiceIntercepted = world.find(ObjectRequest.of(TwiceInterceptedService.class));
+
+        if (proxy.getClass() == Service.class) {
+            throw new IllegalStateException("Service is expected to be proxied");
+        }
+
+        value = 1;
+    }
+
+    @Benchmark
+    public int direct() {
+        return direct.counted(value);
+    }
+
+    @Benchmark
+    public int proxyNotIntercepted() {
+        return proxy.plain(value);
+    }
+
+    @Benchmark
+    public int proxyOneInterceptor() {
+        return proxy.counted(value);
+    }
+
+    @Benchmark
+    public int proxyTwoInterceptors() {
+        return twiceIntercepted.intercepted(value);
+    }
+}
@@ -0,0 +1,101 @@
+package ahodanenok.di.benchmarks;
+
+import ahodanenok.di.DefaultWorld;
+import ahodanenok.di.ObjectRequest;
+import ahodanenok.di.character.ClassCharacter;
+import org.openjdk.jmh.annotations.*;
+
+import javax.inject.Inject;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Constructing a graph of objects which are created anew on every request,
+ * dependencies are injected with constructor, fields and methods
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConstructionBenchmark {
+
+    public static class Leaf { }
+
+    public static class ConstructorInjected {
+        public final Leaf leaf;
+
+        @Inject
+        public ConstructorInjected(Leaf leaf) {
+            this.leaf = leaf;
+        }
+    }
+
+    public static class FieldInjected {
+        @Inject public Leaf first;
+        @Inject public Leaf second;
+    }
+
+    public static class MethodInjected {
+        public Leaf leaf;
+
+        @Inject
+        public void setLeaf(Leaf leaf) {
+            this.leaf = leaf;
+        }
+    }
+
+    public static class Root {
+        public final ConstructorInjected constructorInjected;
+        @Inject public FieldInjected fieldInjected;
+        public MethodInjected methodInjected;
+
+        @Inject
+        public Root(ConstructorInjected constructorInjected) {
+            this.constructorInjected = constructorInjected;
+        }
+
+        @Inject
+        public void setMethodInjected(MethodInjected methodInjected) {
+            this.methodInjected = methodInjected;
+        }
+    }
+
+    @Param({ "false", "true" })
+    public boolean generatedFactories;
+
+    @Param({ "false", "true" })
+    public boolean sealed;
+
+    private DefaultWorld world;
+    private ObjectRequest<Root> rootRequest;
+    private ObjectRequest<Leaf> leafRequest;
+
+    @Setup
+    public void setup() {
+        world = new DefaultWorld();
+        world.useGeneratedFactories(generatedFactories);
+        world.getQueue().add(ClassCharacter.of(Leaf.class));
+        world.getQueue().add(ClassCharacter.of(ConstructorInjected.class));
+        world.getQueue().add(ClassCharacter.of(FieldInjected.class));
+        world.getQueue().add(ClassCharacter.of(MethodInjected.class));
+        world.getQueue().add(ClassCharacter.of(Root.class));
+        world.getQueue().flush();
+        if (sealed) {
+            world.seal();
+        }
+
+        rootRequest = ObjectRequest.of(Root.class);
+        leafRequest = ObjectRequest.of(Leaf.class);
+    }
+
+    @Benchmark
+    public Leaf leaf() {
+        return world.find(leafRequest);
+    }
+
+    @Benchmark
+    public Root graph() {
+        return world.find(rootRequest);
+    }
+}
@@ -0,0 +1,59 @@
+package ahodanenok.di.benchmarks;
+
+import ahodanenok.di.interceptor.Interceptor;
+import ahodanenok.di.interceptor.InterceptorChain;
+import ahodanenok.di.interceptor.context.MethodInvocationContext;
+import ahodanenok.di.interceptor.context.ObjectInvocationContext;
+import org.openjdk.jmh.annotations.*;
+
+import javax.interceptor.InvocationContext;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Invoking chains of interceptors of increasing depth,
+ * each interceptor only proceeds to the next one
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InterceptorChainBenchmark {
+
+    public static class Target {
+        public void callback() { }
+    }
+
+    @Param({ "0", "1", "4", "16" })
+    public int depth;
+
+    private InterceptorChain chain;
+    private Target target;
+    private Method callback;
+
+    @Setup
+    public void setup() throws Exception {
+        List<Interceptor> interceptors = new ArrayList<>();
+        for (int i = 0; i < depth; i++) {
+            interceptors.add(InvocationContext::proceed);
+        }
+
+        chain = new InterceptorChain(interceptors);
+        target = new Target();
+        callback = Target.class.getMethod("callback");
+    }
+
+    @Benchmark
+    public Object objectContext() throws Exception {
+        return chain.invoke(new ObjectInvocationContext(target));
+    }
+
+    @Benchmark
+    public Object methodContext() throws Exception {
+        return chain.invoke(new MethodInvocationContext(target, callback));
+    }
+}
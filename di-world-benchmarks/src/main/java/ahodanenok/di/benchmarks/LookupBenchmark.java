@@ -0,0 +1,87 @@
+package ahodanenok.di.benchmarks;
+
+import ahodanenok.di.DefaultWorld;
+import ahodanenok.di.ObjectHandle;
+import ahodanenok.di.ObjectRequest;
+import ahodanenok.di.character.ClassCharacter;
+import ahodanenok.di.scope.SingletonScope;
+import ahodanenok.di.util.NamedQualifier;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Looking up objects in a world with a growing number of registered characters
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LookupBenchmark {
+
+    public static class Filler { }
+
+    public static class Target { }
+
+    public interface Plugin { }
+
+    public static class FirstPlugin implements Plugin { }
+
+    public static class SecondPlugin implements Plugin { }
+
+    public static class ThirdPlugin implements Plugin { }
+
+    @Param({ "10", "1000", "100000" })
+    public int characters;
+
+    private DefaultWorld world;
+    private ObjectRequest<Target> targetRequest;
+    private ObjectHandle<Target> targetHandle;
+    private ObjectRequest<Filler> namedRequest;
+    private ObjectRequest<Plugin> pluginsRequest;
+
+    @Setup
+    public void setup() {
+        world = new DefaultWorld();
+        for (int i = 0; i < characters; i++) {
+            world.getQueue().add(ClassCharacter.of(Filler.class)
+                    .knownAs("filler-" + i)
+                    .scopedBy(new SingletonScope<>()));
+        }
+        world.getQueue().add(ClassCharacter.of(Target.class).scopedBy(new SingletonScope<>()));
+        world.getQueue().add(ClassCharacter.of(FirstPlugin.class).scopedBy(new SingletonScope<>()));
+        world.getQueue().add(ClassCharacter.of(SecondPlugin.class).scopedBy(new SingletonScope<>()));
+        world.getQueue().add(ClassCharacter.of(ThirdPlugin.class).scopedBy(new SingletonScope<>()));
+        world.getQueue().flush();
+
+        targetRequest = ObjectRequest.of(Target.class);
+        targetHandle = world.handle(targetRequest);
+        namedRequest = ObjectRequest.of(Filler.class)
+                .withQualifiers(Collections.singletonList(new NamedQualifier("filler-" + characters / 2)));
+        pluginsRequest = ObjectRequest.of(Plugin.class);
+    }
+
+    @Benchmark
+    public Target find() {
+        return world.find(targetRequest);
+    }
+
+    @Benchmark
+    public Target handle() {
+        return targetHandle.get();
+    }
+
+    @Benchmark
+    public Filler findNamed() {
+        return world.find(namedRequest);
+    }
+
+    @Benchmark
+    public List<Plugin> findAll() {
+        return world.findAll(pluginsRequest);
+    }
+}
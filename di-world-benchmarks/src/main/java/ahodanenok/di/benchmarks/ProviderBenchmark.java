@@ -0,0 +1,55 @@
+package ahodanenok.di.benchmarks;
+
+import ahodanenok.di.DefaultWorld;
+import ahodanenok.di.ObjectRequest;
+import ahodanenok.di.character.ClassCharacter;
+import ahodanenok.di.scope.SingletonScope;
+import org.openjdk.jmh.annotations.*;
+
+import javax.inject.Inject;
+import javax.inject.Provider;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Getting objects from injected providers
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProviderBenchmark {
+
+    public static class Singleton { }
+
+    public static class AlwaysNew { }
+
+    public static class Consumer {
+        @Inject public Provider<Singleton> singleton;
+        @Inject public Provider<AlwaysNew> alwaysNew;
+    }
+
+    private Consumer consumer;
+
+    @Setup
+    public void setup() {
+        DefaultWorld world = new DefaultWorld();
+        world.getQueue().add(ClassCharacter.of(Singleton.class).scopedBy(new SingletonScope<>()));
+        world.getQueue().add(ClassCharacter.of(AlwaysNew.class));
+        world.getQueue().add(ClassCharacter.of(Consumer.class));
+        world.getQueue().flush();
+
+        consumer = world.find(ObjectRequest.of(Consumer.class));
+    }
+
+    @Benchmark
+    public Singleton singleton() {
+        return consumer.singleton.get();
+    }
+
+    @Benchmark
+    public AlwaysNew alwaysNew() {
+        return consumer.alwaysNew.get();
+    }
+}
@@ -0,0 +1,55 @@
+package ahodanenok.di.benchmarks;
+
+import ahodanenok.di.DefaultWorld;
+import ahodanenok.di.ObjectRequest;
+import ahodanenok.di.character.ClassCharacter;
+import ahodanenok.di.scope.SingletonScope;
+import org.openjdk.jmh.annotations.*;
+
+import javax.inject.Provider;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Getting an already created singleton from many threads at once
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(Threads.MAX)
+public class SingletonBenchmark {
+
+    public static class Service { }
+
+    private DefaultWorld world;
+    private ObjectRequest<Service> request;
+    private SingletonScope<Service> scope;
+    private Provider<Service> provider;
+
+    @Setup
+    public void setup() {
+        world = new DefaultWorld();
+        world.getQueue().add(ClassCharacter.of(Service.class).scopedBy(new SingletonScope<>()));
+        world.getQueue().flush();
+        request = ObjectRequest.of(Service.class);
+
+        scope = new SingletonScope<>();
+        provider = Service::new;
+
+        // benchmarks measure only the hit path
+        world.find(request);
+        scope.getObject(provider);
+    }
+
+    @Benchmark
+    public Service scope() {
+        return scope.getObject(provider);
+    }
+
+    @Benchmark
+    public Service find() {
+        return world.find(request);
+    }
+}
@@ -0,0 +1,165 @@
+package ahodanenok.di.benchmarks;
+
+import ahodanenok.di.DefaultWorld;
+import ahodanenok.di.ObjectRequest;
+import ahodanenok.di.character.ClassCharacter;
+import ahodanenok.di.character.InterceptorCharacter;
+import ahodanenok.di.util.NamedQualifier;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+import javax.inject.Qualifier;
+import javax.interceptor.AroundInvoke;
+import javax.interceptor.InterceptorBinding;
+import javax.interceptor.InvocationContext;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cold start of a world with thousands of registered classes, split into phases:
+ * reading metadata of classes into characters, building containers when the queue is flushed,
+ * the first lookup and instantiation of all singletons.
+ *
+ * Each phase is measured once in a fresh JVM, so class loading and reading of annotations
+ * are included, all preceding phases are done in the setup.
+ *
+ * @see SyntheticClasses
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+public class StartupBenchmark {
+
+    public interface Component {
+        int call(int value);
+    }
+
+    public static class Leaf { }
+
+    @Qualifier
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface Tier {
+        int value();
+    }
+
+    @InterceptorBinding
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface Traced { }
+
+    @InterceptorBinding
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface Audited { }
+
+    @Traced
+    public static class TracedInterceptor {
+
+        @AroundInvoke
+        public Object aroundInvoke(InvocationContext context) throws Exception {
+            return context.proceed();
+        }
+    }
+
+    @Audited
+    public static class AuditedInterceptor {
+
+        @AroundInvoke
+        public Object aroundInvoke(InvocationContext context) throws Exception {
+            return context.proceed();
+        }
+    }
+
+    @Param({ "1000", "5000" })
+    public int classes;
+
+    private List<Class<?>> componentClasses;
+    private List<ClassCharacter<?>> characters;
+    private DefaultWorld world;
+
+    @Setup
+    public void setup(BenchmarkParams params) {
+        componentClasses = SyntheticClasses.generate(classes);
+
+        String phase = params.getBenchmark().substring(params.getBenchmark().lastIndexOf('.') + 1);
+        if (phase.equals("metadata")) {
+            return;
+        }
+
+        characters = readMetadata();
+        if (phase.equals("build")) {
+            return;
+        }
+
+        world = register();
+        if (phase.equals("firstFind")) {
+            return;
+        }
+
+        firstFind();
+    }
+
+    /**
+     * Creating characters from the annotations of classes
+     */
+    @Benchmark
+    public List<ClassCharacter<?>> metadata() {
+        return readMetadata();
+    }
+
+    /**
+     * Flushing characters to the world, containers are built and registered
+     */
+    @Benchmark
+    public DefaultWorld build() {
+        return register();
+    }
+
+    @Benchmark
+    public Component firstFind() {
+        return world.find(ObjectRequest.of(Component.class)
+                .withQualifiers(Collections.singletonList(new NamedQualifier(SyntheticClasses.name(0)))));
+    }
+
+    /**
+     * Instantiating all singletons once the world is ready to be used
+     */
+    @Benchmark
+    public List<Object> singletons() {
+        List<Object> objects = new ArrayList<>();
+        for (int i = 0; i < componentClasses.size(); i++) {
+            if (SyntheticClasses.isSingleton(i)) {
+                objects.add(world.find(ObjectRequest.of(componentClasses.get(i))));
+            }
+        }
+
+        return objects;
+    }
+
+    private List<ClassCharacter<?>> readMetadata() {
+        List<ClassCharacter<?>> result = new ArrayList<>(componentClasses.size());
+        for (Class<?> componentClass : componentClasses) {
+            result.add(ClassCharacter.of(componentClass));
+        }
+
+        return result;
+    }
+
+    private DefaultWorld register() {
+        DefaultWorld w = new DefaultWorld();
+        w.getQueue().add(InterceptorCharacter.of(TracedInterceptor.class));
+        w.getQueue().add(InterceptorCharacter.of(AuditedInterceptor.class));
+        w.getQueue().add(ClassCharacter.of(Leaf.class));
+        for (ClassCharacter<?> character : characters) {
+            w.getQueue().add(character);
+        }
+        w.getQueue().flush();
+
+        return w;
+    }
+}
@@ -0,0 +1,126 @@
+package ahodanenok.di.benchmarks;
+
+import org.objectweb.asm.AnnotationVisitor;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.FieldVisitor;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates classes of components for a startup benchmark,
+ * annotations are varied by the index of a class:
+ * - every second class is a singleton
+ * - every third class is named as "component-{index}", every third class starting from the second one
+ *   is qualified with a tier
+ * - every fifth class is bound to traced interceptors, every fifth class starting from the second one
+ *   is bound to audited interceptors
+ *
+ * Each class implements {@link StartupBenchmark.Component}, has a constructor and a field injected
+ * with {@link StartupBenchmark.Leaf}.
+ */
+final class SyntheticClasses {
+
+    private static final String PACKAGE = "ahodanenok/di/benchmarks/synthetic/";
+    private static final String LEAF = Type.getDescriptor(StartupBenchmark.Leaf.class);
+
+    private SyntheticClasses() { }
+
+    static String name(int index) {
+        return "component-" + index;
+    }
+
+    static boolean isSingleton(int index) {
+        return index % 2 == 0;
+    }
+
+    static List<Class<?>> generate(int count) {
+        SyntheticClassLoader loader = new SyntheticClassLoader(SyntheticClasses.class.getClassLoader());
+
+        List<Class<?>> classes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String internalName = PACKAGE + "Component" + i;
+            classes.add(loader.define(internalName.replace('/', '.'), generate(internalName, i)));
+        }
+
+        return classes;
+    }
+
+    private static byte[] generate(String internalName, int index) {
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        cw.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC | Opcodes.ACC_SUPER, internalName, null, "java/lang/Object",
+                new String[] { Type.getInternalName(StartupBenchmark.Component.class) });
+
+        if (isSingleton(index)) {
+            visitAnnotation(cw, Singleton.class).visitEnd();
+        }
+
+        if (index % 3 == 0) {
+            AnnotationVisitor av = visitAnnotation(cw, Named.class);
+            av.visit("value", name(index));
+            av.visitEnd();
+        } else if (index % 3 == 1) {
+            AnnotationVisitor av = visitAnnotation(cw, StartupBenchmark.Tier.class);
+            av.visit("value", index % 10);
+            av.visitEnd();
+        }
+
+        if (index % 5 == 0) {
+            visitAnnotation(cw, StartupBenchmark.Traced.class).visitEnd();
+        } else if (index % 5 == 1) {
+            visitAnnotation(cw, StartupBenchmark.Audited.class).visitEnd();
+        }
+
+        FieldVisitor fv = cw.visitField(Opcodes.ACC_PUBLIC, "leaf", LEAF, null, null);
+        fv.visitAnnotation(Type.getDescriptor(Inject.class), true).visitEnd();
+        fv.visitEnd();
+
+        cw.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_FINAL, "dependency", LEAF, null, null).visitEnd();
+
+        MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "(" + LEAF + ")V", null, null);
+        mv.visitAnnotation(Type.getDescriptor(Inject.class), true).visitEnd();
+        mv.visitCode();
+        mv.visitVarInsn(Opcodes.ALOAD, 0);
+        mv.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+        mv.visitVarInsn(Opcodes.ALOAD, 0);
+        mv.visitVarInsn(Opcodes.ALOAD, 1);
+        mv.visitFieldInsn(Opcodes.PUTFIELD, internalName, "dependency", LEAF);
+        mv.visitInsn(Opcodes.RETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+
+        mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "call", "(I)I", null, null);
+        mv.visitCode();
+        mv.visitVarInsn(Opcodes.ILOAD, 1);
+        mv.visitInsn(Opcodes.ICONST_1);
+        mv.visitInsn(Opcodes.IADD);
+        mv.visitInsn(Opcodes.IRETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
+    private static AnnotationVisitor visitAnnotation(ClassWriter cw, Class<? extends Annotation> type) {
+        return cw.visitAnnotation(Type.getDescriptor(type), true);
+    }
+
+    private static final class SyntheticClassLoader extends ClassLoader {
+
+        SyntheticClassLoader(ClassLoader parent) {
+            super(parent);
+        }
+
+        Class<?> define(String name, byte[] bytes) {
+            return defineClass(name, bytes, 0, bytes.length);
+        }
+    }
+}
@@ -0,0 +1,843 @@
+package ahodanenok.di.processor;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.*;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import java.util.*;
+
+/**
+ * Generates source code of a character for a class.
+ *
+ * Class is inspected the same way ClassCharacter does it at runtime,
+ * if something can't be done by the generated code, {@link UnsupportedElementException} is thrown.
+ */
+final class CharacterGenerator {
+
+    private static final String INJECT = "javax.inject.Inject";
+    private static final String NAMED = "javax.inject.Named";
+    private static final String QUALIFIER = "javax.inject.Qualifier";
+    private static final String SINGLETON = "javax.inject.Singleton";
+    private static final String PROVIDER = "javax.inject.Provider";
+    private static final String INTERCEPTORS = "javax.interceptor.Interceptors";
+    private static final String INTERCEPTOR_BINDING = "javax.interceptor.InterceptorBinding";
+    private static final String POST_CONSTRUCT = "javax.annotation.PostConstruct";
+    private static final String PRE_DESTROY = "javax.annotation.PreDestroy";
+    private static final String AROUND_INVOKE = "javax.interceptor.AroundInvoke";
+    private static final String INJECTION_POINT = "ahodanenok.di.inject.InjectionPoint";
+
+    private static final String INTERCEPTOR_TYPE = "ahodanenok.di.interceptor.InterceptorType";
+    private static final String RESOLVER = "ahodanenok.di.inject.DependencyResolver";
+
+    private final Elements elements;
+    private final Types types;
+    private final TypeElement type;
+    private final PackageElement packageElement;
+
+    // annotation literals are created once and shared by all objects
+    private final Map<String, String> constantNames = new LinkedHashMap<>();
+    private final StringBuilder constants = new StringBuilder();
+
+    CharacterGenerator(ProcessingEnvironment env, TypeElement type) {
+        this.elements = env.getElementUtils();
+        this.types = env.getTypeUtils();
+        this.type = type;
+        this.packageElement = elements.getPackageOf(type);
+    }
+
+    static String getCharacterName(Elements elements, TypeElement type) {
+        String packageName = elements.getPackageOf(type).getQualifiedName().toString();
+        String name = getSimpleName(type);
+        return packageName.isEmpty() ? name : packageName + "." + name;
+    }
+
+    private static String getSimpleName(TypeElement type) {
+        StringBuilder name = new StringBuilder(type.getSimpleName());
+        for (Element e = type.getEnclosingElement(); e instanceof TypeElement; e = e.getEnclosingElement()) {
+            name.insert(0, e.getSimpleName() + "_");
+        }
+
+        return name.append(CharacterProcessor.SUFFIX).toString();
+    }
+
+    static boolean hasAnnotation(Element element, String annotationName) {
+        return findAnnotation(element.getAnnotationMirrors(), annotationName) != null;
+    }
+
+    private static AnnotationMirror findAnnotation(List<? extends AnnotationMirror> annotations, String annotationName) {
+        for (AnnotationMirror a : annotations) {
+            if (getName(a).equals(annotationName)) {
+                return a;
+            }
+        }
+
+        return null;
+    }
+
+    private static String getName(AnnotationMirror annotation) {
+        return ((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName().toString();
+    }
+
+    String generate() {
+        checkAccessible(type, type);
+
+        ExecutableElement constructor = findConstructor();
+        List<Element> members = findMembers();
+        ExecutableElement postConstruct = findCallback(POST_CONSTRUCT);
+        ExecutableElement preDestroy = findCallback(PRE_DESTROY);
+        checkNotInterceptedByAroundInvoke(postConstruct, preDestroy);
+
+        StringBuilder body = new StringBuilder();
+        appendCharacterConstructor(body, constructor, postConstruct, preDestroy);
+        appendGetConstructor(body, constructor);
+        appendResolveArguments(body, constructor);
+        appendNewInstance(body, constructor);
+        appendInjectMembers(body, members);
+        if (postConstruct != null || preDestroy != null) {
+            appendInterceptorMethods(body, postConstruct, preDestroy);
+        }
+
+        String typeName = type.getQualifiedName().toString();
+        StringBuilder source = new StringBuilder();
+        if (!packageElement.isUnnamed()) {
+            source.append("package ").append(packageElement.getQualifiedName()).append(";\n\n");
+        }
+
+        source.append("@javax.annotation.Generated(\"").append(CharacterProcessor.class.getName()).append("\")\n");
+        source.append("public final class ").append(getSimpleName(type))
+                .append(" extends ahodanenok.di.character.GeneratedCharacter<").append(typeName).append("> {\n");
+        if (constants.length() > 0) {
+            source.append('\n').append(constants);
+        }
+
+        source.append(body);
+        source.append("}\n");
+
+        return source.toString();
+    }
+
+    private ExecutableElement findConstructor() {
+        List<ExecutableElement> constructors = ElementFilter.constructorsIn(type.getEnclosedElements());
+
+        List<ExecutableElement> injectable = new ArrayList<>();
+        for (ExecutableElement c : constructors) {
+            if (hasAnnotation(c, INJECT)) {
+                injectable.add(c);
+            }
+        }
+
+        ExecutableElement constructor = null;
+        if (injectable.size() == 1) {
+            constructor = injectable.get(0);
+        } else if (injectable.size() > 1) {
+            throw new UnsupportedElementException(type, "only one constructor can be injectable");
+        } else {
+            // the same rules as in InjectableConstructor
+            List<ExecutableElement> publicConstructors = new ArrayList<>();
+            for (ExecutableElement c : constructors) {
+                if (c.getModifiers().contains(Modifier.PUBLIC)) {
+                    publicConstructors.add(c);
+                }
+            }
+
+            if (publicConstructors.size() == 1) {
+                constructor = publicConstructors.get(0);
+            } else {
+                for (ExecutableElement c : publicConstructors) {
+                    if (c.getParameters().isEmpty()) {
+                        constructor = c;
+                    }
+                }
+            }
+        }
+
+        if (constructor == null) {
+            throw new UnsupportedElementException(type, "couldn't resolve constructor");
+        }
+
+        checkAccessible(constructor, constructor);
+        return constructor;
+    }
+
+    /**
+     * Injectable fields and methods in the order they must be injected:
+     * members of a superclass before members of a subclass, fields before methods
+     */
+    private List<Element> findMembers() {
+        List<TypeElement> hierarchy = getHierarchy(type);
+        Collections.reverse(hierarchy);
+
+        List<Element> members = new ArrayList<>();
+        for (int i = 0; i < hierarchy.size(); i++) {
+            TypeElement current = hierarchy.get(i);
+            for (VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+                if (!field.getModifiers().contains(Modifier.STATIC) && hasAnnotation(field, INJECT)) {
+                    if (field.getModifiers().contains(Modifier.FINAL)) {
+                        throw new UnsupportedElementException(field, "final field can't be injected");
+                    }
+
+                    checkAccessible(field, field);
+                    members.add(field);
+                }
+            }
+
+            for (ExecutableElement method : ElementFilter.methodsIn(current.getEnclosedElements())) {
+                if (method.getModifiers().contains(Modifier.STATIC)
+                        || method.getModifiers().contains(Modifier.ABSTRACT)
+                        || !hasAnnotation(method, INJECT)
+                        || isOverridden(method, hierarchy.subList(i + 1, hierarchy.size()))) {
+                    continue;
+                }
+
+                checkAccessible(method, method);
+                members.add(method);
+            }
+        }
+
+        return members;
+    }
+
+    private ExecutableElement findCallback(String annotationName) {
+        List<ExecutableElement> callbacks = new ArrayList<>();
+        List<TypeElement> hierarchy = getHierarchy(type);
+        for (int i = 0; i < hierarchy.size(); i++) {
+            for (ExecutableElement method : ElementFilter.methodsIn(hierarchy.get(i).getEnclosedElements())) {
+                if (!method.getModifiers().contains(Modifier.STATIC)
+                        && hasAnnotation(method, annotationName)
+                        && !isOverridden(method, hierarchy.subList(0, i))) {
+                    callbacks.add(method);
+                }
+            }
+        }
+
+        if (callbacks.isEmpty()) {
+            return null;
+        } else if (callbacks.size() > 1) {
+            throw new UnsupportedElementException(type, String.format(
+                    "multiple methods annotated with @%s", annotationName));
+        }
+
+        ExecutableElement callback = callbacks.get(0);
+        if (!callback.getParameters().isEmpty()) {
+            throw new UnsupportedElementException(callback, "lifecycle callback method must not have parameters");
+        }
+
+        checkAccessible(callback, callback);
+        return callback;
+    }
+
+    /**
+     * Objects created by the generated code are not proxied, so their business methods can't be intercepted.
+     * Classes which may have AroundInvoke interceptors are left to ClassCharacter.
+     *
+     * Interceptors bound to the class are known only when they are registered in a world,
+     * so any interceptor binding of the class or its business methods may resolve to AroundInvoke interceptors.
+     */
+    private void checkNotInterceptedByAroundInvoke(ExecutableElement postConstruct, ExecutableElement preDestroy) {
+        if (hasAroundInvokeMethod(type)) {
+            throw new UnsupportedElementException(type, "@AroundInvoke methods are not supported");
+        }
+
+        AnnotationMirror interceptors = findAnnotation(type.getAnnotationMirrors(), INTERCEPTORS);
+        if (interceptors != null) {
+            for (AnnotationValue value : getArrayValue(interceptors)) {
+                TypeMirror interceptor = (TypeMirror) value.getValue();
+                if (interceptor.getKind() == TypeKind.DECLARED
+                        && hasAroundInvokeMethod((TypeElement) ((DeclaredType) interceptor).asElement())) {
+                    throw new UnsupportedElementException(type, String.format(
+                            "interceptor '%s' has @AroundInvoke methods", interceptor));
+                }
+            }
+        }
+
+        if (!getInterceptorBindings(elements.getAllAnnotationMirrors(type), false).isEmpty()) {
+            throw new UnsupportedElementException(type,
+                    "interceptor bindings of the class may resolve to AroundInvoke interceptors");
+        }
+
+        for (TypeElement t : getHierarchy(type)) {
+            for (ExecutableElement method : ElementFilter.methodsIn(t.getEnclosedElements())) {
+                if (!method.getModifiers().contains(Modifier.STATIC)
+                        && !method.equals(postConstruct)
+                        && !method.equals(preDestroy)
+                        && !hasAnnotation(method, INJECT)
+                        && !getInterceptorBindings(method.getAnnotationMirrors(), false).isEmpty()) {
+                    throw new UnsupportedElementException(method,
+                            "interceptor bindings of the method may resolve to AroundInvoke interceptors");
+                }
+            }
+        }
+    }
+
+    private boolean hasAroundInvokeMethod(TypeElement typeElement) {
+        for (TypeElement t : getHierarchy(typeElement)) {
+            for (ExecutableElement method : ElementFilter.methodsIn(t.getEnclosedElements())) {
+                if (hasAnnotation(method, AROUND_INVOKE)) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * The class and all its superclasses except Object, starting from the class
+     */
+    private static List<TypeElement> getHierarchy(TypeElement typeElement) {
+        List<TypeElement> hierarchy = new ArrayList<>();
+        TypeElement current = typeElement;
+        while (current != null && !current.getQualifiedName().contentEquals("java.lang.Object")) {
+            hierarchy.add(current);
+
+            TypeMirror superclass = current.getSuperclass();
+            current = superclass.getKind() == TypeKind.DECLARED
+                    ? (TypeElement) ((DeclaredType) superclass).asElement()
+                    : null;
+        }
+
+        return hierarchy;
+    }
+
+    private boolean isOverridden(ExecutableElement method, List<TypeElement> subclasses) {
+        for (TypeElement subclass : subclasses) {
+            for (ExecutableElement m : ElementFilter.methodsIn(subclass.getEnclosedElements())) {
+                if (elements.overrides(m, method, type)) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    private void appendCharacterConstructor(StringBuilder body,
+                                            ExecutableElement constructor,
+                                            ExecutableElement postConstruct,
+                                            ExecutableElement preDestroy) {
+        body.append('\n');
+        body.append("    public ").append(getSimpleName(type)).append("() {\n");
+        body.append("        super(").append(type.getQualifiedName()).append(".class);\n");
+
+        List<String> qualifiers = new ArrayList<>();
+        AnnotationMirror named = findAnnotation(type.getAnnotationMirrors(), NAMED);
+        if (named != null) {
+            String name = getNamedValue(named).trim();
+            if (name.isEmpty()) {
+                name = decapitalize(type.getSimpleName().toString());
+            }
+
+            String literal = elements.getConstantExpression(name);
+            body.append("        knownAs(").append(literal).append(");\n");
+            qualifiers.add(constant(literal, "new ahodanenok.di.util.NamedQualifier(" + literal + ")"));
+        }
+
+        for (AnnotationMirror a : elements.getAllAnnotationMirrors(type)) {
+            if (isQualifier(a) && !getName(a).equals(NAMED)) {
+                qualifiers.add(constant(type, a));
+            }
+        }
+
+        if (!qualifiers.isEmpty()) {
+            body.append("        qualifiedAs(").append(String.join(", ", qualifiers)).append(");\n");
+        }
+
+        if (findAnnotation(elements.getAllAnnotationMirrors(type), SINGLETON) != null) {
+            body.append("        scopedBy(new ahodanenok.di.scope.SingletonScope<>());\n");
+        }
+
+        AnnotationMirror interceptors = findAnnotation(type.getAnnotationMirrors(), INTERCEPTORS);
+        if (interceptors != null) {
+            List<String> classes = new ArrayList<>();
+            for (AnnotationValue value : getArrayValue(interceptors)) {
+                TypeMirror interceptor = (TypeMirror) value.getValue();
+                checkAccessible(type, interceptor);
+                classes.add(types.erasure(interceptor) + ".class");
+            }
+
+            if (!classes.isEmpty()) {
+                body.append("        interceptedBy(").append(String.join(", ", classes)).append(");\n");
+            }
+        }
+
+        appendBoundTo(body, null, getInterceptorBindings(elements.getAllAnnotationMirrors(type), true));
+        appendBoundTo(body, "AROUND_CONSTRUCT",
+                getInterceptorBindings(constructor.getAnnotationMirrors(), false));
+        if (postConstruct != null) {
+            appendBoundTo(body, "POST_CONSTRUCT",
+                    getInterceptorBindings(postConstruct.getAnnotationMirrors(), false));
+        }
+        if (preDestroy != null) {
+            appendBoundTo(body, "PRE_DESTROY",
+                    getInterceptorBindings(preDestroy.getAnnotationMirrors(), false));
+        }
+
+        body.append("    }\n");
+    }
+
+    private void appendBoundTo(StringBuilder body, String interceptorType, List<AnnotationMirror> bindings) {
+        if (bindings.isEmpty()) {
+            return;
+        }
+
+        List<String> arguments = new ArrayList<>();
+        if (interceptorType != null) {
+            arguments.add(INTERCEPTOR_TYPE + "." + interceptorType);
+        }
+
+        for (AnnotationMirror binding : bindings) {
+            arguments.add(constant(type, binding));
+        }
+
+        body.append("        boundTo(").append(String.join(", ", arguments)).append(");\n");
+    }
+
+    private void appendGetConstructor(StringBuilder body, ExecutableElement constructor) {
+        List<String> parameterTypes = new ArrayList<>();
+        for (VariableElement parameter : constructor.getParameters()) {
+            parameterTypes.add(types.erasure(parameter.asType()) + ".class");
+        }
+
+        body.append('\n');
+        body.append("    @Override\n");
+        body.append("    public java.lang.reflect.Constructor<").append(type.getQualifiedName()).append("> getConstructor() {\n");
+        body.append("        try {\n");
+        body.append("            return ").append(type.getQualifiedName()).append(".class.getDeclaredConstructor(")
+                .append(String.join(", ", parameterTypes)).append(");\n");
+        body.append("        } catch (NoSuchMethodException e) {\n");
+        body.append("            throw new IllegalStateException(e);\n");
+        body.append("        }\n");
+        body.append("    }\n");
+    }
+
+    private void appendResolveArguments(StringBuilder body, ExecutableElement constructor) {
+        body.append('\n');
+        body.append("    @Override\n");
+        body.append("    public Object[] resolveArguments(").append(RESOLVER).append(" resolver) {\n");
+        body.append("        return new Object[] {");
+        List<? extends VariableElement> parameters = constructor.getParameters();
+        for (int i = 0; i < parameters.size(); i++) {
+            VariableElement parameter = parameters.get(i);
+            body.append(i > 0 ? ",\n" : "\n");
+            body.append("                ").append(dependency(parameter, parameter.asType(), getQualifiers(parameter), false));
+        }
+        body.append(parameters.isEmpty() ? "};\n" : "\n        };\n");
+        body.append("    }\n");
+    }
+
+    private void appendNewInstance(StringBuilder body, ExecutableElement constructor) {
+        body.append('\n');
+        body.append("    @Override\n");
+        body.append("    @SuppressWarnings(\"unchecked\")\n");
+        body.append("    public ").append(type.getQualifiedName()).append(" newInstance(Object[] args) throws Exception {\n");
+        body.append("        return new ").append(type.getQualifiedName()).append('(');
+        List<? extends VariableElement> parameters = constructor.getParameters();
+        for (int i = 0; i < parameters.size(); i++) {
+            body.append(i > 0 ? ",\n" : "\n");
+            body.append("                (").append(parameters.get(i).asType()).append(") args[").append(i).append(']');
+        }
+        body.append(");\n");
+        body.append("    }\n");
+    }
+
+    private void appendInjectMembers(StringBuilder body, List<Element> members) {
+        body.append('\n');
+        body.append("    @Override\n");
+        body.append("    public void injectMembers(").append(type.getQualifiedName()).append(" instance, ")
+                .append(RESOLVER).append(" resolver) throws Exception {\n");
+        for (Element member : members) {
+            if (member.getKind() == ElementKind.FIELD) {
+                body.append("        instance.").append(member.getSimpleName()).append(" = ")
+                        .append(dependency(member, member.asType(), getQualifiers(member), false)).append(";\n");
+            } else {
+                ExecutableElement method = (ExecutableElement) member;
+                body.append("        instance.").append(method.getSimpleName()).append('(');
+                List<? extends VariableElement> parameters = method.getParameters();
+                for (int i = 0; i < parameters.size(); i++) {
+                    VariableElement parameter = parameters.get(i);
+                    body.append(i > 0 ? ",\n" : "\n");
+                    body.append("                ")
+                            .append(dependency(parameter, parameter.asType(), getQualifiers(parameter), false));
+                }
+                body.append(");\n");
+            }
+        }
+        body.append("    }\n");
+    }
+
+    private void appendInterceptorMethods(StringBuilder body,
+                                          ExecutableElement postConstruct,
+                                          ExecutableElement preDestroy) {
+        Map<String, ExecutableElement> callbacks = new LinkedHashMap<>();
+        if (postConstruct != null) {
+            callbacks.put("POST_CONSTRUCT", postConstruct);
+        }
+        if (preDestroy != null) {
+            callbacks.put("PRE_DESTROY", preDestroy);
+        }
+
+        body.append('\n');
+        body.append("    @Override\n");
+        body.append("    public boolean hasInterceptorMethod(").append(INTERCEPTOR_TYPE).append(" type) {\n");
+        body.append("        return ");
+        boolean first = true;
+        for (String interceptorType : callbacks.keySet()) {
+            body.append(first ? "" : "\n                || ");
+            body.append(INTERCEPTOR_TYPE).append('.').append(interceptorType).append(".equals(type)");
+            first = false;
+        }
+        body.append(";\n");
+        body.append("    }\n");
+
+        body.append('\n');
+        body.append("    @Override\n");
+        body.append("    public java.lang.reflect.Method getInterceptorMethod(").append(INTERCEPTOR_TYPE).append(" type) {\n");
+        body.append("        try {\n");
+        for (Map.Entry<String, ExecutableElement> entry : callbacks.entrySet()) {
+            ExecutableElement method = entry.getValue();
+            body.append("            if (").append(INTERCEPTOR_TYPE).append('.').append(entry.getKey()).append(".equals(type)) {\n");
+            body.append("                return ")
+                    .append(types.erasure(method.getEnclosingElement().asType())).append(".class.getDeclaredMethod(")
+                    .append(elements.getConstantExpression(method.getSimpleName().toString())).append(");\n");
+            body.append("            }\n");
+        }
+        body.append("        } catch (NoSuchMethodException e) {\n");
+        body.append("            throw new IllegalStateException(e);\n");
+        body.append("        }\n");
+        body.append('\n');
+        body.append("        return null;\n");
+        body.append("    }\n");
+
+        body.append('\n');
+        body.append("    @Override\n");
+        body.append("    public void invokeInterceptorMethod(").append(INTERCEPTOR_TYPE).append(" type, ")
+                .append(type.getQualifiedName()).append(" instance) throws Exception {\n");
+        for (Map.Entry<String, ExecutableElement> entry : callbacks.entrySet()) {
+            body.append("        if (").append(INTERCEPTOR_TYPE).append('.').append(entry.getKey()).append(".equals(type)) {\n");
+            body.append("            instance.").append(entry.getValue().getSimpleName()).append("();\n");
+            body.append("        }\n");
+        }
+        body.append("    }\n");
+    }
+
+    /**
+     * Expression resolving a dependency of the given type,
+     * supports the same types as Injector does.
+     */
+    private String dependency(Element site, TypeMirror dependencyType, List<String> qualifiers, boolean optional) {
+        String q = qualifiers.isEmpty() ? "" : ", " + String.join(", ", qualifiers);
+
+        if (dependencyType.getKind().isPrimitive()) {
+            String boxed = types.boxedClass((javax.lang.model.type.PrimitiveType) dependencyType).getQualifiedName() + ".class";
+            return optional
+                    ? "resolver.optional(" + boxed + q + ").orElse(null)"
+                    : "resolver.get(" + boxed + q + ")";
+        }
+
+        if (isPlainClass(dependencyType)) {
+            checkAccessible(site, dependencyType);
+            String literal = types.erasure(dependencyType) + ".class";
+            return optional
+                    ? "resolver.optional(" + literal + q + ").orElse(null)"
+                    : "resolver.get(" + literal + q + ")";
+        }
+
+        if (dependencyType.getKind() != TypeKind.DECLARED) {
+            throw new UnsupportedElementException(site, String.format(
+                    "injection of type '%s' is not supported", dependencyType));
+        }
+
+        DeclaredType declaredType = (DeclaredType) dependencyType;
+        String rawType = ((TypeElement) declaredType.asElement()).getQualifiedName().toString();
+        TypeMirror argument = declaredType.getTypeArguments().get(0);
+
+        if (PROVIDER.equals(rawType)) {
+            if (isPlainClass(argument) && !optional) {
+                checkAccessible(site, argument);
+                return "resolver.provider(" + types.erasure(argument) + ".class" + q + ")";
+            }
+
+            return "(" + PROVIDER + "<" + argument + ">) () -> " + dependency(site, argument, qualifiers, optional);
+        } else if ("java.util.Optional".equals(rawType)) {
+            if (isPlainClass(argument)) {
+                checkAccessible(site, argument);
+                return "resolver.optional(" + types.erasure(argument) + ".class" + q + ")";
+            }
+
+            return "java.util.Optional.ofNullable(" + dependency(site, argument, qualifiers, true) + ")";
+        } else if ("java.util.Collection".equals(rawType)
+                || "java.util.List".equals(rawType)
+                || "java.util.Set".equals(rawType)) {
+            if (!isPlainClass(argument)) {
+                throw new UnsupportedElementException(site, String.format(
+                        "injection of collection of '%s' is not supported", argument));
+            }
+
+            checkAccessible(site, argument);
+            String all = "resolver.all(" + types.erasure(argument) + ".class" + q + ")";
+            if ("java.util.List".equals(rawType)) {
+                return "new java.util.ArrayList<>(" + all + ")";
+            } else if ("java.util.Set".equals(rawType)) {
+                return "new java.util.LinkedHashSet<>(" + all + ")";
+            } else {
+                return all;
+            }
+        } else {
+            throw new UnsupportedElementException(site, String.format(
+                    "injection of type '%s' is not supported", dependencyType));
+        }
+    }
+
+    /**
+     * Not a generic class or an array, which can be requested by its class
+     */
+    private boolean isPlainClass(TypeMirror t) {
+        if (t.getKind() == TypeKind.ARRAY) {
+            TypeMirror component = ((ArrayType) t).getComponentType();
+            return component.getKind().isPrimitive() || isPlainClass(component);
+        }
+
+        if (t.getKind() != TypeKind.DECLARED) {
+            return false;
+        }
+
+        DeclaredType declaredType = (DeclaredType) t;
+        // injection point is known only at runtime
+        return declaredType.getTypeArguments().isEmpty()
+                && !((TypeElement) declaredType.asElement()).getQualifiedName().contentEquals(INJECTION_POINT);
+    }
+
+    private List<String> getQualifiers(Element element) {
+        List<String> qualifiers = new ArrayList<>();
+        for (AnnotationMirror a : element.getAnnotationMirrors()) {
+            if (!isQualifier(a)) {
+                continue;
+            }
+
+            if (getName(a).equals(NAMED)) {
+                String name = getNamedValue(a).trim();
+                if (name.isEmpty()) {
+                    // https://docs.jboss.org/cdi/spec/2.0/cdi-spec.html#named_at_injection_point
+                    // If an injected field declares a @Named annotation that does not specify
+                    // the value member, the name of the field is assumed.
+                    if (element.getKind() != ElementKind.FIELD) {
+                        throw new UnsupportedElementException(element, "@Named must not have an empty value");
+                    }
+
+                    name = element.getSimpleName().toString();
+                }
+
+                String literal = elements.getConstantExpression(name);
+                qualifiers.add(constant(literal, "new ahodanenok.di.util.NamedQualifier(" + literal + ")"));
+            } else {
+                qualifiers.add(constant(element, a));
+            }
+        }
+
+        return qualifiers;
+    }
+
+    private List<AnnotationMirror> getInterceptorBindings(List<? extends AnnotationMirror> annotations,
+                                                          boolean composition) {
+        List<AnnotationMirror> bindings = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (AnnotationMirror a : annotations) {
+            if (isInterceptorBinding(a) && seen.add(a.toString())) {
+                bindings.add(a);
+            }
+        }
+
+        if (composition) {
+            // JSR-318 (Interceptors 1.2), 3.1.1
+            // Interceptor bindings are transitive
+            for (int i = 0; i < bindings.size(); i++) {
+                for (AnnotationMirror a : bindings.get(i).getAnnotationType().asElement().getAnnotationMirrors()) {
+                    if (isInterceptorBinding(a) && seen.add(a.toString())) {
+                        bindings.add(a);
+                    }
+                }
+            }
+        }
+
+        return bindings;
+    }
+
+    private static boolean isQualifier(AnnotationMirror annotation) {
+        return hasAnnotation(annotation.getAnnotationType().asElement(), QUALIFIER);
+    }
+
+    private static boolean isInterceptorBinding(AnnotationMirror annotation) {
+        return hasAnnotation(annotation.getAnnotationType().asElement(), INTERCEPTOR_BINDING);
+    }
+
+    private String getNamedValue(AnnotationMirror named) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+                : elements.getElementValuesWithDefaults(named).entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals("value")) {
+                return (String) entry.getValue().getValue();
+            }
+        }
+
+        return "";
+    }
+
+    private static List<? extends AnnotationValue> getArrayValue(AnnotationMirror annotation) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+                : annotation.getElementValues().entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals("value")) {
+                Object value = entry.getValue().getValue();
+                if (value instanceof List<?>) {
+                    @SuppressWarnings("unchecked") // array members are represented with lists of values
+                    List<? extends AnnotationValue> values = (List<? extends AnnotationValue>) value;
+                    return values;
+                }
+            }
+        }
+
+        return Collections.emptyList();
+    }
+
+    private String constant(Element site, AnnotationMirror annotation) {
+        checkAccessible(site, annotation.getAnnotationType());
+        return constant(annotation.toString(), annotationLiteral(site, annotation));
+    }
+
+    private String constant(String key, String expression) {
+        String name = constantNames.get(key);
+        if (name == null) {
+            name = "A" + constantNames.size();
+            constantNames.put(key, name);
+            constants.append("    private static final java.lang.annotation.Annotation ")
+                    .append(name).append(" = ").append(expression).append(";\n");
+        }
+
+        return name;
+    }
+
+    /**
+     * Anonymous class implementing an annotation interface
+     * according to the contract of {@link java.lang.annotation.Annotation}
+     */
+    private String annotationLiteral(Element site, AnnotationMirror annotation) {
+        String annotationType = types.erasure(annotation.getAnnotationType()).toString();
+        Map<? extends ExecutableElement, ? extends AnnotationValue> values =
+                elements.getElementValuesWithDefaults(annotation);
+
+        StringBuilder literal = new StringBuilder();
+        literal.append("new ").append(annotationType).append("() {\n");
+        literal.append("        @Override\n");
+        literal.append("        public Class<? extends java.lang.annotation.Annotation> annotationType() {\n");
+        literal.append("            return ").append(annotationType).append(".class;\n");
+        literal.append("        }\n");
+
+        List<String> equals = new ArrayList<>();
+        List<String> hashCode = new ArrayList<>();
+        List<String> string = new ArrayList<>();
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : values.entrySet()) {
+            ExecutableElement member = entry.getKey();
+            String name = member.getSimpleName().toString();
+            String value = annotationValue(site, member.getReturnType(), entry.getValue());
+
+            literal.append('\n');
+            literal.append("        @Override\n");
+            literal.append("        public ").append(member.getReturnType()).append(' ').append(name).append("() {\n");
+            literal.append("            return ").append(value).append(";\n");
+            literal.append("        }\n");
+
+            equals.add("java.util.Objects.equals(" + name + "(), other." + name + "())");
+            hashCode.add("((127 * " + elements.getConstantExpression(name) + ".hashCode()) ^ java.util.Objects.hashCode(" + name + "()))");
+            string.add(name + "=\" + " + name + "() + \"");
+        }
+
+        literal.append('\n');
+        literal.append("        @Override\n");
+        literal.append("        public boolean equals(Object obj) {\n");
+        literal.append("            if (!(obj instanceof ").append(annotationType).append(")) {\n");
+        literal.append("                return false;\n");
+        literal.append("            }\n");
+        if (!equals.isEmpty()) {
+            literal.append('\n');
+            literal.append("            ").append(annotationType).append(" other = (").append(annotationType).append(") obj;\n");
+            literal.append("            return ").append(String.join("\n                    && ", equals)).append(";\n");
+        } else {
+            literal.append('\n');
+            literal.append("            return true;\n");
+        }
+        literal.append("        }\n");
+
+        literal.append('\n');
+        literal.append("        @Override\n");
+        literal.append("        public int hashCode() {\n");
+        literal.append("            return ").append(hashCode.isEmpty() ? "0" : String.join("\n                    + ", hashCode)).append(";\n");
+        literal.append("        }\n");
+
+        literal.append('\n');
+        literal.append("        @Override\n");
+        literal.append("        public String toString() {\n");
+        literal.append("            return \"@").append(annotationType).append('(').append(String.join(", ", string)).append(")\";\n");
+        literal.append("        }\n");
+        literal.append("    }");
+
+        return literal.toString();
+    }
+
+    private String annotationValue(Element site, TypeMirror valueType, AnnotationValue value) {
+        Object v = value.getValue();
+        if (v instanceof TypeMirror) {
+            checkAccessible(site, (TypeMirror) v);
+            return types.erasure((TypeMirror) v) + ".class";
+        } else if (v instanceof VariableElement) {
+            checkAccessible(site, valueType);
+            return types.erasure(valueType) + "." + ((VariableElement) v).getSimpleName();
+        } else if (v instanceof String || valueType.getKind().isPrimitive()) {
+            return elements.getConstantExpression(v);
+        } else {
+            throw new UnsupportedElementException(site, String.format(
+                    "annotation member of type '%s' is not supported", valueType));
+        }
+    }
+
+    /**
+     * Generated character is in the same package as the class,
+     * so it can access everything except private and members of other packages which are not public
+     */
+    private void checkAccessible(Element site, Element element) {
+        for (Element e = element; e != null && e.getKind() != ElementKind.PACKAGE; e = e.getEnclosingElement()) {
+            Set<Modifier> modifiers = e.getModifiers();
+            if (modifiers.contains(Modifier.PRIVATE)
+                    || !modifiers.contains(Modifier.PUBLIC) && !elements.getPackageOf(e).equals(packageElement)) {
+                throw new UnsupportedElementException(site, String.format(
+                        "'%s' is not accessible from package '%s'", e, packageElement.getQualifiedName()));
+            }
+        }
+    }
+
+    private void checkAccessible(Element site, TypeMirror t) {
+        if (t.getKind() == TypeKind.ARRAY) {
+            checkAccessible(site, ((ArrayType) t).getComponentType());
+        } else if (t.getKind() == TypeKind.DECLARED) {
+            DeclaredType declaredType = (DeclaredType) t;
+            checkAccessible(site, declaredType.asElement());
+            for (TypeMirror argument : declaredType.getTypeArguments()) {
+                checkAccessible(site, argument);
+            }
+        }
+    }
+
+    // the same as java.beans.Introspector#decapitalize
+    private static String decapitalize(String name) {
+        if (name.isEmpty()
+                || name.length() > 1 && Character.isUpperCase(name.charAt(1)) && Character.isUpperCase(name.charAt(0))) {
+            return name;
+        }
+
+        char[] chars = name.toCharArray();
+        chars[0] = Character.toLowerCase(chars[0]);
+        return new String(chars);
+    }
+}
@@ -0,0 +1,107 @@
+package ahodanenok.di.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Generates characters for classes using javax.inject annotations.
+ *
+ * For a class {@code com.example.Car} processor generates {@code com.example.Car_Character},
+ * which extends {@code ahodanenok.di.character.GeneratedCharacter} and creates objects, injects members
+ * and invokes lifecycle callbacks with plain method calls, so the world doesn't need
+ * to inspect the class with reflection.
+ *
+ * Character is generated only if it can be done without reflection, for example
+ * private constructors and members can't be injected this way. For such classes
+ * a warning is reported and they must be registered using {@code ClassCharacter}.
+ */
+@SupportedAnnotationTypes({ "javax.inject.Inject", "javax.inject.Named", "javax.inject.Singleton" })
+public class CharacterProcessor extends AbstractProcessor {
+
+    static final String SUFFIX = "_Character";
+
+    private final Set<String> generated = new HashSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        Set<TypeElement> types = new LinkedHashSet<>();
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                TypeElement type = getEnclosingType(element);
+                if (type != null) {
+                    types.add(type);
+                }
+            }
+        }
+
+        for (TypeElement type : types) {
+            if (isCandidate(type) && generated.add(type.getQualifiedName().toString())) {
+                generate(type);
+            }
+        }
+
+        // annotations are left for other processors
+        return false;
+    }
+
+    private void generate(TypeElement type) {
+        String source;
+        try {
+            source = new CharacterGenerator(processingEnv, type).generate();
+        } catch (UnsupportedElementException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, String.format(
+                    "Character for '%s' is not generated: %s", type.getQualifiedName(), e.getMessage()),
+                    e.getElement());
+            return;
+        }
+
+        String name = CharacterGenerator.getCharacterName(processingEnv.getElementUtils(), type);
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(name, type);
+            try (Writer writer = file.openWriter()) {
+                writer.write(source);
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, String.format(
+                    "Couldn't write character '%s': %s", name, e.getMessage()), type);
+        }
+    }
+
+    private static TypeElement getEnclosingType(Element element) {
+        Element current = element;
+        while (current != null && !current.getKind().isClass() && !current.getKind().isInterface()) {
+            current = current.getEnclosingElement();
+        }
+
+        return (TypeElement) current;
+    }
+
+    private static boolean isCandidate(TypeElement type) {
+        // abstract classes often declare injectable members for their subclasses,
+        // interceptors have their own characters
+        if (type.getKind() != ElementKind.CLASS
+                || type.getModifiers().contains(Modifier.ABSTRACT)
+                || CharacterGenerator.hasAnnotation(type, "javax.interceptor.Interceptor")) {
+            return false;
+        }
+
+        NestingKind nesting = type.getNestingKind();
+        return nesting == NestingKind.TOP_LEVEL
+                || nesting == NestingKind.MEMBER && type.getModifiers().contains(Modifier.STATIC);
+    }
+}
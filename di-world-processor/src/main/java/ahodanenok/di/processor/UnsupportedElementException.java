@@ -0,0 +1,20 @@
+package ahodanenok.di.processor;
+
+import javax.lang.model.element.Element;
+
+/**
+ * Element can't be created or injected by a generated character
+ */
+final class UnsupportedElementException extends RuntimeException {
+
+    private final Element element;
+
+    UnsupportedElementException(Element element, String message) {
+        super(message);
+        this.element = element;
+    }
+
+    Element getElement() {
+        return element;
+    }
+}
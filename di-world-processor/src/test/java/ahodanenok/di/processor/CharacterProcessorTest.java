@@ -0,0 +1,212 @@
+package ahodanenok.di.processor;
+
+import ahodanenok.di.DefaultWorld;
+import ahodanenok.di.ObjectRequest;
+import ahodanenok.di.character.ClassCharacter;
+import ahodanenok.di.character.GeneratedCharacter;
+import ahodanenok.di.util.NamedQualifier;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.*;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class CharacterProcessorTest {
+
+    @TempDir
+    Path dir;
+
+    private final List<Diagnostic<? extends JavaFileObject>> diagnostics = new ArrayList<>();
+
+    @Test
+    @DisplayName("should generate character creating and injecting objects")
+    public void generate() throws Exception {
+        ClassLoader loader = compile(
+                "test.Engine", "package test; public class Engine { }",
+                "test.Red", "package test;"
+                        + "@javax.inject.Qualifier @java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME)"
+                        + "public @interface Red { int shade() default 1; }",
+                "test.Car", "package test;"
+                        + "import javax.inject.*; import java.util.*;"
+                        + "@Singleton @Named @Red(shade = 5)"
+                        + "public class Car {"
+                        + "    final Engine engine;"
+                        + "    @Inject @Named(\"spare\") Engine spare;"
+                        + "    @Inject Provider<Engine> engineProvider;"
+                        + "    @Inject Optional<List<Engine>> allEngines;"
+                        + "    Engine other; boolean constructed;"
+                        + "    @Inject Car(Engine engine) { this.engine = engine; }"
+                        + "    @Inject void setOther(@Named(\"spare\") Engine other) { this.other = other; }"
+                        + "    @javax.annotation.PostConstruct void init() { constructed = engine != null && other != null; }"
+                        + "}");
+
+        GeneratedCharacter<?> carCharacter = newCharacter(loader, "test.Car_Character");
+        assertThat(carCharacter.getObjectClass().getName()).isEqualTo("test.Car");
+        assertThat(carCharacter.getNames()).containsExactly("car");
+        assertThat(carCharacter.getQualifiers()).hasSize(2).contains(new NamedQualifier("car"));
+
+        Class<?> engineClass = loader.loadClass("test.Engine");
+        DefaultWorld world = new DefaultWorld();
+        world.getQueue().add(ClassCharacter.of(engineClass));
+        world.getQueue().add(ClassCharacter.of(engineClass).knownAs("spare"));
+        world.getQueue().add(carCharacter);
+        world.getQueue().flush();
+
+        Object car = world.find(ObjectRequest.of(carCharacter.getObjectClass()));
+        assertThat(car).isSameAs(world.find(ObjectRequest.of(carCharacter.getObjectClass())));
+        assertThat(car).hasFieldOrPropertyWithValue("constructed", true);
+        assertThat(field(car, "engine")).isNotNull();
+        assertThat(field(car, "spare")).isNotNull().isNotSameAs(field(car, "engine"));
+        assertThat(field(car, "other")).isNotNull();
+        assertThat(((javax.inject.Provider<?>) field(car, "engineProvider")).get()).isNotNull();
+        assertThat((Optional<?>) field(car, "allEngines")).hasValueSatisfying(
+                engines -> assertThat((List<?>) engines).hasSize(2));
+    }
+
+    @Test
+    @DisplayName("should generate annotation literals following annotation contract")
+    public void annotationLiteral() throws Exception {
+        ClassLoader loader = compile(
+                "test.Red", "package test;"
+                        + "@javax.inject.Qualifier @java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME)"
+                        + "public @interface Red { int shade() default 1; String name() default \"red\"; Class<?> type() default Object.class; }",
+                "test.Car", "package test;"
+                        + "@Red(shade = 5, type = String.class)"
+                        + "public class Car { @javax.inject.Inject public Car() { } }",
+                "test.Reference", "package test;"
+                        + "@Red(shade = 5, type = String.class)"
+                        + "public class Reference { }");
+
+        GeneratedCharacter<?> character = newCharacter(loader, "test.Car_Character");
+        java.lang.annotation.Annotation reference =
+                loader.loadClass("test.Reference").getAnnotations()[0];
+
+        assertThat(character.getQualifiers()).hasSize(1);
+        java.lang.annotation.Annotation literal = character.getQualifiers().get(0);
+        assertThat(literal).isEqualTo(reference);
+        assertThat(reference).isEqualTo(literal);
+        assertThat(literal.hashCode()).isEqualTo(reference.hashCode());
+        assertThat(literal.annotationType()).isSameAs(reference.annotationType());
+    }
+
+    @Test
+    @DisplayName("should not generate character if members are not accessible")
+    public void notAccessible() throws Exception {
+        ClassLoader loader = compile(
+                "test.Engine", "package test; public class Engine { }",
+                "test.Car", "package test;"
+                        + "public class Car { @javax.inject.Inject private Engine engine; }");
+
+        assertThatThrownBy(() -> loader.loadClass("test.Car_Character"))
+                .isInstanceOf(ClassNotFoundException.class);
+        assertThat(diagnostics)
+                .filteredOn(d -> d.getKind() == Diagnostic.Kind.WARNING)
+                .extracting(d -> d.getMessage(Locale.ENGLISH))
+                .anyMatch(m -> m.contains("Character for 'test.Car' is not generated"));
+    }
+
+    @Test
+    @DisplayName("should not generate character if business methods may be intercepted")
+    public void aroundInvoke() throws Exception {
+        ClassLoader loader = compile(
+                "test.Logged", "package test;"
+                        + "@javax.interceptor.InterceptorBinding"
+                        + "@java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME)"
+                        + "public @interface Logged { }",
+                "test.Audit", "package test;"
+                        + "public class Audit {"
+                        + "    @javax.interceptor.AroundInvoke"
+                        + "    Object audit(javax.interceptor.InvocationContext context) throws Exception { return context.proceed(); }"
+                        + "}",
+                "test.Init", "package test;"
+                        + "public class Init {"
+                        + "    @javax.annotation.PostConstruct"
+                        + "    void init(javax.interceptor.InvocationContext context) throws Exception { context.proceed(); }"
+                        + "}",
+                "test.Bound", "package test; @javax.inject.Singleton @Logged public class Bound { }",
+                "test.Listed", "package test; @javax.inject.Singleton @javax.interceptor.Interceptors(Audit.class) public class Listed { }",
+                "test.Method", "package test; @javax.inject.Singleton public class Method { @Logged public void run() { } }",
+                "test.Self", "package test;"
+                        + "@javax.inject.Singleton public class Self {"
+                        + "    @javax.interceptor.AroundInvoke"
+                        + "    Object self(javax.interceptor.InvocationContext context) throws Exception { return context.proceed(); }"
+                        + "}",
+                "test.Constructed", "package test;"
+                        + "@javax.inject.Singleton @javax.interceptor.Interceptors(Init.class)"
+                        + "public class Constructed { @javax.annotation.PostConstruct @Logged void init() { } }");
+
+        for (String name : Arrays.asList("test.Bound", "test.Listed", "test.Method", "test.Self")) {
+            assertThatThrownBy(() -> loader.loadClass(name + "_Character"))
+                    .isInstanceOf(ClassNotFoundException.class);
+            assertThat(diagnostics)
+                    .filteredOn(d -> d.getKind() == Diagnostic.Kind.WARNING)
+                    .extracting(d -> d.getMessage(Locale.ENGLISH))
+                    .anyMatch(m -> m.contains("Character for '" + name + "' is not generated"));
+        }
+
+        assertThat(newCharacter(loader, "test.Constructed_Character").getObjectClass().getName())
+                .isEqualTo("test.Constructed");
+    }
+
+    @Test
+    @DisplayName("should skip abstract classes")
+    public void abstractClass() throws Exception {
+        ClassLoader loader = compile(
+                "test.Engine", "package test; public class Engine { }",
+                "test.Vehicle", "package test;"
+                        + "public abstract class Vehicle { @javax.inject.Inject Engine engine; }");
+
+        assertThatThrownBy(() -> loader.loadClass("test.Vehicle_Character"))
+                .isInstanceOf(ClassNotFoundException.class);
+        assertThat(diagnostics).noneMatch(d -> d.getKind() == Diagnostic.Kind.WARNING);
+    }
+
+    private static Object field(Object instance, String name) throws Exception {
+        java.lang.reflect.Field field = instance.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        return field.get(instance);
+    }
+
+    private static GeneratedCharacter<?> newCharacter(ClassLoader loader, String name) throws Exception {
+        return (GeneratedCharacter<?>) loader.loadClass(name).getConstructor().newInstance();
+    }
+
+    private ClassLoader compile(String... namesAndSources) throws IOException {
+        Path sources = Files.createDirectories(dir.resolve("sources"));
+        Path classes = Files.createDirectories(dir.resolve("classes"));
+
+        List<Path> files = new ArrayList<>();
+        for (int i = 0; i < namesAndSources.length; i += 2) {
+            Path file = sources.resolve(namesAndSources[i].replace('.', '/') + ".java");
+            Files.createDirectories(file.getParent());
+            Files.write(file, namesAndSources[i + 1].getBytes(StandardCharsets.UTF_8));
+            files.add(file);
+        }
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8)) {
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics::add,
+                    Arrays.asList(
+                            "-classpath", System.getProperty("java.class.path"),
+                            "-d", classes.toString(),
+                            "-s", classes.toString()),
+                    null,
+                    fileManager.getJavaFileObjectsFromFiles(files.stream().map(Path::toFile).collect(Collectors.toList())));
+            task.setProcessors(Collections.singletonList(new CharacterProcessor()));
+
+            assertThat(task.call()).as("compilation errors: %s", diagnostics).isTrue();
+        }
+
+        return new URLClassLoader(new URL[] { classes.toUri().toURL() }, getClass().getClassLoader());
+    }
+}
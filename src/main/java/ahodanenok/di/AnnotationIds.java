@@ -0,0 +1,143 @@
+package ahodanenok.di;
+
+import ahodanenok.di.util.NamedQualifier;
+
+import javax.inject.Named;
+import java.lang.annotation.Annotation;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Small integer ids of qualifiers and interceptor bindings of containers registered in a world.
+ *
+ * Annotations implement equals and hashCode by invoking each of their members,
+ * so they are compared once, when containers are registered, and lookups compare their ids instead.
+ * Ids are never removed, so they stay valid for all snapshots of the world.
+ */
+final class AnnotationIds {
+
+    static final int[] NONE = new int[0];
+
+    private final ConcurrentMap<Annotation, Integer> ids = new ConcurrentHashMap<>();
+    private final AtomicInteger nextId = new AtomicInteger();
+
+    /**
+     * Ids of the annotations, annotations seen for the first time are given new ids
+     * @return sorted ids without duplicates
+     */
+    int[] register(Collection<? extends Annotation> annotations) {
+        if (annotations.isEmpty()) {
+            return NONE;
+        }
+
+        int[] result = new int[annotations.size()];
+        int i = 0;
+        for (Annotation annotation : annotations) {
+            result[i++] = ids.computeIfAbsent(normalize(annotation), __ -> nextId.getAndIncrement());
+        }
+
+        return sort(result);
+    }
+
+    /**
+     * Ids of the annotations
+     * @return sorted ids without duplicates or null if any of the annotations was never registered
+     */
+    int[] find(Collection<? extends Annotation> annotations) {
+        if (annotations.isEmpty()) {
+            return NONE;
+        }
+
+        int[] result = new int[annotations.size()];
+        int i = 0;
+        for (Annotation annotation : annotations) {
+            Integer id = ids.get(normalize(annotation));
+            if (id == null) {
+                return null;
+            }
+
+            result[i++] = id;
+        }
+
+        return sort(result);
+    }
+
+    /**
+     * Whether sorted ids contain all the required sorted ids
+     */
+    static boolean containsAll(int[] ids, int[] required) {
+        int i = 0;
+        for (int id : required) {
+            while (i < ids.length && ids[i] < id) {
+                i++;
+            }
+
+            if (i == ids.length || ids[i] != id) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static int[] sort(int[] ids) {
+        if (ids.length == 1) {
+            return ids;
+        }
+
+        Arrays.sort(ids);
+        int size = 1;
+        for (int i = 1; i < ids.length; i++) {
+            if (ids[i] != ids[size - 1]) {
+                ids[size++] = ids[i];
+            }
+        }
+
+        return size == ids.length ? ids : Arrays.copyOf(ids, size);
+    }
+
+    private static Annotation normalize(Annotation annotation) {
+        // annotation proxies and NamedQualifier are equal, but have different hash codes
+        if (annotation instanceof Named && !(annotation instanceof NamedQualifier)) {
+            return new NamedQualifier(((Named) annotation).value());
+        }
+
+        return annotation;
+    }
+
+    /**
+     * Set of ids usable as a key of a map
+     */
+    static final class Key {
+
+        private final int[] ids;
+        private final int hash;
+
+        Key(int[] ids) {
+            this.ids = ids;
+            this.hash = Arrays.hashCode(ids);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            }
+
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+
+            Key other = (Key) obj;
+            return hash == other.hash && Arrays.equals(ids, other.ids);
+        }
+    }
+}
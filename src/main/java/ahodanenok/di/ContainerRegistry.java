@@ -0,0 +1,239 @@
+package ahodanenok.di;
+
+import ahodanenok.di.container.Container;
+import ahodanenok.di.container.InjectableContainer;
+import ahodanenok.di.container.InterceptorContainer;
+import ahodanenok.di.interceptor.InterceptorChain;
+import ahodanenok.di.util.ReflectionUtils;
+
+import java.lang.annotation.Annotation;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Immutable snapshot of containers registered in the world.
+ *
+ * Registration doesn't modify a snapshot, but creates a new one with the added containers,
+ * so a snapshot can be read from any number of threads without locking and
+ * a lookup started before registration will complete against the containers it started with.
+ *
+ * Injectable containers are indexed by all types their objects are assignable to,
+ * so lookups examine only containers which could actually match a requested type,
+ * and by their names, so lookups by name don't depend on the number of registered containers.
+ * Interceptor containers are indexed by their class and by their set of interceptor bindings.
+ * Qualifiers and interceptor bindings are matched by their ids, see {@link AnnotationIds}.
+ */
+final class ContainerRegistry {
+
+    /**
+     * Snapshot of a new world without any containers
+     */
+    static ContainerRegistry empty() {
+        return new ContainerRegistry(0, new AnnotationIds(), Collections.emptyList(),
+                Collections.emptyMap(), Collections.emptyMap(), Collections.emptyList(), Collections.emptyMap(), Collections.emptyMap());
+    }
+
+    private final int generation;
+    // shared by all snapshots of a world
+    private final AnnotationIds annotationIds;
+    private final List<Container<?>> containers;
+    private final Map<Class<?>, List<Injectable>> injectablesByType;
+    private final Map<String, List<Injectable>> injectablesByName;
+    private final List<InterceptorContainer<?>> interceptors;
+    private final Map<Class<?>, List<InterceptorContainer<?>>> interceptorsByClass;
+    private final Map<AnnotationIds.Key, List<InterceptorContainer<?>>> interceptorsByBindings;
+
+    // requests resolved against this snapshot
+    private final ConcurrentMap<RequestKey, InjectableContainer<?>> resolvedContainers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<InterceptorRequestKey, InterceptorChain> interceptorChains = new ConcurrentHashMap<>();
+
+    private ContainerRegistry(int generation,
+                              AnnotationIds annotationIds,
+                              List<Container<?>> containers,
+                              Map<Class<?>, List<Injectable>> injectablesByType,
+                              Map<String, List<Injectable>> injectablesByName,
+                              List<InterceptorContainer<?>> interceptors,
+                              Map<Class<?>, List<InterceptorContainer<?>>> interceptorsByClass,
+                              Map<AnnotationIds.Key, List<InterceptorContainer<?>>> interceptorsByBindings) {
+        this.generation = generation;
+        this.annotationIds = annotationIds;
+        this.containers = containers;
+        this.injectablesByType = injectablesByType;
+        this.injectablesByName = injectablesByName;
+        this.interceptors = interceptors;
+        this.interceptorsByClass = interceptorsByClass;
+        this.interceptorsByBindings = interceptorsByBindings;
+    }
+
+    /**
+     * New snapshot with all the containers of this one and the given containers added after them
+     */
+    ContainerRegistry with(List<Container<?>> added) {
+        List<Container<?>> newContainers = new ArrayList<>(containers.size() + added.size());
+        newContainers.addAll(containers);
+        newContainers.addAll(added);
+
+        List<InterceptorContainer<?>> newInterceptors = new ArrayList<>(interceptors);
+        IndexBuilder<Class<?>, Injectable> newInjectablesByType = new IndexBuilder<>(injectablesByType);
+        IndexBuilder<String, Injectable> newInjectablesByName = new IndexBuilder<>(injectablesByName);
+        IndexBuilder<Class<?>, InterceptorContainer<?>> newInterceptorsByClass = new IndexBuilder<>(interceptorsByClass);
+        IndexBuilder<AnnotationIds.Key, InterceptorContainer<?>> newInterceptorsByBindings =
+                new IndexBuilder<>(interceptorsByBindings);
+
+        for (Container<?> container : added) {
+            if (container instanceof InjectableContainer<?>) {
+                InjectableContainer<?> injectable = (InjectableContainer<?>) container;
+                Set<Class<?>> types = ReflectionUtils.getAssignableTypes(injectable.getObjectClass());
+                Injectable entry = new Injectable(injectable, types, annotationIds.register(injectable.getQualifiers()));
+                for (Class<?> type : types) {
+                    newInjectablesByType.add(type, entry);
+                }
+                for (String name : injectable.getNames()) {
+                    newInjectablesByName.add(name, entry);
+                }
+            }
+
+            if (container instanceof InterceptorContainer<?>) {
+                InterceptorContainer<?> interceptor = (InterceptorContainer<?>) container;
+                newInterceptors.add(interceptor);
+                newInterceptorsByClass.add(interceptor.getObjectClass(), interceptor);
+                newInterceptorsByBindings.add(
+                        new AnnotationIds.Key(annotationIds.register(interceptor.getInterceptorBindings())), interceptor);
+            }
+        }
+
+        return new ContainerRegistry(
+                generation + 1,
+                annotationIds,
+                Collections.unmodifiableList(newContainers),
+                newInjectablesByType.build(),
+                newInjectablesByName.build(),
+                Collections.unmodifiableList(newInterceptors),
+                newInterceptorsByClass.build(),
+                newInterceptorsByBindings.build());
+    }
+
+    /**
+     * Number of the snapshot, each registration increments it
+     */
+    int getGeneration() {
+        return generation;
+    }
+
+    /**
+     * All registered containers in order of registration
+     */
+    List<Container<?>> getContainers() {
+        return containers;
+    }
+
+    /**
+     * Ids of qualifiers and interceptor bindings of the registered containers
+     */
+    AnnotationIds getAnnotationIds() {
+        return annotationIds;
+    }
+
+    /**
+     * Injectable containers with objects assignable to the given type in order of registration
+     */
+    List<Injectable> getInjectables(Class<?> type) {
+        return injectablesByType.getOrDefault(type, Collections.emptyList());
+    }
+
+    /**
+     * Injectable containers having the given name in order of registration
+     */
+    List<Injectable> getInjectables(String name) {
+        return injectablesByName.getOrDefault(name, Collections.emptyList());
+    }
+
+    /**
+     * All interceptor containers in order of registration
+     */
+    List<InterceptorContainer<?>> getInterceptors() {
+        return interceptors;
+    }
+
+    /**
+     * Interceptor containers of the given class in order of registration
+     */
+    List<InterceptorContainer<?>> getInterceptors(Class<?> interceptorClass) {
+        return interceptorsByClass.getOrDefault(interceptorClass, Collections.emptyList());
+    }
+
+    /**
+     * Interceptor containers having exactly the given interceptor bindings in order of registration
+     */
+    List<InterceptorContainer<?>> getInterceptors(Set<Annotation> bindings) {
+        int[] ids = annotationIds.find(bindings);
+        if (ids == null) {
+            // no interceptor has any of the bindings
+            return Collections.emptyList();
+        }
+
+        return interceptorsByBindings.getOrDefault(new AnnotationIds.Key(ids), Collections.emptyList());
+    }
+
+    /**
+     * Containers already selected for requests, valid only for this snapshot
+     */
+    ConcurrentMap<RequestKey, InjectableContainer<?>> getResolvedContainers() {
+        return resolvedContainers;
+    }
+
+    /**
+     * Interceptor chains already built for requests, valid only for this snapshot
+     */
+    ConcurrentMap<InterceptorRequestKey, InterceptorChain> getInterceptorChains() {
+        return interceptorChains;
+    }
+
+    /**
+     * Injectable container with types its objects are assignable to and ids of its qualifiers
+     */
+    static final class Injectable {
+
+        final InjectableContainer<?> container;
+        final Set<Class<?>> types;
+        final int[] qualifierIds;
+
+        Injectable(InjectableContainer<?> container, Set<Class<?>> types, int[] qualifierIds) {
+            this.container = container;
+            this.types = types;
+            this.qualifierIds = qualifierIds;
+        }
+    }
+
+    /**
+     * Copy of an index, lists of keys not affected by the added values are shared with the original
+     */
+    private static final class IndexBuilder<K, V> {
+
+        private final Map<K, List<V>> index;
+        private final Set<K> copiedKeys = new HashSet<>();
+
+        IndexBuilder(Map<K, List<V>> original) {
+            this.index = new HashMap<>(original);
+        }
+
+        void add(K key, V value) {
+            List<V> values = index.get(key);
+            if (copiedKeys.add(key)) {
+                values = values != null ? new ArrayList<>(values) : new ArrayList<>();
+                index.put(key, values);
+            }
+
+            values.add(value);
+        }
+
+        Map<K, List<V>> build() {
+            for (K key : copiedKeys) {
+                index.put(key, Collections.unmodifiableList(index.get(key)));
+            }
+
+            return index;
+        }
+    }
+}
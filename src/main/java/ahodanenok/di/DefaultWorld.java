@@ -9,30 +9,44 @@ import ahodanenok.di.container.InjectableContainer;
 import ahodanenok.di.container.InterceptorContainer;
 import ahodanenok.di.event.EventHandler;
 import ahodanenok.di.exception.DependencyLookupException;
+import ahodanenok.di.exception.DependencyValidationException;
 import ahodanenok.di.inject.InjectionPoint;
 import ahodanenok.di.interceptor.Interceptor;
 import ahodanenok.di.interceptor.InterceptorChain;
 import ahodanenok.di.interceptor.InterceptorRequest;
 import ahodanenok.di.queue.EntranceQueue;
-import ahodanenok.di.util.ReflectionUtils;
+import ahodanenok.di.util.NamedQualifier;
 
 import javax.inject.Named;
+import javax.inject.Provider;
 import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
 import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 
 // todo: container for user-instantiated objects
-// todo: instantiate eager objects
 // todo: logging
 public final class DefaultWorld implements WorldInternals, World {
 
-    private final List<Container<?>> containers = new ArrayList<>();
+    // readers take the current snapshot with a single volatile read, writers replace it under the lock
+    private volatile ContainerRegistry registry = ContainerRegistry.empty();
+    private final Lock writeLock = new ReentrantLock();
     private final EntranceQueue queue = new EntranceQueue(this::register);
-    private final LinkedList<InjectionPoint> injectionPoints = new LinkedList<>();
+    // objects can be requested from multiple threads, each one has its own injection points
+    private final ThreadLocal<InjectionPointStack> injectionPoints = ThreadLocal.withInitial(InjectionPointStack::new);
     private final List<Augmentation> augmentations = new ArrayList<>();
+    private volatile Augmentation augmentation;
+    private volatile boolean usingGeneratedFactories;
+    private volatile Executor eagerExecutor = ForkJoinPool.commonPool();
+    private volatile SealedRegistry sealed;
 
     public DefaultWorld() {
-        this.augmentations.add(new ObjectsAugmentation());
+        this.augmentation = new CompositeAugmentation(new ArrayList<>(augmentations));
     }
 
     public EntranceQueue getQueue() {
@@ -40,29 +54,151 @@ public final class DefaultWorld implements WorldInternals, World {
     }
 
     private void register(List<Character<?>> characters) {
-        for (Character<?> character : characters) {
-            Container<?> container = character.build(this);
-            // todo: split containers by collections - injectable, interceptors?
-            // todo: is something required to be done before container is added to the world?
-            containers.add(container);
+        if (characters.isEmpty()) {
+            // nothing changes, so the current snapshot with everything resolved against it stays
+            return;
+        }
+
+        ContainerRegistry snapshot;
+        List<InjectableContainer<?>> eager = new ArrayList<>();
+        writeLock.lock();
+        try {
+            if (sealed != null) {
+                // only characters flushed concurrently with sealing get here, the queue rejects everything else
+                throw new IllegalStateException("World is sealed, characters can't enter it");
+            }
+
+            List<Container<?>> containers = new ArrayList<>(characters.size());
+            for (Character<?> character : characters) {
+                Container<?> container = character.build(this);
+                // todo: is something required to be done before container is added to the world?
+                containers.add(container);
+
+                if (container instanceof InjectableContainer<?> && ((InjectableContainer<?>) container).isEager()) {
+                    eager.add((InjectableContainer<?>) container);
+                }
+            }
+
+            // all containers become visible at once, new snapshot also comes with an empty
+            // resolution cache as new containers could change the outcome of any previously resolved request
+            snapshot = registry.with(containers);
+            registry = snapshot;
+        } finally {
+            writeLock.unlock();
+        }
+
+        // objects are retrieved outside the lock,
+        // so they could be created in other threads which register characters themselves
+        new EagerObjects(eager, injectionPoint -> findDependencies(snapshot, injectionPoint)).retrieve(eagerExecutor);
+    }
+
+    @Override
+    public void seal() {
+        // characters added after sealing are rejected by the queue and never reach the world
+        queue.close();
+
+        writeLock.lock();
+        try {
+            if (sealed == null) {
+                // sealing starts a new generation, so everything computed before is rebuilt with bound dependencies,
+                // which are published first to be seen by anyone who sees the new generation
+                ContainerRegistry snapshot = registry.with(Collections.emptyList());
+                sealed = new SealedRegistry(this, snapshot);
+                registry = snapshot;
+            }
+        } finally {
+            writeLock.unlock();
         }
     }
 
+    @Override
+    public Provider<?>[] getBoundDependencies(InjectableContainer<?> container) {
+        SealedRegistry s = sealed;
+        return s != null ? s.getDependencies(container) : null;
+    }
+
+    @Override
+    public int getGeneration() {
+        return registry.getGeneration();
+    }
+
     @Override
     @SuppressWarnings("unchecked") // object matched by request will be of type T or its subtype
     public <T> T find(ObjectRequest<T> request) {
         if (request.getType() == InjectionPoint.class) {
-            if (injectionPoints.isEmpty()) {
-                throw new DependencyLookupException("No active injection point");
-            }
+            return (T) getCurrentInjectionPoint();
+        }
+
+        SealedRegistry s = sealed;
+        if (s != null) {
+            return (T) s.find(request);
+        }
+
+        InjectableContainer<?> container = resolveContainer(registry, request);
+        if (container == null) {
+            return null;
+        }
+
+        return (T) container.getObject();
+    }
+
+    @Override
+    public Object findByName(String name) {
+        return findByName(name, Object.class);
+    }
+
+    @Override
+    public <T> T findByName(String name, Class<T> type) {
+        return find(ObjectRequest.of(type).withQualifiers(Collections.singletonList(new NamedQualifier(name))));
+    }
+
+    @Override
+    public <T> ObjectHandle<T> handle(ObjectRequest<T> request) {
+        @SuppressWarnings("unchecked") // copy is for the same type
+        ObjectRequest<T> copy = (ObjectRequest<T>) ObjectRequest.of(request.getType())
+                .withQualifiers(request.getQualifiers());
+        if (request.isOptional()) {
+            copy.optional();
+        }
+
+        if (request.getType() == InjectionPoint.class) {
+            // current injection point changes on every injection
+            return () -> find(copy);
+        }
+
+        return new ResolvedObjectHandle<>(this, copy);
+    }
 
-            return (T) injectionPoints.getLast();
+    ContainerRegistry getRegistry() {
+        return registry;
+    }
+
+    /**
+     * Find a single container matching the request
+     * @return matched container or null if nothing matched an optional request
+     * @throws DependencyLookupException if no containers or multiple containers are matched
+     */
+    InjectableContainer<?> resolveContainer(ContainerRegistry snapshot, ObjectRequest<?> request) {
+        // results are cached in the snapshot they were computed against,
+        // so they won't outlive registration of new containers
+        Map<RequestKey, InjectableContainer<?>> cache = snapshot.getResolvedContainers();
+
+        RequestKey key = RequestKey.of(request, snapshot.getAnnotationIds());
+        InjectableContainer<?> container = key != null ? cache.get(key) : null;
+        if (container == null) {
+            container = selectContainer(request, findContainers(snapshot, request));
+            if (container != null && key != null) {
+                cache.putIfAbsent(key, container);
+            }
         }
 
-        List<InjectableContainer<?>> containers = findContainers(request);
+        return container;
+    }
 
+    private InjectableContainer<?> selectContainer(ObjectRequest<?> request,
+                                                   List<InjectableContainer<?>> containers) {
         if (containers.size() == 1) {
-            return (T) containers.get(0).getObject();
+            return containers.get(0);
         }
 
         if (containers.isEmpty() && request.isOptional()) {
@@ -81,7 +217,7 @@ public final class DefaultWorld implements WorldInternals, World {
                     .collect(Collectors.toList());
 
             if (withoutQualifiers.size() == 1) {
-                return (T) withoutQualifiers.get(0).getObject();
+                return withoutQualifiers.get(0);
             }
         }
 
@@ -92,7 +228,7 @@ public final class DefaultWorld implements WorldInternals, World {
                     .collect(Collectors.toList());
 
             if (withoutName.size() == 1) {
-                return (T) withoutName.get(0).getObject();
+                return withoutName.get(0);
             }
         }
 
@@ -103,7 +239,7 @@ public final class DefaultWorld implements WorldInternals, World {
                     .collect(Collectors.toList());
 
             if (withExactType.size() == 1) {
-                return (T) withExactType.get(0).getObject();
+                return withExactType.get(0);
             }
         }
 
@@ -118,123 +254,247 @@ public final class DefaultWorld implements WorldInternals, World {
     @SuppressWarnings("unchecked") // all objects matched by request will be of type T or its subtype
     public <T> List<T> findAll(ObjectRequest<T> request) {
         if (request.getType() == InjectionPoint.class) {
-            if (injectionPoints.isEmpty()) {
-                throw new DependencyLookupException("No active injection point");
-            }
-
-            return (List<T>) Collections.singletonList(injectionPoints.getLast());
+            return (List<T>) Collections.singletonList(getCurrentInjectionPoint());
         }
 
-        return (List<T>) findContainers(request).stream()
+        return (List<T>) findContainers(registry, request).stream()
                 .map(Container::getObject)
                 .collect(Collectors.toList());
     }
 
-    // todo: lookup by name
-    // todo: cache resolved containers
-    private <T> List<InjectableContainer<?>> findContainers(ObjectRequest<T> request) {
-        List<InjectableContainer<?>> matched = new ArrayList<>();
+    private <T> List<InjectableContainer<?>> findContainers(ContainerRegistry snapshot, ObjectRequest<T> request) {
+        List<String> names = new ArrayList<>();
+        List<Annotation> qualifiers = new ArrayList<>();
+        for (Annotation qualifier : request.getQualifiers()) {
+            if (qualifier instanceof Named) {
+                Named named = (Named) qualifier;
+                if (named.value().isEmpty()) {
+                    throw new DependencyLookupException("@Named qualifier must have a value");
+                }
 
-        next:
-        for (Container<?> c : containers) {
-            if (!(c instanceof InjectableContainer)) {
-                continue;
+                names.add(named.value());
+            } else {
+                qualifiers.add(qualifier);
             }
+        }
 
-            InjectableContainer<?> injectable = (InjectableContainer<?>) c;
+        int[] qualifierIds = snapshot.getAnnotationIds().find(qualifiers);
+        if (qualifierIds == null) {
+            // none of the containers has some of the qualifiers
+            return Collections.emptyList();
+        }
 
+        List<InjectableContainer<?>> matched = new ArrayList<>();
+
+        // containers having a requested name are usually much fewer than containers of a type
+        List<ContainerRegistry.Injectable> candidates = names.isEmpty()
+                ? snapshot.getInjectables(request.getType())
+                : snapshot.getInjectables(names.get(0));
+
+        next:
+        for (ContainerRegistry.Injectable injectable : candidates) {
             // The bean has a bean type that matches the required type.
-            if (!ReflectionUtils.isAssignable(c.getObjectClass(), request.getType())) {
+            if (!names.isEmpty() && !injectable.types.contains(request.getType())) {
                 continue;
             }
 
             // The bean has all the required qualifiers.
-            for (Annotation qualifier : request.getQualifiers()) {
-                if (qualifier instanceof Named) {
-                    Named named = (Named) qualifier;
-                    if (named.value().isEmpty()) {
-                        throw new DependencyLookupException("@Named qualifier must have a value");
-                    }
-
-                    if (!injectable.getNames().contains(named.value())) {
-                        continue next;
-                    }
-                } else if (!injectable.getQualifiers().contains(qualifier)) {
+            if (!AnnotationIds.containsAll(injectable.qualifierIds, qualifierIds)) {
+                continue;
+            }
+
+            for (String name : names) {
+                if (!injectable.container.getNames().contains(name)) {
                     continue next;
                 }
             }
 
-            matched.add(injectable);
+            matched.add(injectable.container);
         }
 
         return matched;
     }
 
+    @Override
+    public void validate() {
+        ContainerRegistry snapshot = registry;
+
+        List<String> problems = new ArrayList<>();
+        for (Container<?> container : snapshot.getContainers()) {
+            List<InjectionPoint> injectionPoints;
+            if (container instanceof InjectableContainer<?>) {
+                injectionPoints = ((InjectableContainer<?>) container).getInjectionPoints();
+            } else if (container instanceof InterceptorContainer<?>) {
+                injectionPoints = ((InterceptorContainer<?>) container).getInjectionPoints();
+            } else {
+                continue;
+            }
+
+            for (InjectionPoint injectionPoint : injectionPoints) {
+                String problem = validateDependency(
+                        snapshot, injectionPoint, injectionPoint.getGenericType(), false, false);
+                if (problem != null) {
+                    problems.add(String.format("%s: %s", describe(injectionPoint), problem));
+                }
+            }
+        }
+
+        if (!problems.isEmpty()) {
+            throw new DependencyValidationException(problems);
+        }
+    }
+
+    /**
+     * Resolve dependency following the rules of {@link ahodanenok.di.inject.Injector},
+     * resolved containers are cached in the snapshot and reused by lookups on injection
+     *
+     * @return description of the problem or null if dependency can be injected
+     */
+    private String validateDependency(ContainerRegistry snapshot, InjectionPoint injectionPoint,
+                                      Type type, boolean optional, boolean multiple) {
+        if (type instanceof ParameterizedType) {
+            ParameterizedType parameterizedType = (ParameterizedType) type;
+            Type rawType = parameterizedType.getRawType();
+            Type objectType = parameterizedType.getActualTypeArguments()[0];
+            if (rawType == Provider.class || rawType == Optional.class) {
+                if (multiple) {
+                    return String.format("Injecting collection of '%s' is not supported", rawType.getTypeName());
+                }
+
+                return validateDependency(
+                        snapshot, injectionPoint, objectType, optional || rawType == Optional.class, false);
+            } else if (rawType == Collection.class || rawType == List.class || rawType == Set.class) {
+                return validateDependency(snapshot, injectionPoint, objectType, optional, true);
+            } else {
+                return String.format("Injection of type '%s' is not supported", type.getTypeName());
+            }
+        } else if (type instanceof Class<?>) {
+            if (type == InjectionPoint.class || multiple) {
+                // any number of objects could be injected into a collection
+                return null;
+            }
+
+            ObjectRequest<?> request = ObjectRequest.of((Class<?>) type).withQualifiers(injectionPoint.getQualifiers());
+            if (optional) {
+                request.optional();
+            }
+
+            try {
+                resolveContainer(snapshot, request);
+                return null;
+            } catch (DependencyLookupException e) {
+                return e.getMessage();
+            }
+        } else {
+            return String.format("Injection of type '%s' is not supported", type.getTypeName());
+        }
+    }
+
+    private static String describe(InjectionPoint injectionPoint) {
+        if (injectionPoint.getTarget() instanceof java.lang.reflect.Field) {
+            return String.format("Field '%s'", injectionPoint.getTarget());
+        } else {
+            return String.format("Parameter %d of '%s'", injectionPoint.getParameterIndex(), injectionPoint.getTarget());
+        }
+    }
+
+    /**
+     * Containers which could be injected into the injection point,
+     * providers don't retrieve objects on injection, so nothing is injected into them
+     */
+    private List<InjectableContainer<?>> findDependencies(ContainerRegistry snapshot, InjectionPoint injectionPoint) {
+        Type type = injectionPoint.getGenericType();
+        while (type instanceof ParameterizedType) {
+            ParameterizedType parameterizedType = (ParameterizedType) type;
+            if (parameterizedType.getRawType() == Provider.class) {
+                return Collections.emptyList();
+            }
+
+            // optionals and collections are injected with objects of their element type
+            type = parameterizedType.getActualTypeArguments()[0];
+        }
+
+        if (!(type instanceof Class<?>) || type == InjectionPoint.class) {
+            return Collections.emptyList();
+        }
+
+        return findContainers(snapshot, ObjectRequest.of((Class<?>) type).withQualifiers(injectionPoint.getQualifiers()));
+    }
+
     public void pushInjectionPoint(InjectionPoint injectionPoint) {
         if (injectionPoint == null) {
             throw new IllegalArgumentException("Injection point is null");
         }
 
-        injectionPoints.addLast(injectionPoint);
+        injectionPoints.get().push(injectionPoint);
     }
 
     public void popInjectionPoint() {
-        if (injectionPoints.isEmpty()) {
-            throw new IllegalStateException("No active injection point");
+        injectionPoints.get().pop();
+    }
+
+    private InjectionPoint getCurrentInjectionPoint() {
+        InjectionPoint injectionPoint = injectionPoints.get().peek();
+        if (injectionPoint == null) {
+            throw new DependencyLookupException("No active injection point");
         }
 
-        injectionPoints.removeLast();
+        return injectionPoint;
     }
 
-    // todo: cache resolved interceptors
     public InterceptorChain getInterceptorChain(InterceptorRequest request) {
-        List<Interceptor> result = new ArrayList<>();
+        return getInterceptorChain(registry, request);
+    }
 
+    /**
+     * Chain of interceptors registered in the given snapshot
+     */
+    InterceptorChain getInterceptorChain(ContainerRegistry snapshot, InterceptorRequest request) {
+        // chains are cached in the snapshot, so new interceptors will be picked up after registration
+        InterceptorRequestKey key = InterceptorRequestKey.of(request);
+        InterceptorChain chain = snapshot.getInterceptorChains().get(key);
+        if (chain == null) {
+            chain = buildInterceptorChain(snapshot, request, key);
+            InterceptorChain existing = snapshot.getInterceptorChains().putIfAbsent(key, chain);
+            if (existing != null) {
+                chain = existing;
+            }
+        }
+
+        return chain;
+    }
+
+    private InterceptorChain buildInterceptorChain(ContainerRegistry snapshot,
+                                                   InterceptorRequest request,
+                                                   InterceptorRequestKey key) {
+        List<InterceptorContainer<?>> matched;
         if (!request.getClasses().isEmpty()) {
             // interceptors are declared explicitly
+            matched = new ArrayList<>();
             for (Class<?> interceptorClass : request.getClasses()) {
-                for (Container<?> container : containers) {
-                    if (container instanceof InterceptorContainer<?>
-                            && interceptorClass == container.getObjectClass()) {
-                        Interceptor interceptor = ((InterceptorContainer<?>) container).getInterceptor(request.getType());
-                        if (interceptor != null) {
-                            result.add(interceptor);
-                        }
-                    }
-                }
+                matched.addAll(snapshot.getInterceptors(interceptorClass));
             }
         } else if (!request.getBindings().isEmpty()) {
-           for (Container<?> container : containers) {
-               if (container instanceof InterceptorContainer<?>) {
-                   InterceptorContainer<?> interceptorContainer = (InterceptorContainer<?>) container;
-
-                   // JSR-318 (Interceptors 1.2), 3.4
-                   // An interceptor is bound to a method or constructor if:
-                   // - The method or constructor has all the interceptor bindings of the interceptor.
-                   if (interceptorContainer.getInterceptorBindings().size() == request.getBindings().size()
-                           && interceptorContainer.getInterceptorBindings().containsAll(request.getBindings())) {
-                       Interceptor interceptor = ((InterceptorContainer<?>) container).getInterceptor(request.getType());
-                       // - The interceptor intercepts the given kind of lifecycle event or method
-                       if (interceptor != null) {
-                           result.add(interceptor);
-                       }
-                   }
-               }
-           }
+            // JSR-318 (Interceptors 1.2), 3.4
+            // An interceptor is bound to a method or constructor if:
+            // - The method or constructor has all the interceptor bindings of the interceptor.
+            matched = snapshot.getInterceptors(key.getBindings());
         } else if (request.isMatchAll()) {
             // all of a type
-            for (Container<?> container : containers) {
-                if (!(container instanceof InterceptorContainer<?>)) {
-                    continue;
-                }
+            matched = snapshot.getInterceptors();
+        } else {
+            // empty chain
+            matched = Collections.emptyList();
+        }
 
-                Interceptor interceptor = ((InterceptorContainer<?>) container).getInterceptor(request.getType());
-                if (interceptor != null) {
-                    result.add(interceptor);
-                }
+        List<Interceptor> result = new ArrayList<>();
+        for (InterceptorContainer<?> container : matched) {
+            Interceptor interceptor = container.getInterceptor(request.getType());
+            // - The interceptor intercepts the given kind of lifecycle event or method
+            if (interceptor != null) {
+                result.add(interceptor);
             }
         }
-        // else empty chain
 
         return new InterceptorChain(result);
     }
@@ -245,22 +505,58 @@ public final class DefaultWorld implements WorldInternals, World {
             throw new IllegalArgumentException("Augmentation is null");
         }
 
-        this.augmentations.add(augmentation);
+        writeLock.lock();
+        try {
+            this.augmentations.add(augmentation);
+            this.augmentation = new CompositeAugmentation(new ArrayList<>(augmentations));
+        } finally {
+            writeLock.unlock();
+        }
     }
 
     public Augmentation requestAugmentation() {
-        return new CompositeAugmentation(augmentations);
+        return augmentation;
+    }
+
+    /**
+     * Create objects with factories generated at runtime instead of reflection when possible.
+     * Disabled by default.
+     *
+     * @see ahodanenok.di.access.ObjectFactoryGenerator
+     */
+    public void useGeneratedFactories(boolean use) {
+        this.usingGeneratedFactories = use;
+    }
+
+    /**
+     * Executor retrieving eager objects after they entered the world,
+     * objects not depending on each other are retrieved in parallel.
+     * By default, the common fork-join pool is used.
+     *
+     * @see ahodanenok.di.character.ClassCharacter#eager()
+     */
+    public void useEagerExecutor(Executor executor) {
+        if (executor == null) {
+            throw new IllegalArgumentException("Executor is null");
+        }
+
+        this.eagerExecutor = executor;
+    }
+
+    @Override
+    public boolean isUsingGeneratedFactories() {
+        return usingGeneratedFactories;
     }
 
     @Override
     public Iterator<Container<?>> iterator() {
-        return Collections.unmodifiableCollection(containers).iterator();
+        return registry.getContainers().iterator();
     }
 
     @Override
     public void fireEvent(Object event) {
         List<EventHandler> handlers = new ArrayList<>();
-        for (Container<?> container : containers) {
+        for (Container<?> container : registry.getContainers()) {
             if (!(container instanceof EventHandlerContainer<?>)) {
                 continue;
             }
@@ -283,7 +579,7 @@ public final class DefaultWorld implements WorldInternals, World {
     @Override
     public void destroy() {
         // todo: destroy order?
-        for (Container<?> container : containers) {
+        for (Container<?> container : registry.getContainers()) {
             try {
                 container.destroy();
             } catch (Exception e) {
@@ -293,12 +589,4 @@ public final class DefaultWorld implements WorldInternals, World {
             }
         }
     }
-
-    private class ObjectsAugmentation implements Augmentation {
-        @Override
-        public Object augmentAfterConstructed(Character<?> character, Object instance) {
-            // todo: proxy for around invoke
-            return instance;
-        }
-    }
 }
@@ -0,0 +1,163 @@
+package ahodanenok.di;
+
+import ahodanenok.di.container.InjectableContainer;
+import ahodanenok.di.exception.ObjectRetrievalException;
+import ahodanenok.di.inject.InjectionPoint;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * Retrieves objects of eager containers after they entered the world.
+ *
+ * Objects are retrieved in the order of their dependencies: an object is retrieved
+ * only after all eager objects it depends on, directly or through objects which are not eager, are ready.
+ * Independent objects are retrieved in parallel, so the time it takes is the time of the longest chain of dependencies.
+ * Dependencies through providers are not considered, as providers don't retrieve objects on injection.
+ */
+final class EagerObjects {
+
+    private final List<InjectableContainer<?>> containers;
+    private final Set<InjectableContainer<?>> eager;
+    private final Function<InjectionPoint, List<InjectableContainer<?>>> dependencies;
+
+    /**
+     * @param containers eager containers
+     * @param dependencies containers which can be injected into an injection point
+     */
+    EagerObjects(List<InjectableContainer<?>> containers,
+                 Function<InjectionPoint, List<InjectableContainer<?>>> dependencies) {
+        this.containers = containers;
+        this.eager = Collections.newSetFromMap(new IdentityHashMap<>());
+        this.eager.addAll(containers);
+        this.dependencies = dependencies;
+    }
+
+    /**
+     * Retrieve objects of all containers
+     * @throws ObjectRetrievalException if any object can't be retrieved, failures of other objects are suppressed
+     */
+    void retrieve(Executor executor) {
+        if (containers.isEmpty()) {
+            return;
+        }
+
+        Map<InjectableContainer<?>, Set<InjectableContainer<?>>> graph = new IdentityHashMap<>();
+        for (InjectableContainer<?> container : containers) {
+            graph.put(container, findEagerDependencies(container));
+        }
+
+        Map<InjectableContainer<?>, CompletableFuture<Void>> retrievals = new IdentityHashMap<>();
+        for (InjectableContainer<?> container : sort(graph)) {
+            List<CompletableFuture<Void>> awaited = new ArrayList<>();
+            for (InjectableContainer<?> dependency : graph.get(container)) {
+                awaited.add(retrievals.get(dependency));
+            }
+
+            // if any dependency failed, object is not retrieved and failure is passed further
+            retrievals.put(container, CompletableFuture.allOf(awaited.toArray(new CompletableFuture<?>[0]))
+                    .thenRunAsync(container::getObject, executor));
+        }
+
+        List<Throwable> failures = new ArrayList<>();
+        for (CompletableFuture<Void> retrieval : retrievals.values()) {
+            try {
+                retrieval.join();
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                if (failures.stream().noneMatch(f -> f == cause)) {
+                    failures.add(cause);
+                }
+            }
+        }
+
+        // objects depending on each other can't be ordered,
+        // retrieving them one by one fails the same way as a regular lookup would
+        for (InjectableContainer<?> container : containers) {
+            if (!retrievals.containsKey(container) && failures.isEmpty()) {
+                try {
+                    container.getObject();
+                } catch (RuntimeException | Error e) {
+                    failures.add(e);
+                }
+            }
+        }
+
+        if (!failures.isEmpty()) {
+            ObjectRetrievalException exception =
+                    new ObjectRetrievalException("Eager objects can't be retrieved", failures.get(0));
+            for (int i = 1; i < failures.size(); i++) {
+                exception.addSuppressed(failures.get(i));
+            }
+
+            throw exception;
+        }
+    }
+
+    /**
+     * Eager containers the given container depends on, containers which are not eager
+     * are followed to their own dependencies
+     */
+    private Set<InjectableContainer<?>> findEagerDependencies(InjectableContainer<?> container) {
+        Set<InjectableContainer<?>> result = Collections.newSetFromMap(new IdentityHashMap<>());
+        Set<InjectableContainer<?>> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<InjectableContainer<?>> pending = new ArrayDeque<>();
+        visited.add(container);
+        pending.push(container);
+        while (!pending.isEmpty()) {
+            for (InjectionPoint injectionPoint : pending.pop().getInjectionPoints()) {
+                for (InjectableContainer<?> dependency : dependencies.apply(injectionPoint)) {
+                    if (!visited.add(dependency)) {
+                        continue;
+                    }
+
+                    // eager objects registered earlier are already retrieved
+                    if (eager.contains(dependency)) {
+                        result.add(dependency);
+                    } else if (!dependency.isEager()) {
+                        pending.push(dependency);
+                    }
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Containers ordered so each one comes after all of its dependencies,
+     * containers depending on each other are left out
+     */
+    private List<InjectableContainer<?>> sort(Map<InjectableContainer<?>, Set<InjectableContainer<?>>> graph) {
+        Map<InjectableContainer<?>, Integer> remaining = new IdentityHashMap<>();
+        Map<InjectableContainer<?>, List<InjectableContainer<?>>> dependants = new IdentityHashMap<>();
+        Deque<InjectableContainer<?>> ready = new ArrayDeque<>();
+        for (InjectableContainer<?> container : containers) {
+            Set<InjectableContainer<?>> containerDependencies = graph.get(container);
+            remaining.put(container, containerDependencies.size());
+            for (InjectableContainer<?> dependency : containerDependencies) {
+                dependants.computeIfAbsent(dependency, __ -> new ArrayList<>()).add(container);
+            }
+
+            if (containerDependencies.isEmpty()) {
+                ready.add(container);
+            }
+        }
+
+        List<InjectableContainer<?>> sorted = new ArrayList<>(containers.size());
+        while (!ready.isEmpty()) {
+            InjectableContainer<?> container = ready.poll();
+            sorted.add(container);
+            for (InjectableContainer<?> dependant : dependants.getOrDefault(container, Collections.emptyList())) {
+                if (remaining.merge(dependant, -1, Integer::sum) == 0) {
+                    ready.add(dependant);
+                }
+            }
+        }
+
+        return sorted;
+    }
+}
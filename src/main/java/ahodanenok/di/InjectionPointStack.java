@@ -0,0 +1,40 @@
+package ahodanenok.di;
+
+import ahodanenok.di.inject.InjectionPoint;
+
+import java.util.Arrays;
+
+/**
+ * Injection points being resolved by a thread, the last one is the current.
+ * Backed by an array, so pushing and popping doesn't allocate once the array is large enough
+ * to hold the deepest dependency graph.
+ */
+final class InjectionPointStack {
+
+    private InjectionPoint[] elements = new InjectionPoint[16];
+    private int size;
+
+    void push(InjectionPoint injectionPoint) {
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, size * 2);
+        }
+
+        elements[size++] = injectionPoint;
+    }
+
+    void pop() {
+        if (size == 0) {
+            throw new IllegalStateException("No active injection point");
+        }
+
+        // don't keep references to the objects which are already injected
+        elements[--size] = null;
+    }
+
+    /**
+     * @return current injection point or null if there are none
+     */
+    InjectionPoint peek() {
+        return size > 0 ? elements[size - 1] : null;
+    }
+}
@@ -0,0 +1,73 @@
+package ahodanenok.di;
+
+import ahodanenok.di.interceptor.InterceptorRequest;
+import ahodanenok.di.interceptor.InterceptorType;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Canonical form of an {@link InterceptorRequest}: requests for the same type of interceptors,
+ * the same interceptor classes and the same set of bindings are resolved to the same chain.
+ * Order of interceptor classes is kept as it defines the order of interceptors in the chain.
+ */
+final class InterceptorRequestKey {
+
+    static InterceptorRequestKey of(InterceptorRequest request) {
+        return new InterceptorRequestKey(
+                request.getType(),
+                new ArrayList<>(request.getClasses()),
+                new HashSet<>(request.getBindings()),
+                request.isMatchAll());
+    }
+
+    private final InterceptorType type;
+    private final List<Class<?>> classes;
+    private final Set<Annotation> bindings;
+    private final boolean matchAll;
+    private final int hash;
+
+    private InterceptorRequestKey(InterceptorType type, List<Class<?>> classes, Set<Annotation> bindings, boolean matchAll) {
+        this.type = type;
+        this.classes = classes;
+        this.bindings = bindings;
+        this.matchAll = matchAll;
+        this.hash = 31 * (31 * (31 * type.hashCode() + classes.hashCode()) + bindings.hashCode()) + (matchAll ? 1 : 0);
+    }
+
+    Set<Annotation> getBindings() {
+        return bindings;
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+
+        if (!(obj instanceof InterceptorRequestKey)) {
+            return false;
+        }
+
+        InterceptorRequestKey other = (InterceptorRequestKey) obj;
+        return hash == other.hash
+                && matchAll == other.matchAll
+                && type.equals(other.type)
+                && classes.equals(other.classes)
+                && bindings.equals(other.bindings);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("InterceptorRequestKey(type=%s, classes=%s, bindings=%s, matchAll=%s)",
+                type, classes, bindings, matchAll);
+    }
+}
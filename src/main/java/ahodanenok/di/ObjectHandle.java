@@ -0,0 +1,22 @@
+package ahodanenok.di;
+
+import javax.inject.Provider;
+
+/**
+ * Object from the world matched by a request which was resolved beforehand.
+ *
+ * Retrieving an object through a handle costs only the lookup in the scope of the matched container,
+ * request is resolved again only after new containers are registered in the world.
+ *
+ * @see World#handle(ObjectRequest)
+ */
+@FunctionalInterface
+public interface ObjectHandle<T> extends Provider<T> {
+
+    /**
+     * Object matched by the request of the handle, null if the request is optional and nothing is matched
+     * @throws ahodanenok.di.exception.DependencyLookupException if no objects or multiple objects are matched
+     */
+    @Override
+    T get();
+}
@@ -0,0 +1,93 @@
+package ahodanenok.di;
+
+import javax.inject.Named;
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Canonical form of an {@link ObjectRequest}: requests for the same type
+ * with the same set of qualifiers are resolved to the same containers,
+ * regardless of the order in which qualifiers were given.
+ *
+ * Names requested with @Named are kept as strings, other qualifiers are replaced with their ids.
+ */
+final class RequestKey {
+
+    /**
+     * @return key or null if request has a qualifier of none of the registered containers
+     */
+    static RequestKey of(ObjectRequest<?> request, AnnotationIds annotationIds) {
+        List<Annotation> qualifiers = request.getQualifiers();
+        if (qualifiers.isEmpty()) {
+            return new RequestKey(request.getType(), AnnotationIds.NONE, NO_NAMES, request.isOptional());
+        }
+
+        List<Annotation> others = new ArrayList<>(qualifiers.size());
+        List<String> names = new ArrayList<>(1);
+        for (Annotation qualifier : qualifiers) {
+            if (qualifier instanceof Named) {
+                names.add(((Named) qualifier).value());
+            } else {
+                others.add(qualifier);
+            }
+        }
+
+        int[] ids = annotationIds.find(others);
+        if (ids == null) {
+            return null;
+        }
+
+        String[] sortedNames = names.size() == 1
+                ? new String[] { names.get(0) }
+                : names.stream().distinct().sorted().toArray(String[]::new);
+        return new RequestKey(request.getType(), ids, sortedNames, request.isOptional());
+    }
+
+    private static final String[] NO_NAMES = new String[0];
+
+    private final Class<?> type;
+    private final int[] qualifierIds;
+    private final String[] names;
+    private final boolean optional;
+    private final int hash;
+
+    private RequestKey(Class<?> type, int[] qualifierIds, String[] names, boolean optional) {
+        this.type = type;
+        this.qualifierIds = qualifierIds;
+        this.names = names;
+        this.optional = optional;
+        this.hash = 31 * (31 * (31 * type.hashCode() + Arrays.hashCode(qualifierIds)) + Arrays.hashCode(names))
+                + (optional ? 1 : 0);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+
+        if (!(obj instanceof RequestKey)) {
+            return false;
+        }
+
+        RequestKey other = (RequestKey) obj;
+        return type == other.type
+                && optional == other.optional
+                && hash == other.hash
+                && Arrays.equals(qualifierIds, other.qualifierIds)
+                && Arrays.equals(names, other.names);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("RequestKey(type=%s, qualifierIds=%s, names=%s, optional=%s)",
+                type, Arrays.toString(qualifierIds), Arrays.toString(names), optional);
+    }
+}
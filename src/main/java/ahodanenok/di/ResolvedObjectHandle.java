@@ -0,0 +1,48 @@
+package ahodanenok.di;
+
+import ahodanenok.di.container.InjectableContainer;
+
+/**
+ * Handle remembering the container its request was resolved to in a snapshot of the world,
+ * it's resolved again once the world has a new snapshot
+ */
+final class ResolvedObjectHandle<T> implements ObjectHandle<T> {
+
+    private final DefaultWorld world;
+    private final ObjectRequest<T> request;
+    private volatile Resolution resolution;
+
+    ResolvedObjectHandle(DefaultWorld world, ObjectRequest<T> request) {
+        this.world = world;
+        this.request = request;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked") // object matched by request will be of type T or its subtype
+    public T get() {
+        ContainerRegistry snapshot = world.getRegistry();
+        Resolution current = resolution;
+        if (current == null || current.snapshot != snapshot) {
+            current = new Resolution(snapshot, world.resolveContainer(snapshot, request));
+            resolution = current;
+        }
+
+        return current.container != null ? (T) current.container.getObject() : null;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ObjectHandle(%s)", request);
+    }
+
+    private static final class Resolution {
+
+        final ContainerRegistry snapshot;
+        final InjectableContainer<?> container;
+
+        Resolution(ContainerRegistry snapshot, InjectableContainer<?> container) {
+            this.snapshot = snapshot;
+            this.container = container;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package ahodanenok.di;
+
+import ahodanenok.di.container.Container;
+import ahodanenok.di.container.InjectableContainer;
+import ahodanenok.di.exception.DependencyInjectionException;
+import ahodanenok.di.exception.DependencyLookupException;
+import ahodanenok.di.inject.InjectionPoint;
+import ahodanenok.di.interceptor.InterceptorChain;
+import ahodanenok.di.interceptor.InterceptorRequest;
+import ahodanenok.di.interceptor.InterceptorType;
+import ahodanenok.di.interceptor.context.InjectionPointInvocationContext;
+
+import javax.inject.Provider;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Containers of a sealed world compiled for retrieving objects and their dependencies without any lookups.
+ *
+ * Each injectable container gets a dense id, which is the index of its slot and which the container remembers,
+ * each injection point of a class type is bound to the slot of the container resolved for it
+ * and each distinct request is resolved to a slot once and then served from it.
+ * No containers can be registered in a sealed world, so the slots never become stale.
+ */
+final class SealedRegistry {
+
+    private final DefaultWorld world;
+    private final ContainerRegistry snapshot;
+    private final InjectableContainer<?>[] slots;
+    // only for containers which don't remember their slots, it's not used once everything is resolved
+    private final Map<InjectableContainer<?>, Integer> ids = new IdentityHashMap<>();
+    // bound dependencies by id of the container whose injection points they are
+    private final Provider<?>[][] dependencies;
+    // slots by requests resolved to them, -1 if nothing was found for an optional request
+    private final ConcurrentMap<RequestKey, Integer> resolvedSlots = new ConcurrentHashMap<>();
+
+    SealedRegistry(DefaultWorld world, ContainerRegistry snapshot) {
+        this.world = world;
+        this.snapshot = snapshot;
+
+        List<InjectableContainer<?>> injectables = new ArrayList<>();
+        for (Container<?> container : snapshot.getContainers()) {
+            if (container instanceof InjectableContainer<?>) {
+                InjectableContainer<?> injectable = (InjectableContainer<?>) container;
+                ids.put(injectable, injectables.size());
+                injectable.assignSlot(injectables.size());
+                injectables.add(injectable);
+            }
+        }
+
+        this.slots = injectables.toArray(new InjectableContainer<?>[0]);
+
+        InterceptorChain aroundInjectChain =
+                world.getInterceptorChain(snapshot, InterceptorRequest.of(InterceptorType.AROUND_INJECT).matchAll());
+        this.dependencies = new Provider<?>[slots.length][];
+        for (int id = 0; id < slots.length; id++) {
+            List<InjectionPoint> injectionPoints = slots[id].getInjectionPoints();
+            Provider<?>[] bound = new Provider<?>[injectionPoints.size()];
+            for (int i = 0; i < bound.length; i++) {
+                int slot = bind(injectionPoints.get(i));
+                if (slot >= 0) {
+                    bound[i] = new BoundDependency(injectionPoints.get(i), slot, aroundInjectChain);
+                }
+            }
+
+            dependencies[id] = bound;
+        }
+    }
+
+    /**
+     * Slot of the container resolved for the injection point or -1 if it must be resolved on every injection:
+     * providers, optionals and collections are left as they are, as well as dependencies which can't be resolved,
+     * so they fail on injection exactly as in a world which is not sealed
+     */
+    private int bind(InjectionPoint injectionPoint) {
+        if (!(injectionPoint.getGenericType() instanceof Class<?>) || injectionPoint.getType() == InjectionPoint.class) {
+            return -1;
+        }
+
+        InjectableContainer<?> container;
+        try {
+            container = world.resolveContainer(snapshot, ObjectRequest.of(injectionPoint.getType())
+                    .withQualifiers(injectionPoint.getQualifiers()));
+        } catch (DependencyLookupException e) {
+            return -1;
+        }
+
+        return getSlot(container);
+    }
+
+    private int getSlot(InjectableContainer<?> container) {
+        int slot = container.getSlot();
+        if (slot >= 0 && slot < slots.length && slots[slot] == container) {
+            return slot;
+        }
+
+        return ids.get(container);
+    }
+
+    /**
+     * Object of the container resolved for the request, requests are resolved to slots only once,
+     * so objects of the same requests are retrieved directly from their slots
+     * @see DefaultWorld#find(ObjectRequest)
+     */
+    Object find(ObjectRequest<?> request) {
+        // requests with qualifiers of none of the containers have no key and are resolved every time
+        RequestKey key = RequestKey.of(request, snapshot.getAnnotationIds());
+        Integer slot = key != null ? resolvedSlots.get(key) : null;
+        if (slot == null) {
+            InjectableContainer<?> container = world.resolveContainer(snapshot, request);
+            slot = container != null ? getSlot(container) : -1;
+            if (key != null) {
+                resolvedSlots.putIfAbsent(key, slot);
+            }
+        }
+
+        return slot >= 0 ? slots[slot].getObject() : null;
+    }
+
+    /**
+     * Dependencies bound to the injection points of the container,
+     * null if the container doesn't remember its slot
+     * @see WorldInternals#getBoundDependencies(InjectableContainer)
+     */
+    Provider<?>[] getDependencies(InjectableContainer<?> container) {
+        int slot = container.getSlot();
+        return slot >= 0 && slot < slots.length && slots[slot] == container ? dependencies[slot] : null;
+    }
+
+    /**
+     * Dependency retrieved directly from its slot,
+     * the injection point is current and AroundInject interceptors are invoked the same as on lookup
+     */
+    private final class BoundDependency implements Provider<Object> {
+
+        private final InjectionPoint injectionPoint;
+        private final int slot;
+        private final InterceptorChain aroundInjectChain;
+
+        BoundDependency(InjectionPoint injectionPoint, int slot, InterceptorChain aroundInjectChain) {
+            this.injectionPoint = injectionPoint;
+            this.slot = slot;
+            this.aroundInjectChain = aroundInjectChain;
+        }
+
+        @Override
+        public Object get() {
+            world.pushInjectionPoint(injectionPoint);
+            try {
+                if (aroundInjectChain.length() == 0) {
+                    return slots[slot].getObject();
+                }
+
+                return aroundInjectChain.invoke(
+                        new InjectionPointInvocationContext(injectionPoint, () -> slots[slot].getObject()));
+            } catch (Exception e) {
+                throw new DependencyInjectionException(
+                        "Dependency lookup failed during processing interceptor chain", e);
+            } finally {
+                world.popInjectionPoint();
+            }
+        }
+    }
+}
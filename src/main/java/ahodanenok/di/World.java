@@ -14,6 +14,41 @@ public interface World extends Iterable<Container<?>> {
 
     <T> List<T> findAll(ObjectRequest<T> request);
 
+    /**
+     * Find an object having the given name, same as {@link #find(ObjectRequest)} with {@link javax.inject.Named} qualifier
+     */
+    Object findByName(String name);
+
+    /**
+     * Find an object of the given type having the given name,
+     * same as {@link #find(ObjectRequest)} with {@link javax.inject.Named} qualifier
+     */
+    <T> T findByName(String name, Class<T> type);
+
+    /**
+     * Handle retrieving objects matched by the request without resolving it on every retrieval,
+     * request is copied, so changing it afterwards doesn't affect the handle
+     */
+    <T> ObjectHandle<T> handle(ObjectRequest<T> request);
+
+    /**
+     * Check that every dependency of objects in the world can be injected,
+     * dependencies are resolved the same way as on injection and the results are kept,
+     * so objects are later created without looking up their dependencies again.
+     *
+     * @throws ahodanenok.di.exception.DependencyValidationException with all found problems
+     */
+    void validate();
+
+    /**
+     * Let the queued characters enter the world and close it for any other characters.
+     * Containers of a sealed world never change, so dependencies of their objects
+     * are resolved once while sealing and then retrieved without any lookups.
+     *
+     * Characters added to the queue of a sealed world are rejected with {@link IllegalStateException}.
+     */
+    void seal();
+
     void installAugmentation(Augmentation augmentation);
 
     void fireEvent(Object event);
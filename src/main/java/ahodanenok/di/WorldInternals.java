@@ -1,10 +1,13 @@
 package ahodanenok.di;
 
 import ahodanenok.di.augment.Augmentation;
+import ahodanenok.di.container.InjectableContainer;
 import ahodanenok.di.inject.InjectionPoint;
 import ahodanenok.di.interceptor.InterceptorChain;
 import ahodanenok.di.interceptor.InterceptorRequest;
 
+import javax.inject.Provider;
+
 public interface WorldInternals extends World {
 
     void pushInjectionPoint(InjectionPoint injectionPoint);
@@ -14,4 +17,27 @@ public interface WorldInternals extends World {
     InterceptorChain getInterceptorChain(InterceptorRequest request);
 
     Augmentation requestAugmentation();
+
+    /**
+     * Number incremented every time new containers are registered in the world.
+     * Anything computed from the registered containers (interceptor chains, matched dependencies)
+     * remains valid only while the generation stays the same.
+     */
+    int getGeneration();
+
+    /**
+     * Whether containers should create objects with factories generated at runtime when possible
+     * @see ahodanenok.di.access.ObjectFactoryGenerator
+     */
+    boolean isUsingGeneratedFactories();
+
+    /**
+     * Dependencies bound to the injection points of the container in a sealed world,
+     * in order of {@link InjectableContainer#getInjectionPoints()}.
+     * An element is null if its injection point must be resolved on every injection.
+     *
+     * @return bound dependencies or null if the world is not sealed
+     * @see World#seal()
+     */
+    Provider<?>[] getBoundDependencies(InjectableContainer<?> container);
 }
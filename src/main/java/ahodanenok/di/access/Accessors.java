@@ -0,0 +1,215 @@
+package ahodanenok.di.access;
+
+import ahodanenok.di.util.ReflectionUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Accessors for constructors, methods and fields backed by method handles.
+ *
+ * Access checks are done once when accessor is created, so invoking
+ * an accessor costs no more than invoking a method handle and checking its arguments.
+ * Accessors are cached with the class declaring their members, so it's cheap to ask
+ * for an accessor of the same member repeatedly, and the cache doesn't keep the class from being unloaded.
+ *
+ * If a method handle can't be created for a member, accessor falls back to reflection.
+ */
+public final class Accessors {
+
+    private Accessors() { }
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private static final ClassValue<Members> MEMBERS = new ClassValue<Members>() {
+        @Override
+        protected Members computeValue(Class<?> type) {
+            return new Members();
+        }
+    };
+
+    @SuppressWarnings("unchecked") // accessor was created for the constructor of class T
+    public static <T> ConstructorAccessor<T> of(Constructor<T> constructor) {
+        return (ConstructorAccessor<T>) MEMBERS.get(constructor.getDeclaringClass()).constructors
+                .computeIfAbsent(constructor, Accessors::createConstructorAccessor);
+    }
+
+    public static MethodAccessor of(Method method) {
+        return MEMBERS.get(method.getDeclaringClass()).methods
+                .computeIfAbsent(method, Accessors::createMethodAccessor);
+    }
+
+    public static FieldAccessor of(Field field) {
+        return MEMBERS.get(field.getDeclaringClass()).fields
+                .computeIfAbsent(field, Accessors::createFieldAccessor);
+    }
+
+    private static ConstructorAccessor<?> createConstructorAccessor(Constructor<?> constructor) {
+        MethodHandle handle;
+        try {
+            constructor.setAccessible(true);
+            handle = LOOKUP.unreflectConstructor(constructor);
+        } catch (RuntimeException | IllegalAccessException e) {
+            return args -> ReflectionUtils.newInstance(constructor, args);
+        }
+
+        MethodHandle spreader = handle
+                .asType(MethodType.genericMethodType(constructor.getParameterCount()))
+                .asSpreader(Object[].class, constructor.getParameterCount());
+        Arguments arguments = new Arguments(constructor.getParameterTypes());
+
+        return args -> {
+            // arguments are checked before invoking, so the handle can fail only because of the constructor
+            Object[] adapted = arguments.adapt(args);
+            try {
+                return (Object) spreader.invokeExact(adapted);
+            } catch (Throwable e) {
+                throw new InvocationTargetException(e);
+            }
+        };
+    }
+
+    private static MethodAccessor createMethodAccessor(Method method) {
+        MethodHandle handle;
+        try {
+            method.setAccessible(true);
+            handle = LOOKUP.unreflect(method);
+        } catch (RuntimeException | IllegalAccessException e) {
+            return (instance, args) -> ReflectionUtils.invoke(method, instance, args);
+        }
+
+        boolean isStatic = Modifier.isStatic(method.getModifiers());
+        if (isStatic) {
+            handle = MethodHandles.dropArguments(handle, 0, Object.class);
+        }
+
+        return new HandleMethodAccessor(method, handle, isStatic);
+    }
+
+    private static FieldAccessor createFieldAccessor(Field field) {
+        MethodHandle handle;
+        try {
+            field.setAccessible(true);
+            handle = LOOKUP.unreflectSetter(field);
+        } catch (RuntimeException | IllegalAccessException e) {
+            // i.e. final fields can't be assigned with method handles
+            return (instance, value) -> ReflectionUtils.setField(field, instance, value);
+        }
+
+        boolean isStatic = Modifier.isStatic(field.getModifiers());
+        if (isStatic) {
+            handle = MethodHandles.dropArguments(handle, 0, Object.class);
+        }
+
+        MethodHandle setter = handle.asType(MethodType.methodType(void.class, Object.class, Object.class));
+        Class<?> declaringClass = field.getDeclaringClass();
+        Class<?> type = field.getType();
+
+        return (instance, value) -> {
+            if (!isStatic) {
+                checkInstance(declaringClass, instance);
+            }
+
+            Object adapted = Arguments.adapt(value, type);
+            try {
+                setter.invokeExact(instance, adapted);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                // setter doesn't throw checked exceptions
+                throw new IllegalStateException(e);
+            }
+        };
+    }
+
+    /**
+     * The same checks as reflection does for the object whose member is accessed
+     */
+    private static void checkInstance(Class<?> declaringClass, Object instance) {
+        if (instance == null) {
+            throw new NullPointerException();
+        }
+
+        if (!declaringClass.isInstance(instance)) {
+            throw new IllegalArgumentException("object is not an instance of declaring class");
+        }
+    }
+
+    /**
+     * Method accessor invoking a method handle adapted to generic types,
+     * methods with a single parameter are invoked without spreading an array
+     */
+    private static final class HandleMethodAccessor implements MethodAccessor {
+
+        private final Class<?> declaringClass;
+        private final boolean isStatic;
+        private final Arguments arguments;
+        private final MethodHandle spreader;
+        // only for methods with a single parameter
+        private final Class<?> singleType;
+        private final MethodHandle single;
+
+        HandleMethodAccessor(Method method, MethodHandle handle, boolean isStatic) {
+            this.declaringClass = method.getDeclaringClass();
+            this.isStatic = isStatic;
+            this.arguments = new Arguments(method.getParameterTypes());
+
+            MethodHandle generic = handle.asType(MethodType.genericMethodType(method.getParameterCount() + 1));
+            this.spreader = generic.asSpreader(Object[].class, method.getParameterCount());
+            if (method.getParameterCount() == 1) {
+                this.singleType = method.getParameterTypes()[0];
+                this.single = generic;
+            } else {
+                this.singleType = null;
+                this.single = null;
+            }
+        }
+
+        @Override
+        public Object invoke(Object instance, Object[] args) throws InvocationTargetException {
+            if (!isStatic) {
+                checkInstance(declaringClass, instance);
+            }
+
+            // arguments are checked before invoking, so the handle can fail only because of the method
+            Object[] adapted = arguments.adapt(args);
+            try {
+                return (Object) spreader.invokeExact(instance, adapted);
+            } catch (Throwable e) {
+                throw new InvocationTargetException(e);
+            }
+        }
+
+        @Override
+        public Object invoke1(Object instance, Object arg) throws InvocationTargetException {
+            if (single == null) {
+                return invoke(instance, new Object[] { arg });
+            }
+
+            if (!isStatic) {
+                checkInstance(declaringClass, instance);
+            }
+
+            Object adapted = Arguments.adapt(arg, singleType);
+            try {
+                return (Object) single.invokeExact(instance, adapted);
+            } catch (Throwable e) {
+                throw new InvocationTargetException(e);
+            }
+        }
+    }
+
+    /**
+     * Accessors of members declared by a class
+     */
+    private static final class Members {
+
+        final ConcurrentMap<Constructor<?>, ConstructorAccessor<?>> constructors = new ConcurrentHashMap<>();
+        final ConcurrentMap<Method, MethodAccessor> methods = new ConcurrentHashMap<>();
+        final ConcurrentMap<Field, FieldAccessor> fields = new ConcurrentHashMap<>();
+    }
+}
@@ -0,0 +1,121 @@
+package ahodanenok.di.access;
+
+import ahodanenok.di.util.ReflectionUtils;
+
+/**
+ * Checks and converts arguments the same way as reflection does before they are passed to a method handle,
+ * so a handle adapted to generic types never fails on its arguments and anything it throws comes from the target.
+ */
+final class Arguments {
+
+    private static final Object[] NO_ARGS = new Object[0];
+
+    private final Class<?>[] types;
+
+    Arguments(Class<?>[] types) {
+        this.types = types;
+    }
+
+    /**
+     * @return given array or its copy with primitive values widened to parameter types
+     * @throws IllegalArgumentException if the number of arguments or any of their types doesn't match
+     */
+    Object[] adapt(Object[] args) {
+        int count = args != null ? args.length : 0;
+        if (count != types.length) {
+            throw new IllegalArgumentException(String.format(
+                    "wrong number of arguments: %d expected: %d", count, types.length));
+        }
+
+        if (count == 0) {
+            return NO_ARGS;
+        }
+
+        Object[] adapted = args;
+        for (int i = 0; i < count; i++) {
+            Object value = adapt(args[i], types[i]);
+            if (value != args[i]) {
+                if (adapted == args) {
+                    adapted = args.clone();
+                }
+
+                adapted[i] = value;
+            }
+        }
+
+        return adapted;
+    }
+
+    /**
+     * @return given value or a primitive value widened to the type
+     * @throws IllegalArgumentException if value can't be converted to the type
+     */
+    static Object adapt(Object value, Class<?> type) {
+        if (!type.isPrimitive()) {
+            if (value != null && !type.isInstance(value)) {
+                throw new IllegalArgumentException("argument type mismatch");
+            }
+
+            return value;
+        }
+
+        Object widened = value != null ? widen(value, type) : null;
+        if (widened == null) {
+            throw new IllegalArgumentException("argument type mismatch");
+        }
+
+        return widened;
+    }
+
+    /**
+     * JLS 5.1.2 Widening Primitive Conversion
+     * @return converted value or null if it can't be converted
+     */
+    private static Object widen(Object value, Class<?> type) {
+        if (value.getClass() == ReflectionUtils.box(type)) {
+            return value;
+        } else if (type == boolean.class || type == char.class) {
+            return null;
+        }
+
+        int from = rank(value.getClass());
+        if (from < 0 || from > rank(type)) {
+            return null;
+        }
+
+        // char is widened the same way as the int with its code
+        Number number = value instanceof Character ? (int) (Character) value : (Number) value;
+        if (type == short.class) {
+            return number.shortValue();
+        } else if (type == int.class) {
+            return number.intValue();
+        } else if (type == long.class) {
+            return number.longValue();
+        } else if (type == float.class) {
+            return number.floatValue();
+        } else {
+            return number.doubleValue();
+        }
+    }
+
+    private static int rank(Class<?> type) {
+        if (type == Byte.class || type == byte.class) {
+            return 0;
+        } else if (type == Short.class || type == short.class) {
+            return 1;
+        } else if (type == Character.class) {
+            // char can't be widened to short, but can be to int
+            return 2;
+        } else if (type == Integer.class || type == int.class) {
+            return 2;
+        } else if (type == Long.class || type == long.class) {
+            return 3;
+        } else if (type == Float.class || type == float.class) {
+            return 4;
+        } else if (type == Double.class || type == double.class) {
+            return 5;
+        } else {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package ahodanenok.di.access;
+
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Helpers shared by the generators of classes
+ */
+final class Bytecode {
+
+    private Bytecode() { }
+
+    private static final Map<Class<?>, Class<?>> PRIMITIVE_WRAPPERS = new HashMap<>();
+
+    static {
+        PRIMITIVE_WRAPPERS.put(byte.class, Byte.class);
+        PRIMITIVE_WRAPPERS.put(short.class, Short.class);
+        PRIMITIVE_WRAPPERS.put(int.class, Integer.class);
+        PRIMITIVE_WRAPPERS.put(long.class, Long.class);
+        PRIMITIVE_WRAPPERS.put(float.class, Float.class);
+        PRIMITIVE_WRAPPERS.put(double.class, Double.class);
+        PRIMITIVE_WRAPPERS.put(boolean.class, Boolean.class);
+        PRIMITIVE_WRAPPERS.put(char.class, Character.class);
+    }
+
+    static boolean isAccessible(Class<?>[] types, ClassLoader loader) {
+        for (Class<?> type : types) {
+            if (!isAccessible(type, loader)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Whether a class defined in a child of the given loader can reference the type
+     */
+    static boolean isAccessible(Class<?> type, ClassLoader loader) {
+        Class<?> c = type;
+        while (c.isArray()) {
+            c = c.getComponentType();
+        }
+
+        if (c.isPrimitive()) {
+            return true;
+        }
+
+        for (Class<?> k = c; k != null; k = k.getEnclosingClass()) {
+            if (!Modifier.isPublic(k.getModifiers())) {
+                return false;
+            }
+        }
+
+        // generated class must see exactly the same class
+        try {
+            return Class.forName(c.getName(), false, loader) == c;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    static void pushInt(MethodVisitor mv, int value) {
+        if (value <= 5) {
+            mv.visitInsn(Opcodes.ICONST_0 + value);
+        } else if (value <= Byte.MAX_VALUE) {
+            mv.visitIntInsn(Opcodes.BIPUSH, value);
+        } else {
+            mv.visitIntInsn(Opcodes.SIPUSH, value);
+        }
+    }
+
+    /**
+     * Convert Object on the top of the stack to the given type
+     */
+    static void castOrUnbox(MethodVisitor mv, Class<?> type) {
+        if (type.isPrimitive()) {
+            Class<?> wrapper = PRIMITIVE_WRAPPERS.get(type);
+            String wrapperName = Type.getInternalName(wrapper);
+            mv.visitTypeInsn(Opcodes.CHECKCAST, wrapperName);
+            mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, wrapperName, type.getName() + "Value",
+                    "()" + Type.getDescriptor(type), false);
+        } else if (type != Object.class) {
+            mv.visitTypeInsn(Opcodes.CHECKCAST, Type.getInternalName(type));
+        }
+    }
+
+    /**
+     * Convert value of the given type on the top of the stack to Object
+     */
+    static void box(MethodVisitor mv, Class<?> type) {
+        if (type.isPrimitive()) {
+            Class<?> wrapper = PRIMITIVE_WRAPPERS.get(type);
+            String wrapperName = Type.getInternalName(wrapper);
+            mv.visitMethodInsn(Opcodes.INVOKESTATIC, wrapperName, "valueOf",
+                    "(" + Type.getDescriptor(type) + ")L" + wrapperName + ";", false);
+        }
+    }
+
+    /**
+     * Loader for generated classes
+     */
+    static final class GeneratedClassLoader extends ClassLoader {
+
+        private final Set<Class<?>> pinned;
+
+        /**
+         * @param pinned classes generated class must use exactly,
+         *               even if their copies are visible from the parent loader
+         */
+        GeneratedClassLoader(ClassLoader parent, Class<?>... pinned) {
+            super(parent);
+            this.pinned = new HashSet<>(Arrays.asList(pinned));
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            for (Class<?> c : pinned) {
+                if (c.getName().equals(name)) {
+                    return c;
+                }
+            }
+
+            return super.loadClass(name, resolve);
+        }
+
+        Class<?> define(String name, byte[] bytes) {
+            return defineClass(name, bytes, 0, bytes.length);
+        }
+    }
+}
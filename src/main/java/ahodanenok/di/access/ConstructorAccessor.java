@@ -0,0 +1,18 @@
+package ahodanenok.di.access;
+
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * Creates objects using a particular constructor
+ * @see Accessors#of(java.lang.reflect.Constructor)
+ */
+@FunctionalInterface
+public interface ConstructorAccessor<T> {
+
+    /**
+     * Has the same semantics as {@link java.lang.reflect.Constructor#newInstance(Object...)}
+     *
+     * @throws InvocationTargetException if constructor throws an exception
+     */
+    T newInstance(Object[] args) throws InvocationTargetException;
+}
@@ -0,0 +1,16 @@
+package ahodanenok.di.access;
+
+/**
+ * Assigns value to a particular field
+ * @see Accessors#of(java.lang.reflect.Field)
+ */
+@FunctionalInterface
+public interface FieldAccessor {
+
+    /**
+     * Has the same semantics as {@link java.lang.reflect.Field#set(Object, Object)}
+     *
+     * @param instance object whose field is set, ignored for static fields
+     */
+    void set(Object instance, Object value);
+}
@@ -0,0 +1,27 @@
+package ahodanenok.di.access;
+
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * Invokes a particular method
+ * @see Accessors#of(java.lang.reflect.Method)
+ */
+@FunctionalInterface
+public interface MethodAccessor {
+
+    /**
+     * Has the same semantics as {@link java.lang.reflect.Method#invoke(Object, Object...)}
+     *
+     * @param instance target of the invocation, ignored for static methods
+     * @throws InvocationTargetException if method throws an exception
+     */
+    Object invoke(Object instance, Object[] args) throws InvocationTargetException;
+
+    /**
+     * Invoke a method with a single parameter, the same as {@link #invoke(Object, Object[])}
+     * without an array for the argument
+     */
+    default Object invoke1(Object instance, Object arg) throws InvocationTargetException {
+        return invoke(instance, new Object[] { arg });
+    }
+}
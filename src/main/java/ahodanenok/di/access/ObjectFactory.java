@@ -0,0 +1,48 @@
+package ahodanenok.di.access;
+
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * Creates objects of a class and injects their members with direct calls
+ * instead of going through reflection or method handles.
+ *
+ * Implementations are generated at runtime for a particular constructor
+ * and a list of injectable members.
+ *
+ * @see ObjectFactoryGenerator
+ */
+public abstract class ObjectFactory<T> implements ConstructorAccessor<T> {
+
+    /**
+     * Create an object with the given constructor arguments
+     *
+     * @throws InvocationTargetException if constructor throws an exception
+     */
+    @Override
+    public final T newInstance(Object[] args) throws InvocationTargetException {
+        try {
+            return create(args);
+        } catch (Throwable e) {
+            throw new InvocationTargetException(e);
+        }
+    }
+
+    /**
+     * Inject members of an object
+     *
+     * @param values values for each member in the order factory was generated for:
+     *               an object to be assigned to a field or an array of arguments for a method
+     * @throws InvocationTargetException if any of the methods throws an exception
+     */
+    public final void inject(Object instance, Object[] values) throws InvocationTargetException {
+        try {
+            injectMembers(instance, values);
+        } catch (Throwable e) {
+            throw new InvocationTargetException(e);
+        }
+    }
+
+    protected abstract T create(Object[] args) throws Exception;
+
+    protected abstract void injectMembers(Object instance, Object[] values) throws Exception;
+}
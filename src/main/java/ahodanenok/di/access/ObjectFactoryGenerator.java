@@ -0,0 +1,191 @@
+package ahodanenok.di.access;
+
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+import java.lang.reflect.*;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates {@link ObjectFactory} classes at runtime.
+ *
+ * Generated class invokes the constructor, assigns fields and invokes methods with plain bytecode
+ * instructions, so these calls are as cheap as if they were written by hand.
+ *
+ * Generated classes are defined in their own class loaders, so they can access only public members
+ * of public classes. If a constructor or any of the members can't be accessed this way,
+ * no factory is generated and objects must be created using reflection or method handles.
+ */
+public final class ObjectFactoryGenerator {
+
+    private ObjectFactoryGenerator() { }
+
+    private static final AtomicInteger COUNTER = new AtomicInteger();
+
+    private static final String OBJECT_FACTORY = Type.getInternalName(ObjectFactory.class);
+
+    /**
+     * Generate a factory creating objects with the given constructor
+     * and injecting the given fields and methods in the order they are listed
+     *
+     * @return factory or null if a factory can't be generated
+     * @see ObjectFactory#inject(Object, Object[])
+     */
+    public static <T> ObjectFactory<T> generate(Constructor<T> constructor, List<Member> members) {
+        if (!canGenerate(constructor, members)) {
+            return null;
+        }
+
+        Class<T> clazz = constructor.getDeclaringClass();
+        String className = clazz.getName() + "$$Factory" + COUNTER.incrementAndGet();
+
+        byte[] bytes = generateClass(className.replace('.', '/'), constructor, members);
+        try {
+            Class<?> factoryClass = new Bytecode.GeneratedClassLoader(clazz.getClassLoader(), ObjectFactory.class)
+                    .define(className, bytes);
+
+            @SuppressWarnings("unchecked") // factory was generated for class T
+            ObjectFactory<T> factory = (ObjectFactory<T>) factoryClass.getConstructor().newInstance();
+            return factory;
+        } catch (Exception | LinkageError e) {
+            // can't generate, will be accessed in other way
+            return null;
+        }
+    }
+
+    private static boolean canGenerate(Constructor<?> constructor, List<Member> members) {
+        Class<?> clazz = constructor.getDeclaringClass();
+        ClassLoader loader = clazz.getClassLoader();
+        if (loader == null
+                || !Bytecode.isAccessible(clazz, loader)
+                || !Modifier.isPublic(constructor.getModifiers())) {
+            return false;
+        }
+
+        if (!Bytecode.isAccessible(constructor.getParameterTypes(), loader)) {
+            return false;
+        }
+
+        for (Member member : members) {
+            int modifiers = member.getModifiers();
+            if (!Modifier.isPublic(modifiers)
+                    || Modifier.isStatic(modifiers)
+                    || !Bytecode.isAccessible(member.getDeclaringClass(), loader)) {
+                return false;
+            }
+
+            if (member instanceof Field) {
+                Field field = (Field) member;
+                if (Modifier.isFinal(modifiers) || !Bytecode.isAccessible(field.getType(), loader)) {
+                    return false;
+                }
+            } else if (member instanceof Method) {
+                if (!Bytecode.isAccessible(((Method) member).getParameterTypes(), loader)) {
+                    return false;
+                }
+            } else {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static byte[] generateClass(String className, Constructor<?> constructor, List<Member> members) {
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        cw.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL | Opcodes.ACC_SUPER,
+                className, null, OBJECT_FACTORY, null);
+
+        MethodVisitor init = cw.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
+        init.visitCode();
+        init.visitVarInsn(Opcodes.ALOAD, 0);
+        init.visitMethodInsn(Opcodes.INVOKESPECIAL, OBJECT_FACTORY, "<init>", "()V", false);
+        init.visitInsn(Opcodes.RETURN);
+        init.visitMaxs(0, 0);
+        init.visitEnd();
+
+        generateCreate(cw, constructor);
+        generateInjectMembers(cw, constructor.getDeclaringClass(), members);
+
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
+    // protected Object create(Object[] args)
+    private static void generateCreate(ClassWriter cw, Constructor<?> constructor) {
+        String owner = Type.getInternalName(constructor.getDeclaringClass());
+
+        MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PROTECTED, "create",
+                "([Ljava/lang/Object;)Ljava/lang/Object;", null, null);
+        mv.visitCode();
+        mv.visitTypeInsn(Opcodes.NEW, owner);
+        mv.visitInsn(Opcodes.DUP);
+
+        Class<?>[] parameterTypes = constructor.getParameterTypes();
+        for (int i = 0; i < parameterTypes.length; i++) {
+            mv.visitVarInsn(Opcodes.ALOAD, 1);
+            Bytecode.pushInt(mv, i);
+            mv.visitInsn(Opcodes.AALOAD);
+            Bytecode.castOrUnbox(mv, parameterTypes[i]);
+        }
+
+        mv.visitMethodInsn(Opcodes.INVOKESPECIAL, owner, "<init>",
+                Type.getConstructorDescriptor(constructor), false);
+        mv.visitInsn(Opcodes.ARETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+    }
+
+    // protected void injectMembers(Object instance, Object[] values)
+    private static void generateInjectMembers(ClassWriter cw, Class<?> clazz, List<Member> members) {
+        MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PROTECTED, "injectMembers",
+                "(Ljava/lang/Object;[Ljava/lang/Object;)V", null, null);
+        mv.visitCode();
+
+        for (int i = 0; i < members.size(); i++) {
+            Member member = members.get(i);
+            String owner = Type.getInternalName(member.getDeclaringClass());
+
+            mv.visitVarInsn(Opcodes.ALOAD, 1);
+            mv.visitTypeInsn(Opcodes.CHECKCAST, Type.getInternalName(clazz));
+
+            if (member instanceof Field) {
+                Field field = (Field) member;
+                mv.visitVarInsn(Opcodes.ALOAD, 2);
+                Bytecode.pushInt(mv, i);
+                mv.visitInsn(Opcodes.AALOAD);
+                Bytecode.castOrUnbox(mv, field.getType());
+                mv.visitFieldInsn(Opcodes.PUTFIELD, owner, field.getName(), Type.getDescriptor(field.getType()));
+            } else {
+                Method method = (Method) member;
+                Class<?>[] parameterTypes = method.getParameterTypes();
+                for (int p = 0; p < parameterTypes.length; p++) {
+                    mv.visitVarInsn(Opcodes.ALOAD, 2);
+                    Bytecode.pushInt(mv, i);
+                    mv.visitInsn(Opcodes.AALOAD);
+                    mv.visitTypeInsn(Opcodes.CHECKCAST, "[Ljava/lang/Object;");
+                    Bytecode.pushInt(mv, p);
+                    mv.visitInsn(Opcodes.AALOAD);
+                    Bytecode.castOrUnbox(mv, parameterTypes[p]);
+                }
+
+                mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, owner, method.getName(),
+                        Type.getMethodDescriptor(method), false);
+
+                Class<?> returnType = method.getReturnType();
+                if (returnType == long.class || returnType == double.class) {
+                    mv.visitInsn(Opcodes.POP2);
+                } else if (returnType != void.class) {
+                    mv.visitInsn(Opcodes.POP);
+                }
+            }
+        }
+
+        mv.visitInsn(Opcodes.RETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+    }
+}
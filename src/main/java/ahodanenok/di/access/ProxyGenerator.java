@@ -0,0 +1,334 @@
+package ahodanenok.di.access;
+
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates subclasses overriding the given methods at runtime.
+ *
+ * Each overridden method passes its arguments to a {@link ProxyMethod} kept in a static final field of
+ * the proxy class, so JIT sees the handler as a constant. Methods which are not overridden
+ * are inherited as is and calling them costs exactly the same as on an instance of the superclass.
+ *
+ * Proxy classes are defined in their own class loaders, so only public classes with public or protected
+ * constructors can be proxied and only their public or protected methods can be overridden.
+ */
+public final class ProxyGenerator {
+
+    private ProxyGenerator() { }
+
+    private static final AtomicInteger COUNTER = new AtomicInteger();
+
+    private static final String PROXY_OBJECT = Type.getInternalName(ProxyObject.class);
+    private static final String PROXY_METHOD = Type.getInternalName(ProxyMethod.class);
+    private static final String PROXY_GENERATOR = Type.getInternalName(ProxyGenerator.class);
+
+    private static final String STATE_FIELD = "$$state";
+    private static final String METHOD_FIELD_PREFIX = "$$method";
+
+    // handlers for classes being initialized
+    private static final ConcurrentMap<String, ProxyMethod[]> PENDING_METHODS = new ConcurrentHashMap<>();
+
+    /**
+     * Generate a subclass of the constructor's class with a single constructor having the same parameters.
+     * Invocations of the given methods will be passed to the handlers at the same positions.
+     *
+     * @return proxy class
+     * @throws IllegalArgumentException if the class or any of the methods can't be proxied, with the reason
+     * @see ProxyObject#proxyInvokeSuper(int, Object[])
+     */
+    public static <T> Class<? extends T> generate(Constructor<T> constructor,
+                                                  List<Method> methods,
+                                                  List<? extends ProxyMethod> handlers) {
+        if (methods.size() != handlers.size()) {
+            throw new IllegalArgumentException(String.format(
+                    "Each method must have a handler: %d methods, %d handlers", methods.size(), handlers.size()));
+        }
+
+        checkCanGenerate(constructor, methods);
+
+        Class<T> clazz = constructor.getDeclaringClass();
+        String className = clazz.getName() + "$$Proxy" + COUNTER.incrementAndGet();
+
+        byte[] bytes = generateClass(className.replace('.', '/'), constructor, methods);
+        PENDING_METHODS.put(className, handlers.toArray(new ProxyMethod[0]));
+        try {
+            Bytecode.GeneratedClassLoader loader = new Bytecode.GeneratedClassLoader(
+                    clazz.getClassLoader(), ProxyObject.class, ProxyMethod.class, ProxyGenerator.class);
+            Class<?> proxyClass = loader.define(className, bytes);
+            // handlers are assigned in the static initializer
+            Class.forName(className, true, loader);
+
+            return proxyClass.asSubclass(clazz);
+        } catch (Exception | LinkageError e) {
+            throw new IllegalArgumentException(String.format(
+                    "Couldn't define a proxy class for '%s': %s", clazz.getName(), e), e);
+        } finally {
+            PENDING_METHODS.remove(className);
+        }
+    }
+
+    /**
+     * Handlers for a proxy class, invoked from the static initializer of the generated class
+     */
+    public static ProxyMethod[] takeMethods(String className) {
+        ProxyMethod[] methods = PENDING_METHODS.remove(className);
+        if (methods == null) {
+            throw new IllegalStateException(String.format("No methods for a proxy class '%s'", className));
+        }
+
+        return methods;
+    }
+
+    private static void checkCanGenerate(Constructor<?> constructor, List<Method> methods) {
+        Class<?> clazz = constructor.getDeclaringClass();
+        ClassLoader loader = clazz.getClassLoader();
+        if (loader == null) {
+            throw new IllegalArgumentException(String.format(
+                    "Class '%s' is loaded by the bootstrap class loader", clazz.getName()));
+        } else if (clazz.isInterface() || Modifier.isFinal(clazz.getModifiers())) {
+            throw new IllegalArgumentException(String.format(
+                    "Class '%s' is final or an interface", clazz.getName()));
+        } else if (!Bytecode.isAccessible(clazz, loader)) {
+            throw new IllegalArgumentException(String.format(
+                    "Class '%s' or a class enclosing it is not public", clazz.getName()));
+        } else if (!isOverridable(constructor.getModifiers())
+                || !Bytecode.isAccessible(constructor.getParameterTypes(), loader)) {
+            throw new IllegalArgumentException(String.format(
+                    "Constructor '%s' is not public or protected or some of its parameter types are not public",
+                    constructor));
+        }
+
+        for (Method method : methods) {
+            int modifiers = method.getModifiers();
+            if (!isOverridable(modifiers)
+                    || Modifier.isStatic(modifiers)
+                    || Modifier.isFinal(modifiers)
+                    || Modifier.isAbstract(modifiers)
+                    || !method.getDeclaringClass().isAssignableFrom(clazz)) {
+                throw new IllegalArgumentException(String.format(
+                        "Method '%s' is not a public or protected non-final instance method", method));
+            } else if (!Bytecode.isAccessible(method.getParameterTypes(), loader)
+                    || !Bytecode.isAccessible(method.getReturnType(), loader)
+                    || !Bytecode.isAccessible(method.getExceptionTypes(), loader)) {
+                throw new IllegalArgumentException(String.format(
+                        "Method '%s' has parameter, return or exception types which are not public", method));
+            }
+        }
+    }
+
+    private static boolean isOverridable(int modifiers) {
+        return Modifier.isPublic(modifiers) || Modifier.isProtected(modifiers);
+    }
+
+    private static byte[] generateClass(String className, Constructor<?> constructor, List<Method> methods) {
+        String superName = Type.getInternalName(constructor.getDeclaringClass());
+
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS | ClassWriter.COMPUTE_FRAMES) {
+            @Override
+            protected String getCommonSuperClass(String type1, String type2) {
+                // generated code never merges different reference types
+                return "java/lang/Object";
+            }
+        };
+        cw.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC | Opcodes.ACC_SUPER,
+                className, null, superName, new String[] { PROXY_OBJECT });
+
+        cw.visitField(Opcodes.ACC_PRIVATE, STATE_FIELD, "Ljava/lang/Object;", null, null).visitEnd();
+        for (int i = 0; i < methods.size(); i++) {
+            cw.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC | Opcodes.ACC_FINAL,
+                    METHOD_FIELD_PREFIX + i, "L" + PROXY_METHOD + ";", null, null).visitEnd();
+        }
+
+        generateStaticInitializer(cw, className, methods.size());
+        generateConstructor(cw, superName, constructor);
+        for (int i = 0; i < methods.size(); i++) {
+            generateMethod(cw, className, methods.get(i), i);
+        }
+        generateInvokeSuper(cw, superName, methods);
+        generateStateAccessors(cw, className);
+
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
+    // static { ProxyMethod[] m = ProxyGenerator.takeMethods(className); $$method0 = m[0]; ... }
+    private static void generateStaticInitializer(ClassWriter cw, String className, int count) {
+        MethodVisitor mv = cw.visitMethod(Opcodes.ACC_STATIC, "<clinit>", "()V", null, null);
+        mv.visitCode();
+        mv.visitLdcInsn(className.replace('/', '.'));
+        mv.visitMethodInsn(Opcodes.INVOKESTATIC, PROXY_GENERATOR, "takeMethods",
+                "(Ljava/lang/String;)[L" + PROXY_METHOD + ";", false);
+        for (int i = 0; i < count; i++) {
+            mv.visitInsn(Opcodes.DUP);
+            Bytecode.pushInt(mv, i);
+            mv.visitInsn(Opcodes.AALOAD);
+            mv.visitFieldInsn(Opcodes.PUTSTATIC, className, METHOD_FIELD_PREFIX + i, "L" + PROXY_METHOD + ";");
+        }
+        mv.visitInsn(Opcodes.POP);
+        mv.visitInsn(Opcodes.RETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+    }
+
+    // public Proxy(A a, B b) { super(a, b); }
+    private static void generateConstructor(ClassWriter cw, String superName, Constructor<?> constructor) {
+        String descriptor = Type.getConstructorDescriptor(constructor);
+        MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "<init>", descriptor, null,
+                internalNames(constructor.getExceptionTypes()));
+        mv.visitCode();
+        mv.visitVarInsn(Opcodes.ALOAD, 0);
+        loadParameters(mv, constructor.getParameterTypes());
+        mv.visitMethodInsn(Opcodes.INVOKESPECIAL, superName, "<init>", descriptor, false);
+        mv.visitInsn(Opcodes.RETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+    }
+
+    // public R method(A a, B b) { return (R) $$methodN.invoke(this, new Object[] { a, b }); }
+    private static void generateMethod(ClassWriter cw, String className, Method method, int index) {
+        int access = Modifier.isPublic(method.getModifiers()) ? Opcodes.ACC_PUBLIC : Opcodes.ACC_PROTECTED;
+        MethodVisitor mv = cw.visitMethod(access, method.getName(), Type.getMethodDescriptor(method), null,
+                internalNames(method.getExceptionTypes()));
+        mv.visitCode();
+        mv.visitFieldInsn(Opcodes.GETSTATIC, className, METHOD_FIELD_PREFIX + index, "L" + PROXY_METHOD + ";");
+        mv.visitVarInsn(Opcodes.ALOAD, 0);
+
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        Bytecode.pushInt(mv, parameterTypes.length);
+        mv.visitTypeInsn(Opcodes.ANEWARRAY, "java/lang/Object");
+        int slot = 1;
+        for (int i = 0; i < parameterTypes.length; i++) {
+            Type type = Type.getType(parameterTypes[i]);
+            mv.visitInsn(Opcodes.DUP);
+            Bytecode.pushInt(mv, i);
+            mv.visitVarInsn(type.getOpcode(Opcodes.ILOAD), slot);
+            Bytecode.box(mv, parameterTypes[i]);
+            mv.visitInsn(Opcodes.AASTORE);
+            slot += type.getSize();
+        }
+
+        mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, PROXY_METHOD, "invoke",
+                "(L" + PROXY_OBJECT + ";[Ljava/lang/Object;)Ljava/lang/Object;", true);
+
+        Class<?> returnType = method.getReturnType();
+        if (returnType == void.class) {
+            mv.visitInsn(Opcodes.POP);
+            mv.visitInsn(Opcodes.RETURN);
+        } else {
+            Bytecode.castOrUnbox(mv, returnType);
+            mv.visitInsn(Type.getType(returnType).getOpcode(Opcodes.IRETURN));
+        }
+
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+    }
+
+    // public Object proxyInvokeSuper(int index, Object[] args) { switch (index) { case N: return super.methodN(...); } }
+    private static void generateInvokeSuper(ClassWriter cw, String superName, List<Method> methods) {
+        MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "proxyInvokeSuper",
+                "(I[Ljava/lang/Object;)Ljava/lang/Object;", null, new String[] { "java/lang/Exception" });
+        mv.visitCode();
+
+        Label defaultLabel = new Label();
+        Label[] labels = new Label[methods.size()];
+        for (int i = 0; i < labels.length; i++) {
+            labels[i] = new Label();
+        }
+
+        mv.visitVarInsn(Opcodes.ILOAD, 1);
+        if (labels.length > 0) {
+            mv.visitTableSwitchInsn(0, labels.length - 1, defaultLabel, labels);
+        } else {
+            mv.visitInsn(Opcodes.POP);
+            mv.visitJumpInsn(Opcodes.GOTO, defaultLabel);
+        }
+
+        for (int i = 0; i < labels.length; i++) {
+            Method method = methods.get(i);
+            mv.visitLabel(labels[i]);
+            mv.visitVarInsn(Opcodes.ALOAD, 0);
+
+            Class<?>[] parameterTypes = method.getParameterTypes();
+            for (int p = 0; p < parameterTypes.length; p++) {
+                mv.visitVarInsn(Opcodes.ALOAD, 2);
+                Bytecode.pushInt(mv, p);
+                mv.visitInsn(Opcodes.AALOAD);
+                Bytecode.castOrUnbox(mv, parameterTypes[p]);
+            }
+
+            mv.visitMethodInsn(Opcodes.INVOKESPECIAL, superName, method.getName(),
+                    Type.getMethodDescriptor(method), false);
+
+            Class<?> returnType = method.getReturnType();
+            if (returnType == void.class) {
+                mv.visitInsn(Opcodes.ACONST_NULL);
+            } else {
+                Bytecode.box(mv, returnType);
+            }
+            mv.visitInsn(Opcodes.ARETURN);
+        }
+
+        mv.visitLabel(defaultLabel);
+        mv.visitTypeInsn(Opcodes.NEW, "java/lang/IllegalArgumentException");
+        mv.visitInsn(Opcodes.DUP);
+        mv.visitLdcInsn("No method with the given index");
+        mv.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/IllegalArgumentException", "<init>",
+                "(Ljava/lang/String;)V", false);
+        mv.visitInsn(Opcodes.ATHROW);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+    }
+
+    private static void generateStateAccessors(ClassWriter cw, String className) {
+        MethodVisitor get = cw.visitMethod(Opcodes.ACC_PUBLIC, "getProxyState", "()Ljava/lang/Object;", null, null);
+        get.visitCode();
+        get.visitVarInsn(Opcodes.ALOAD, 0);
+        get.visitFieldInsn(Opcodes.GETFIELD, className, STATE_FIELD, "Ljava/lang/Object;");
+        get.visitInsn(Opcodes.ARETURN);
+        get.visitMaxs(0, 0);
+        get.visitEnd();
+
+        MethodVisitor set = cw.visitMethod(Opcodes.ACC_PUBLIC, "setProxyState", "(Ljava/lang/Object;)V", null, null);
+        set.visitCode();
+        set.visitVarInsn(Opcodes.ALOAD, 0);
+        set.visitVarInsn(Opcodes.ALOAD, 1);
+        set.visitFieldInsn(Opcodes.PUTFIELD, className, STATE_FIELD, "Ljava/lang/Object;");
+        set.visitInsn(Opcodes.RETURN);
+        set.visitMaxs(0, 0);
+        set.visitEnd();
+    }
+
+    private static void loadParameters(MethodVisitor mv, Class<?>[] parameterTypes) {
+        int slot = 1;
+        for (Class<?> parameterType : parameterTypes) {
+            Type type = Type.getType(parameterType);
+            mv.visitVarInsn(type.getOpcode(Opcodes.ILOAD), slot);
+            slot += type.getSize();
+        }
+    }
+
+    private static String[] internalNames(Class<?>[] types) {
+        if (types.length == 0) {
+            return null;
+        }
+
+        String[] names = new String[types.length];
+        for (int i = 0; i < types.length; i++) {
+            names[i] = Type.getInternalName(types[i]);
+        }
+
+        return names;
+    }
+}
@@ -0,0 +1,18 @@
+package ahodanenok.di.access;
+
+/**
+ * Invoked by a proxy instead of a method it overrides
+ *
+ * @see ProxyGenerator
+ */
+@FunctionalInterface
+public interface ProxyMethod {
+
+    /**
+     * @param proxy instance the method was called on
+     * @param args arguments the method was called with, primitives are boxed
+     * @return value to return from the method, must be of the method's return type or its wrapper,
+     *         ignored if the method is void
+     */
+    Object invoke(ProxyObject proxy, Object[] args) throws Exception;
+}
@@ -0,0 +1,23 @@
+package ahodanenok.di.access;
+
+/**
+ * Implemented by the subclasses generated by {@link ProxyGenerator}
+ */
+public interface ProxyObject {
+
+    /**
+     * Invoke the overridden method of the superclass, bypassing the proxy
+     *
+     * @param index index of the method in the list the proxy was generated for
+     * @param args arguments for the method
+     * @return value returned by the method, boxed if it's primitive, or null if it's void
+     */
+    Object proxyInvokeSuper(int index, Object[] args) throws Exception;
+
+    /**
+     * Arbitrary state associated with the proxy instance, null until set
+     */
+    Object getProxyState();
+
+    void setProxyState(Object state);
+}
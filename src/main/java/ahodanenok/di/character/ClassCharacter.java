@@ -38,6 +38,7 @@ public class ClassCharacter<T> implements Character<T> {
     private final Class<T> objectClass;
     private Set<String> names;
     private Scope<T> scope;
+    private boolean eager;
     private final InjectableConstructor<T> constructor;
     private List<Annotation> qualifiers;
 
@@ -46,7 +47,7 @@ public class ClassCharacter<T> implements Character<T> {
     private InterceptorMethods<T> interceptorMethods;
 
     public ClassCharacter(Class<T> clazz) {
-        this.classMetadataReader = new ClassMetadataReader<>(clazz);
+        this.classMetadataReader = ClassMetadataReader.of(clazz);
         this.objectClass = clazz;
         this.constructor = new InjectableConstructor<>(clazz);
 
@@ -137,6 +138,20 @@ public class ClassCharacter<T> implements Character<T> {
         return scope;
     }
 
+    /**
+     * Retrieve object right after the character enters the world instead of the first request,
+     * makes sense only for scopes which keep objects, for example {@link SingletonScope}.
+     * Character with {@link AlwaysNewScope} is rejected when it enters the world, its object would be discarded.
+     */
+    public ClassCharacter<T> eager() {
+        this.eager = true;
+        return this;
+    }
+
+    public boolean isEager() {
+        return eager;
+    }
+
     public ClassCharacter<T> qualifiedAs(Annotation... qualifiers) {
         return qualifiedAs(Arrays.asList(qualifiers));
     }
@@ -246,6 +261,11 @@ public class ClassCharacter<T> implements Character<T> {
 
     @Override
     public DefaultClassContainer<T> build(WorldInternals world) {
+        if (eager && scope instanceof AlwaysNewScope) {
+            throw new CharacterMetadataException(String.format(
+                    "Class '%s' is eager, but its scope doesn't keep objects", objectClass.getName()));
+        }
+
         return new DefaultClassContainer<>(world, this);
     }
 }
@@ -0,0 +1,242 @@
+package ahodanenok.di.character;
+
+import ahodanenok.di.WorldInternals;
+import ahodanenok.di.container.impl.DefaultGeneratedContainer;
+import ahodanenok.di.exception.CharacterMetadataException;
+import ahodanenok.di.inject.DependencyResolver;
+import ahodanenok.di.inject.InjectionPlan;
+import ahodanenok.di.inject.InjectionPoint;
+import ahodanenok.di.inject.Injector;
+import ahodanenok.di.interceptor.InterceptorType;
+import ahodanenok.di.metadata.ExecutableMetadataReader;
+import ahodanenok.di.scope.AlwaysNewScope;
+import ahodanenok.di.scope.Scope;
+import ahodanenok.di.util.ReflectionUtils;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.*;
+
+/**
+ * Character of a class which knows at compile time how to create and inject objects of that class.
+ *
+ * Subclasses are generated by the annotation processor from di-world-processor module,
+ * they create objects, inject members and invoke lifecycle callbacks with plain method calls,
+ * so the class doesn't need to be inspected with reflection at runtime.
+ *
+ * Constructor and lifecycle callback methods are looked up with reflection
+ * only if they are going to be intercepted.
+ */
+public abstract class GeneratedCharacter<T> implements Character<T> {
+
+    private final Class<T> objectClass;
+    private Set<String> names = Collections.emptySet();
+    private Scope<T> scope = AlwaysNewScope.getInstance();
+    private List<Annotation> qualifiers = Collections.emptyList();
+
+    private List<Class<?>> interceptors = Collections.emptyList();
+    private List<Annotation> interceptorBindings = Collections.emptyList();
+    private final Map<InterceptorType, List<Annotation>> callbackInterceptorBindings = new HashMap<>();
+
+    protected GeneratedCharacter(Class<T> objectClass) {
+        if (objectClass == null) {
+            throw new CharacterMetadataException("Class can't be null");
+        }
+
+        this.objectClass = objectClass;
+    }
+
+    public Class<T> getObjectClass() {
+        return objectClass;
+    }
+
+    public GeneratedCharacter<T> knownAs(String... names) {
+        if (names.length == 0) {
+            throw new CharacterMetadataException("Provide at least one name");
+        }
+
+        Set<String> newNames = new HashSet<>();
+        for (String name : names) {
+            if (name == null) {
+                throw new CharacterMetadataException("Name can't be null");
+            }
+
+            String n = name.trim();
+            if (n.isEmpty()) {
+                throw new CharacterMetadataException("Name can't be empty");
+            }
+
+            newNames.add(n);
+        }
+
+        this.names = newNames;
+        return this;
+    }
+
+    public Set<String> getNames() {
+        return Collections.unmodifiableSet(names);
+    }
+
+    public GeneratedCharacter<T> scopedBy(Scope<T> scope) {
+        if (scope == null) {
+            throw new CharacterMetadataException("Scope can't be null");
+        }
+
+        this.scope = scope;
+        return this;
+    }
+
+    public Scope<T> getScope() {
+        return scope;
+    }
+
+    public GeneratedCharacter<T> qualifiedAs(Annotation... qualifiers) {
+        if (qualifiers.length == 0) {
+            throw new CharacterMetadataException("Provide at least one qualifier");
+        }
+
+        List<Annotation> newQualifiers = new ArrayList<>();
+        for (Annotation q : qualifiers) {
+            if (q == null) {
+                throw new CharacterMetadataException("Qualifier can't be null");
+            }
+
+            newQualifiers.add(q);
+        }
+
+        this.qualifiers = newQualifiers;
+        return this;
+    }
+
+    public List<Annotation> getQualifiers() {
+        return Collections.unmodifiableList(qualifiers);
+    }
+
+    public GeneratedCharacter<T> interceptedBy(Class<?>... interceptors) {
+        if (interceptors.length == 0) {
+            throw new CharacterMetadataException("Provide at least one interceptor");
+        }
+
+        List<Class<?>> newInterceptors = new ArrayList<>();
+        for (Class<?> interceptor : interceptors) {
+            if (interceptor == null) {
+                throw new CharacterMetadataException("Interceptor can't be null");
+            }
+
+            if (!ReflectionUtils.isInstantiatable(interceptor)) {
+                throw new CharacterMetadataException("Interceptor is not instantiatable");
+            }
+
+            if (interceptor == objectClass) {
+                throw new CharacterMetadataException("Class can't be interceptor for itself");
+            }
+
+            newInterceptors.add(interceptor);
+        }
+
+        this.interceptors = newInterceptors;
+        return this;
+    }
+
+    /**
+     * @see ClassCharacter#getInterceptors()
+     */
+    public List<Class<?>> getInterceptors() {
+        return Collections.unmodifiableList(interceptors);
+    }
+
+    /**
+     * Set interceptor bindings declared on a class
+     */
+    protected GeneratedCharacter<T> boundTo(Annotation... bindings) {
+        this.interceptorBindings = Arrays.asList(bindings);
+        return this;
+    }
+
+    /**
+     * Set interceptor bindings declared on a constructor (AROUND_CONSTRUCT)
+     * or on a lifecycle callback method (POST_CONSTRUCT, PRE_DESTROY)
+     */
+    protected GeneratedCharacter<T> boundTo(InterceptorType type, Annotation... bindings) {
+        this.callbackInterceptorBindings.put(type, Arrays.asList(bindings));
+        return this;
+    }
+
+    /**
+     * @see ClassCharacter#getInterceptorBindings()
+     */
+    public List<Annotation> getInterceptorBindings() {
+        return Collections.unmodifiableList(interceptorBindings);
+    }
+
+    /**
+     * Interceptor bindings declared on a constructor or on a lifecycle callback method
+     * @return list of interceptor bindings, empty if there is no bindings
+     */
+    public List<Annotation> getInterceptorBindings(InterceptorType type) {
+        return callbackInterceptorBindings.getOrDefault(type, Collections.emptyList());
+    }
+
+    /**
+     * Constructor used to create objects, looked up only if it's going to be intercepted
+     */
+    public abstract Constructor<T> getConstructor();
+
+    /**
+     * Resolve arguments for a constructor
+     */
+    public abstract Object[] resolveArguments(DependencyResolver resolver);
+
+    /**
+     * Create object with the given constructor arguments
+     */
+    public abstract T newInstance(Object[] args) throws Exception;
+
+    /**
+     * Inject fields and methods of an object
+     */
+    public abstract void injectMembers(T instance, DependencyResolver resolver) throws Exception;
+
+    /**
+     * Injection points of the constructor and members, looked up with reflection only when asked,
+     * for example when the world is validated or sealed.
+     * The generated code injects the same constructor and members, so they are found by the same rules.
+     */
+    public List<InjectionPoint> getInjectionPoints() {
+        List<InjectionPoint> injectionPoints = new ArrayList<>(Arrays.asList(
+                Injector.getInjectionPoints(new ExecutableMetadataReader(getConstructor()))));
+        for (InjectionPlan.InjectableMember member : InjectionPlan.of(objectClass).getMembers()) {
+            injectionPoints.addAll(member.getInjectionPoints());
+        }
+
+        return injectionPoints;
+    }
+
+    /**
+     * Whether a class has lifecycle callback method of the given type
+     */
+    public boolean hasInterceptorMethod(InterceptorType type) {
+        return false;
+    }
+
+    /**
+     * Lifecycle callback method of a class, looked up only if it's going to be intercepted
+     * @return method or null if class doesn't have such a method
+     */
+    public Method getInterceptorMethod(InterceptorType type) {
+        return null;
+    }
+
+    /**
+     * Invoke lifecycle callback method of a class, if it has one
+     */
+    public void invokeInterceptorMethod(InterceptorType type, T instance) throws Exception {
+        // no-op
+    }
+
+    @Override
+    public DefaultGeneratedContainer<T> build(WorldInternals world) {
+        return new DefaultGeneratedContainer<>(world, this);
+    }
+}
@@ -43,7 +43,7 @@ public class InterceptorCharacter<T> implements Character<T> {
 
     public InterceptorCharacter(Class<T> objectClass) {
         this.objectClass = objectClass;
-        this.classMetadataReader = new ClassMetadataReader<>(objectClass);
+        this.classMetadataReader = ClassMetadataReader.of(objectClass);
         this.constructor = new InjectableConstructor<>(objectClass);
 
         // todo: remove duplication with ClassCharacter in determining scope
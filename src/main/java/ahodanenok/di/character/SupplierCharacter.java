@@ -0,0 +1,189 @@
+package ahodanenok.di.character;
+
+import ahodanenok.di.WorldInternals;
+import ahodanenok.di.container.impl.DefaultSupplierContainer;
+import ahodanenok.di.exception.CharacterMetadataException;
+import ahodanenok.di.inject.DependencyResolver;
+import ahodanenok.di.scope.AlwaysNewScope;
+import ahodanenok.di.scope.Scope;
+
+import java.lang.annotation.Annotation;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Character of objects created by a function, which is given a resolver for their dependencies.
+ *
+ * Objects are created and injected with plain method calls and the class is never inspected with reflection,
+ * so names, qualifiers and scope must be set on the character itself.
+ * Objects are found, scoped and augmented the same as objects of a {@link ClassCharacter},
+ * but they can't be intercepted as there is no constructor or lifecycle callback methods to intercept,
+ * instead callbacks can be given to the character to be called at the same points of the lifecycle.
+ *
+ * Dependencies resolved by the factory are not known until it's invoked, so they are not checked
+ * by {@link ahodanenok.di.World#validate()} and eager objects are not ordered by them.
+ */
+public final class SupplierCharacter<T> implements Character<T> {
+
+    /**
+     * @param objectClass class by which objects are found, created objects must be instances of it
+     * @param factory function creating an object, it's invoked every time the scope needs a new object
+     */
+    public static <T> SupplierCharacter<T> of(Class<T> objectClass, Function<DependencyResolver, ? extends T> factory) {
+        return new SupplierCharacter<>(objectClass, factory);
+    }
+
+    private final Class<T> objectClass;
+    private final Function<DependencyResolver, ? extends T> factory;
+    private Set<String> names = Collections.emptySet();
+    private Scope<T> scope = AlwaysNewScope.getInstance();
+    private List<Annotation> qualifiers = Collections.emptyList();
+    private boolean eager;
+    private Consumer<? super T> onConstruct;
+    private Consumer<? super T> onDestroy;
+
+    private SupplierCharacter(Class<T> objectClass, Function<DependencyResolver, ? extends T> factory) {
+        if (objectClass == null) {
+            throw new CharacterMetadataException("Class can't be null");
+        }
+
+        if (factory == null) {
+            throw new CharacterMetadataException("Factory can't be null");
+        }
+
+        this.objectClass = objectClass;
+        this.factory = factory;
+    }
+
+    public Class<T> getObjectClass() {
+        return objectClass;
+    }
+
+    public Function<DependencyResolver, ? extends T> getFactory() {
+        return factory;
+    }
+
+    public SupplierCharacter<T> knownAs(String... names) {
+        if (names.length == 0) {
+            throw new CharacterMetadataException("Provide at least one name");
+        }
+
+        Set<String> newNames = new HashSet<>();
+        for (String name : names) {
+            if (name == null) {
+                throw new CharacterMetadataException("Name can't be null");
+            }
+
+            String n = name.trim();
+            if (n.isEmpty()) {
+                throw new CharacterMetadataException("Name can't be empty");
+            }
+
+            newNames.add(n);
+        }
+
+        this.names = newNames;
+        return this;
+    }
+
+    public Set<String> getNames() {
+        return Collections.unmodifiableSet(names);
+    }
+
+    public SupplierCharacter<T> scopedBy(Scope<T> scope) {
+        if (scope == null) {
+            throw new CharacterMetadataException("Scope can't be null");
+        }
+
+        this.scope = scope;
+        return this;
+    }
+
+    public Scope<T> getScope() {
+        return scope;
+    }
+
+    public SupplierCharacter<T> qualifiedAs(Annotation... qualifiers) {
+        if (qualifiers.length == 0) {
+            throw new CharacterMetadataException("Provide at least one qualifier");
+        }
+
+        List<Annotation> newQualifiers = new ArrayList<>();
+        for (Annotation q : qualifiers) {
+            if (q == null) {
+                throw new CharacterMetadataException("Qualifier can't be null");
+            }
+
+            newQualifiers.add(q);
+        }
+
+        this.qualifiers = newQualifiers;
+        return this;
+    }
+
+    public List<Annotation> getQualifiers() {
+        return Collections.unmodifiableList(qualifiers);
+    }
+
+    /**
+     * @see ClassCharacter#eager()
+     */
+    public SupplierCharacter<T> eager() {
+        this.eager = true;
+        return this;
+    }
+
+    public boolean isEager() {
+        return eager;
+    }
+
+    /**
+     * Callback invoked on a created object, the same as a method annotated with {@link javax.annotation.PostConstruct}
+     */
+    public SupplierCharacter<T> onConstruct(Consumer<? super T> callback) {
+        if (callback == null) {
+            throw new CharacterMetadataException("Callback can't be null");
+        }
+
+        this.onConstruct = callback;
+        return this;
+    }
+
+    /**
+     * @return callback or null if it's not set
+     */
+    public Consumer<? super T> getOnConstruct() {
+        return onConstruct;
+    }
+
+    /**
+     * Callback invoked on an object before its scope is destroyed,
+     * the same as a method annotated with {@link javax.annotation.PreDestroy}
+     */
+    public SupplierCharacter<T> onDestroy(Consumer<? super T> callback) {
+        if (callback == null) {
+            throw new CharacterMetadataException("Callback can't be null");
+        }
+
+        this.onDestroy = callback;
+        return this;
+    }
+
+    /**
+     * @return callback or null if it's not set
+     */
+    public Consumer<? super T> getOnDestroy() {
+        return onDestroy;
+    }
+
+    @Override
+    public DefaultSupplierContainer<T> build(WorldInternals world) {
+        if (eager && scope instanceof AlwaysNewScope) {
+            throw new CharacterMetadataException(String.format(
+                    "Class '%s' is eager, but its scope doesn't keep objects", objectClass.getName()));
+        }
+
+        return new DefaultSupplierContainer<>(world, this);
+    }
+}
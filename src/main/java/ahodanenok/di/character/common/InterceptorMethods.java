@@ -17,7 +17,7 @@ public class InterceptorMethods<T> {
 
     public InterceptorMethods(Class<T> clazz) {
         this.clazz = clazz;
-        this.metadataReader = new ClassMetadataReader<>(clazz);
+        this.metadataReader = ClassMetadataReader.of(clazz);
     }
 
     /**
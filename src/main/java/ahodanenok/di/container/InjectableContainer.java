@@ -1,6 +1,9 @@
 package ahodanenok.di.container;
 
+import ahodanenok.di.inject.InjectionPoint;
+
 import java.lang.annotation.Annotation;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 
@@ -20,4 +23,33 @@ public interface InjectableContainer<T> extends Container<T> {
      * @see javax.inject.Qualifier
      */
     List<Annotation> getQualifiers();
+
+    /**
+     * Whether object must be retrieved as soon as container enters the world
+     */
+    default boolean isEager() {
+        return false;
+    }
+
+    /**
+     * Injection points of the constructor and members used to create an object,
+     * empty if dependencies of the object are not known beforehand
+     */
+    default List<InjectionPoint> getInjectionPoints() {
+        return Collections.emptyList();
+    }
+
+    /**
+     * Remember the slot given to the container when the world is sealed,
+     * so everything compiled for the container is retrieved from the slot without lookups
+     * @see ahodanenok.di.World#seal()
+     */
+    default void assignSlot(int slot) { }
+
+    /**
+     * @return slot given to the container when the world is sealed or -1 if the container doesn't remember it
+     */
+    default int getSlot() {
+        return -1;
+    }
 }
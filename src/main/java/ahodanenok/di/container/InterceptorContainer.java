@@ -1,9 +1,11 @@
 package ahodanenok.di.container;
 
+import ahodanenok.di.inject.InjectionPoint;
 import ahodanenok.di.interceptor.Interceptor;
 import ahodanenok.di.interceptor.InterceptorType;
 
 import java.lang.annotation.Annotation;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -28,4 +30,12 @@ public interface InterceptorContainer<T> extends Container<T> {
      * @see javax.annotation.PostConstruct
      */
     Interceptor getInterceptor(InterceptorType type);
+
+    /**
+     * Injection points of the constructor and members used to create an interceptor,
+     * empty if dependencies of the interceptor are not known beforehand
+     */
+    default List<InjectionPoint> getInjectionPoints() {
+        return Collections.emptyList();
+    }
 }
@@ -1,24 +1,38 @@
 package ahodanenok.di.container.impl;
 
 import ahodanenok.di.*;
+import ahodanenok.di.access.Accessors;
+import ahodanenok.di.access.ConstructorAccessor;
+import ahodanenok.di.access.ObjectFactory;
+import ahodanenok.di.access.ProxyGenerator;
+import ahodanenok.di.access.ProxyObject;
 import ahodanenok.di.augment.Augmentation;
 import ahodanenok.di.character.ClassCharacter;
 import ahodanenok.di.container.EventHandlerContainer;
 import ahodanenok.di.container.InjectableContainer;
 import ahodanenok.di.event.EventHandler;
+import ahodanenok.di.exception.CharacterMetadataException;
 import ahodanenok.di.exception.ObjectRetrievalException;
+import ahodanenok.di.inject.InjectionPlan;
+import ahodanenok.di.inject.InjectionPoint;
 import ahodanenok.di.inject.Injector;
+import ahodanenok.di.interceptor.AroundInvokeMethod;
+import ahodanenok.di.interceptor.ChainedInvocationContext;
+import ahodanenok.di.interceptor.Interceptor;
 import ahodanenok.di.interceptor.InterceptorChain;
+import ahodanenok.di.interceptor.InterceptorInstances;
 import ahodanenok.di.interceptor.InterceptorRequest;
 import ahodanenok.di.interceptor.InterceptorType;
+import ahodanenok.di.interceptor.TargetMethodInvoke;
 import ahodanenok.di.interceptor.context.ConstructorInvocationContext;
 import ahodanenok.di.interceptor.context.MethodInvocationContext;
 import ahodanenok.di.interceptor.context.ObjectInvocationContext;
+import ahodanenok.di.metadata.ClassMetadataReader;
 import ahodanenok.di.metadata.ExecutableMetadataReader;
 import ahodanenok.di.scope.Scope;
 import ahodanenok.di.util.ReflectionUtils;
 
-import javax.interceptor.InvocationContext;
+import javax.inject.Provider;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.*;
 import java.util.*;
@@ -33,6 +47,12 @@ public class DefaultClassContainer<T> implements InjectableContainer<T>, EventHa
     private Set<String> names;
     private Scope<T> scope;
 
+    private volatile ConstructionRecipe recipe;
+    private volatile AroundInvokeProxy proxy;
+    private final TargetInterceptorInstances targetInterceptorInstances = new TargetInterceptorInstances();
+    // assigned before the sealed world is published
+    private int slot = -1;
+
     public DefaultClassContainer(WorldInternals world, ClassCharacter<T> character) {
         this.world = world;
         this.character = character;
@@ -59,48 +79,86 @@ public class DefaultClassContainer<T> implements InjectableContainer<T>, EventHa
         return scope.getObject(this::doGetObject);
     }
 
+    @Override
+    public boolean isEager() {
+        return character.isEager();
+    }
+
+    @Override
+    public void assignSlot(int slot) {
+        this.slot = slot;
+    }
+
+    @Override
+    public int getSlot() {
+        return slot;
+    }
+
+    @Override
+    public List<InjectionPoint> getInjectionPoints() {
+        List<InjectionPoint> injectionPoints = new ArrayList<>(Arrays.asList(
+                Injector.getInjectionPoints(new ExecutableMetadataReader(character.getConstructor()))));
+        for (InjectionPlan.InjectableMember member : InjectionPlan.of(objectClass).getMembers()) {
+            injectionPoints.addAll(member.getInjectionPoints());
+        }
+
+        return injectionPoints;
+    }
+
     private T doGetObject() {
         Augmentation augmentation = world.requestAugmentation();
 
         Constructor<?> constructor = augmentation.augmentBeforeInstantiated(character, character.getConstructor());
+        ConstructionRecipe recipe = getRecipe(constructor);
 
-        // todo: cache arguments?
-        ExecutableMetadataReader constructorMetadataReader = new ExecutableMetadataReader(constructor);
-        Object[] args = injector.resolveArguments(constructorMetadataReader);
+        Object[] args = injector.resolveArguments(recipe.constructorInjectionPoints, recipe.boundDependencies, 0);
 
-        ConstructorInvocationContext constructorContext = new ConstructorInvocationContext(constructor);
+        ConstructorInvocationContext constructorContext;
+        if (recipe.proxy != null) {
+            constructorContext = new ConstructorInvocationContext(constructor, recipe.proxy.constructorAccessor);
+        } else if (recipe.factory != null) {
+            constructorContext = new ConstructorInvocationContext(constructor, recipe.factory);
+        } else {
+            constructorContext = new ConstructorInvocationContext(constructor);
+        }
         constructorContext.setParameters(args);
 
-        try {
+        // interceptors of all lifecycle events and business methods of the object are invoked on the same instances
+        InterceptorInstances interceptorInstances = new InterceptorInstances();
+        constructorContext.setInterceptorInstances(interceptorInstances);
 
-            // JSR-318 (Interceptors 1.2), 3.3
-            // The set of interceptor bindings for a method or constructor
-            // are those applied to the target class combined with those
-            // applied at method level or constructor level.
-
-            // JSR-318 (Interceptors 1.2), 3.3
-            // An interceptor binding declared on a method or constructor
-            // replaces an interceptor binding of the same type declared
-            // at class level or inherited from a superclass
-
-            InterceptorChain aroundConstructChain = getInterceptorChain(InterceptorType.AROUND_CONSTRUCT, constructor);
-            Object instance = augmentation.augmentAfterInstantiated(
-                    character, aroundConstructChain.invoke(constructorContext));
+        try {
+            Object instance = recipe.aroundConstructChain.invoke(constructorContext);
+            if (constructorContext.getTarget() instanceof ProxyObject) {
+                ((ProxyObject) constructorContext.getTarget()).setProxyState(interceptorInstances);
+            }
+            if (recipe.preDestroyChain.length() > 0) {
+                targetInterceptorInstances.bind(constructorContext.getTarget(), interceptorInstances);
+            }
+            instance = augmentation.augmentAfterInstantiated(character, instance);
 
-            injector.inject(instance);
+            // augmentation could replace instance with something else,
+            // proxy doesn't declare injectable members, so they are the same as of the class
+            boolean sameClass = instance.getClass() == constructor.getDeclaringClass()
+                    || recipe.proxy != null && instance.getClass() == recipe.proxy.proxyClass;
+            Provider<?>[] boundDependencies = sameClass ? recipe.boundDependencies : null;
+            int offset = recipe.constructorInjectionPoints.length;
+            if (recipe.factory != null && sameClass) {
+                injector.inject(instance, recipe.factory, boundDependencies, offset);
+            } else {
+                injector.inject(instance, boundDependencies, offset);
+            }
             instance = augmentation.augmentAfterInjected(character, instance);
 
-            InvocationContext postConstructContext;
-            Method postConstructMethod = character.getInterceptorMethod(InterceptorType.POST_CONSTRUCT);
-            if (postConstructMethod != null) {
-                postConstructContext = new MethodInvocationContext(instance, postConstructMethod);
+            ChainedInvocationContext postConstructContext;
+            if (recipe.postConstructMethod != null) {
+                postConstructContext = new MethodInvocationContext(instance, recipe.postConstructMethod);
             } else {
                 postConstructContext = new ObjectInvocationContext(instance);
             }
 
-            InterceptorChain postConstructChain
-                    = getInterceptorChain(InterceptorType.POST_CONSTRUCT, postConstructMethod);
-            postConstructChain.invoke(postConstructContext);
+            postConstructContext.setInterceptorInstances(interceptorInstances);
+            recipe.postConstructChain.invoke(postConstructContext);
 
             // todo: interceptors/augmentation could swap created instance for something else, return Object?
             // @SuppressWarnings("unchecked")
@@ -113,6 +171,23 @@ public class DefaultClassContainer<T> implements InjectableContainer<T>, EventHa
         }
     }
 
+    /**
+     * Recipe for the given constructor, built on the first instantiation
+     * and rebuilt only after new containers are registered in the world
+     */
+    private ConstructionRecipe getRecipe(Constructor<?> constructor) {
+        ConstructionRecipe current = recipe;
+        if (current == null
+                || current.constructor != constructor
+                || current.generation != world.getGeneration()
+                || current.usingGeneratedFactories != world.isUsingGeneratedFactories()) {
+            current = new ConstructionRecipe(constructor);
+            recipe = current;
+        }
+
+        return current;
+    }
+
     @Override
     public List<EventHandler> getEventHandlers() {
         // todo: retrieve event handlers from class
@@ -124,14 +199,17 @@ public class DefaultClassContainer<T> implements InjectableContainer<T>, EventHa
         Method preDestroyMethod = character.getInterceptorMethod(InterceptorType.PRE_DESTROY);
         InterceptorChain preDestroyChain = getInterceptorChain(InterceptorType.PRE_DESTROY, preDestroyMethod);
         if (!preDestroyChain.getInterceptors().isEmpty()) {
-            InvocationContext preDestroyContext;
-            Method interceptorMethod = character.getInterceptorMethod(InterceptorType.POST_CONSTRUCT);
-            if (interceptorMethod != null) {
-                preDestroyContext = new MethodInvocationContext(getObject(), interceptorMethod);
+            Object instance = getObject();
+            ChainedInvocationContext preDestroyContext;
+            if (preDestroyMethod != null) {
+                preDestroyContext = new MethodInvocationContext(instance, preDestroyMethod);
             } else {
-                preDestroyContext = new ObjectInvocationContext(getObject());
+                preDestroyContext = new ObjectInvocationContext(instance);
             }
 
+            // the same interceptor instances as when the object was constructed
+            preDestroyContext.setInterceptorInstances(targetInterceptorInstances.unbind(instance));
+
             try {
                 preDestroyChain.invoke(preDestroyContext);
             } catch (Exception e) {
@@ -153,4 +231,225 @@ public class DefaultClassContainer<T> implements InjectableContainer<T>, EventHa
                                         : Collections.emptyList(),
                                 character.getInterceptorBindings())));
     }
+
+    /**
+     * Proxy intercepting business methods of the class declaring the constructor
+     * or null if there are no AroundInvoke interceptors for any of the methods.
+     *
+     * Proxy class is generated only if the set of intercepted methods changes,
+     * otherwise chains of the existing proxy are updated, so already created objects
+     * are intercepted by the current interceptors as well.
+     *
+     * Proxy is defined in its own class loader, so it can override only public and protected non-final methods
+     * of a public class with a public or protected constructor. Interceptors bound to the class don't intercept
+     * any other methods, and if a method having its own interceptor bindings or the class itself can't be proxied,
+     * {@link CharacterMetadataException} is thrown instead of creating an object which is not intercepted.
+     */
+    private AroundInvokeProxy getAroundInvokeProxy(Constructor<?> constructor) {
+        // JSR-318 (Interceptors 1.2), 5.1
+        // Around-invoke methods declared on the target class are invoked after
+        // the around-invoke methods of interceptor classes
+        Method targetMethod = character.getInterceptorMethod(InterceptorType.AROUND_INVOKE);
+        if (targetMethod == null && world.getInterceptorChain(
+                InterceptorRequest.of(InterceptorType.AROUND_INVOKE).matchAll()).length() == 0) {
+            return null;
+        }
+
+        List<Method> methods = new ArrayList<>();
+        List<InterceptorChain> chains = new ArrayList<>();
+        for (Method method : ClassMetadataReader.of(constructor.getDeclaringClass()).readInstanceMethods()) {
+            if (!isBusinessMethod(method)) {
+                if (isNotOverridable(method)
+                        && !new ExecutableMetadataReader(method).readInterceptorBindings().isEmpty()
+                        && getInterceptorChain(InterceptorType.AROUND_INVOKE, method).length() > 0) {
+                    throw new CharacterMetadataException(String.format(
+                            "Method '%s' has AroundInvoke interceptors, but it can't be intercepted: "
+                                    + "only public or protected non-final methods can be overridden by a proxy",
+                            method));
+                }
+
+                continue;
+            }
+
+            InterceptorChain chain = getInterceptorChain(InterceptorType.AROUND_INVOKE, method);
+            if (targetMethod != null) {
+                List<Interceptor> interceptors = new ArrayList<>(chain.getInterceptors());
+                interceptors.add(new TargetMethodInvoke(targetMethod));
+                chain = new InterceptorChain(interceptors);
+            }
+
+            if (chain.length() > 0) {
+                methods.add(method);
+                chains.add(chain);
+            }
+        }
+
+        if (methods.isEmpty()) {
+            return null;
+        }
+
+        AroundInvokeProxy current = proxy;
+        if (current != null && current.constructor == constructor && current.methods.equals(methods)) {
+            for (int i = 0; i < chains.size(); i++) {
+                current.handlers.get(i).setChain(chains.get(i));
+            }
+
+            return current;
+        }
+
+        List<AroundInvokeMethod> handlers = new ArrayList<>(methods.size());
+        for (int i = 0; i < methods.size(); i++) {
+            handlers.add(new AroundInvokeMethod(methods.get(i), i, chains.get(i)));
+        }
+
+        Class<?> proxyClass;
+        try {
+            proxyClass = ProxyGenerator.generate(constructor, methods, handlers);
+        } catch (IllegalArgumentException e) {
+            throw new CharacterMetadataException(String.format(
+                    "Class '%s' has AroundInvoke interceptors, but it can't be intercepted: %s",
+                    constructor.getDeclaringClass().getName(), e.getMessage()));
+        }
+
+        try {
+            current = new AroundInvokeProxy(constructor, methods, handlers, proxyClass,
+                    Accessors.of(proxyClass.getConstructor(constructor.getParameterTypes())));
+        } catch (NoSuchMethodException e) {
+            // proxy is generated with exactly the same constructor
+            throw new IllegalStateException(e);
+        }
+
+        proxy = current;
+        return current;
+    }
+
+    /**
+     * Final and package-private methods which would be business methods if a proxy could override them
+     */
+    private boolean isNotOverridable(Method method) {
+        int modifiers = method.getModifiers();
+        return !Modifier.isPrivate(modifiers)
+                && !Modifier.isAbstract(modifiers)
+                && !method.isBridge()
+                && !method.isSynthetic()
+                && (Modifier.isFinal(modifiers) || !(Modifier.isPublic(modifiers) || Modifier.isProtected(modifiers)))
+                && !isCallback(method);
+    }
+
+    /**
+     * Methods which can be intercepted by AroundInvoke interceptors
+     */
+    private boolean isBusinessMethod(Method method) {
+        int modifiers = method.getModifiers();
+        if (!(Modifier.isPublic(modifiers) || Modifier.isProtected(modifiers))
+                || Modifier.isFinal(modifiers)
+                || Modifier.isAbstract(modifiers)
+                || method.isBridge()
+                || method.isSynthetic()) {
+            return false;
+        }
+
+        return !isCallback(method);
+    }
+
+    /**
+     * Injection and lifecycle callbacks are not business methods
+     */
+    private boolean isCallback(Method method) {
+        if (new ExecutableMetadataReader(method).readInjectable()) {
+            return true;
+        }
+
+        for (InterceptorType type : Arrays.asList(InterceptorType.AROUND_CONSTRUCT, InterceptorType.AROUND_INVOKE,
+                InterceptorType.POST_CONSTRUCT, InterceptorType.PRE_DESTROY)) {
+            if (method.equals(character.getInterceptorMethod(type))) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Generated subclass intercepting business methods
+     */
+    private static final class AroundInvokeProxy {
+
+        final Constructor<?> constructor;
+        final List<Method> methods;
+        final List<AroundInvokeMethod> handlers;
+        final Class<?> proxyClass;
+        final ConstructorAccessor<?> constructorAccessor;
+
+        AroundInvokeProxy(Constructor<?> constructor,
+                          List<Method> methods,
+                          List<AroundInvokeMethod> handlers,
+                          Class<?> proxyClass,
+                          ConstructorAccessor<?> constructorAccessor) {
+            this.constructor = constructor;
+            this.methods = methods;
+            this.handlers = handlers;
+            this.proxyClass = proxyClass;
+            this.constructorAccessor = constructorAccessor;
+        }
+    }
+
+    /**
+     * Everything needed to create an object which doesn't change between instantiations:
+     * injection points of the constructor, generated factory, proxy and interceptor chains.
+     * Only dependencies themselves are resolved on each instantiation.
+     */
+    private final class ConstructionRecipe {
+
+        final int generation;
+        final boolean usingGeneratedFactories;
+
+        final Constructor<?> constructor;
+        final InjectionPoint[] constructorInjectionPoints;
+        final ObjectFactory<?> factory;
+        final AroundInvokeProxy proxy;
+        // dependencies of the constructor followed by dependencies of the members, only in a sealed world
+        final Provider<?>[] boundDependencies;
+
+        final Method postConstructMethod;
+        final InterceptorChain aroundConstructChain;
+        final InterceptorChain postConstructChain;
+        final InterceptorChain preDestroyChain;
+
+        ConstructionRecipe(Constructor<?> constructor) {
+            // generation is read first, so if containers are registered while building,
+            // the recipe will be rebuilt on the next instantiation
+            this.generation = world.getGeneration();
+            this.usingGeneratedFactories = world.isUsingGeneratedFactories();
+
+            this.constructor = constructor;
+            this.constructorInjectionPoints = Injector.getInjectionPoints(new ExecutableMetadataReader(constructor));
+            this.factory = usingGeneratedFactories
+                    ? InjectionPlan.of(constructor.getDeclaringClass()).getObjectFactory(constructor)
+                    : null;
+
+            // JSR-318 (Interceptors 1.2), 3.3
+            // The set of interceptor bindings for a method or constructor
+            // are those applied to the target class combined with those
+            // applied at method level or constructor level.
+
+            // JSR-318 (Interceptors 1.2), 3.3
+            // An interceptor binding declared on a method or constructor
+            // replaces an interceptor binding of the same type declared
+            // at class level or inherited from a superclass
+
+            this.aroundConstructChain = getInterceptorChain(InterceptorType.AROUND_CONSTRUCT, constructor);
+            this.postConstructMethod = character.getInterceptorMethod(InterceptorType.POST_CONSTRUCT);
+            this.postConstructChain = getInterceptorChain(InterceptorType.POST_CONSTRUCT, postConstructMethod);
+            this.preDestroyChain = getInterceptorChain(
+                    InterceptorType.PRE_DESTROY, character.getInterceptorMethod(InterceptorType.PRE_DESTROY));
+
+            this.proxy = getAroundInvokeProxy(constructor);
+
+            // injection points are bound in order of getInjectionPoints(), which uses the character's constructor
+            this.boundDependencies = constructor == character.getConstructor()
+                    ? world.getBoundDependencies(DefaultClassContainer.this)
+                    : null;
+        }
+    }
 }
@@ -0,0 +1,175 @@
+package ahodanenok.di.container.impl;
+
+import ahodanenok.di.WorldInternals;
+import ahodanenok.di.augment.Augmentation;
+import ahodanenok.di.character.GeneratedCharacter;
+import ahodanenok.di.container.InjectableContainer;
+import ahodanenok.di.exception.ObjectRetrievalException;
+import ahodanenok.di.inject.DependencyResolver;
+import ahodanenok.di.inject.InjectionPoint;
+import ahodanenok.di.inject.WorldDependencyResolver;
+import ahodanenok.di.interceptor.ChainedInvocationContext;
+import ahodanenok.di.interceptor.InterceptorChain;
+import ahodanenok.di.interceptor.InterceptorInstances;
+import ahodanenok.di.interceptor.InterceptorRequest;
+import ahodanenok.di.interceptor.InterceptorType;
+import ahodanenok.di.interceptor.context.ConstructorInvocationContext;
+import ahodanenok.di.interceptor.context.MethodInvocationContext;
+import ahodanenok.di.interceptor.context.ObjectInvocationContext;
+import ahodanenok.di.scope.Scope;
+import ahodanenok.di.util.ReflectionUtils;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Container for objects of a {@link GeneratedCharacter}.
+ *
+ * Objects are created and injected by the generated code,
+ * augmentation can't replace the constructor, because it's chosen at compile time.
+ */
+public class DefaultGeneratedContainer<T> implements InjectableContainer<T> {
+
+    private final WorldInternals world;
+    private final GeneratedCharacter<T> character;
+    private final DependencyResolver resolver;
+
+    private final Class<T> objectClass;
+    private final Set<String> names;
+    private final Scope<T> scope;
+    private final TargetInterceptorInstances targetInterceptorInstances = new TargetInterceptorInstances();
+
+    public DefaultGeneratedContainer(WorldInternals world, GeneratedCharacter<T> character) {
+        this.world = world;
+        this.character = character;
+        this.resolver = new WorldDependencyResolver(world);
+
+        this.objectClass = character.getObjectClass();
+        this.names = character.getNames();
+        this.scope = character.getScope();
+    }
+
+    @Override
+    public Class<T> getObjectClass() {
+        return objectClass;
+    }
+
+    @Override
+    public Set<String> getNames() {
+        return names;
+    }
+
+    @Override
+    public List<Annotation> getQualifiers() {
+        return character.getQualifiers();
+    }
+
+    @Override
+    public List<InjectionPoint> getInjectionPoints() {
+        return character.getInjectionPoints();
+    }
+
+    @Override
+    public T getObject() {
+        return scope.getObject(this::doGetObject);
+    }
+
+    private T doGetObject() {
+        Augmentation augmentation = world.requestAugmentation();
+        Object[] args = character.resolveArguments(resolver);
+        InterceptorInstances interceptorInstances = new InterceptorInstances();
+
+        try {
+            Object instance;
+            InterceptorChain aroundConstructChain = getInterceptorChain(InterceptorType.AROUND_CONSTRUCT);
+            if (aroundConstructChain.length() > 0) {
+                ConstructorInvocationContext constructorContext =
+                        new ConstructorInvocationContext(character.getConstructor(), this::newInstance);
+                constructorContext.setParameters(args);
+                constructorContext.setInterceptorInstances(interceptorInstances);
+                instance = aroundConstructChain.invoke(constructorContext);
+            } else {
+                instance = character.newInstance(args);
+            }
+
+            if (getInterceptorChain(InterceptorType.PRE_DESTROY).length() > 0) {
+                targetInterceptorInstances.bind(instance, interceptorInstances);
+            }
+            instance = augmentation.augmentAfterInstantiated(character, instance);
+            character.injectMembers(objectClass.cast(instance), resolver);
+            instance = augmentation.augmentAfterInjected(character, instance);
+
+            invokeInterceptorMethod(InterceptorType.POST_CONSTRUCT, instance, interceptorInstances);
+
+            return objectClass.cast(augmentation.augmentAfterConstructed(character, instance));
+        } catch (Exception e) {
+            throw new ObjectRetrievalException(
+                    String.format("Can't get object of type '%s'", objectClass.getName()), e);
+        }
+    }
+
+    private T newInstance(Object[] args) throws InvocationTargetException {
+        try {
+            return character.newInstance(args);
+        } catch (Exception e) {
+            // the same as if the constructor was invoked with reflection
+            throw new InvocationTargetException(e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (character.hasInterceptorMethod(InterceptorType.PRE_DESTROY)
+                || getInterceptorChain(InterceptorType.PRE_DESTROY).length() > 0) {
+            try {
+                // the same interceptor instances as when the object was constructed
+                T instance = getObject();
+                invokeInterceptorMethod(
+                        InterceptorType.PRE_DESTROY, instance, targetInterceptorInstances.unbind(instance));
+            } catch (Exception e) {
+                // todo: exception+message
+                throw new RuntimeException(e);
+            }
+        }
+
+        scope.destroy();
+    }
+
+    private void invokeInterceptorMethod(InterceptorType type,
+                                         Object instance,
+                                         InterceptorInstances interceptorInstances) throws Exception {
+        InterceptorChain chain = getInterceptorChain(type);
+        if (chain.length() > 0) {
+            ChainedInvocationContext context;
+            Method interceptorMethod = character.getInterceptorMethod(type);
+            if (interceptorMethod != null) {
+                context = new MethodInvocationContext(instance, interceptorMethod);
+            } else {
+                context = new ObjectInvocationContext(instance);
+            }
+
+            context.setInterceptorInstances(interceptorInstances);
+            chain.invoke(context);
+        } else {
+            character.invokeInterceptorMethod(type, objectClass.cast(instance));
+        }
+    }
+
+    private InterceptorChain getInterceptorChain(InterceptorType type) {
+        if (character.getInterceptors().isEmpty()
+                && character.getInterceptorBindings().isEmpty()
+                && character.getInterceptorBindings(type).isEmpty()) {
+            return new InterceptorChain();
+        }
+
+        return world.getInterceptorChain(
+                InterceptorRequest.of(type)
+                        .withClasses(character.getInterceptors())
+                        .withBindings(ReflectionUtils.combineAnnotations(
+                                character.getInterceptorBindings(type),
+                                character.getInterceptorBindings())));
+    }
+}
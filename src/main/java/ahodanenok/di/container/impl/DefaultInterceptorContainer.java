@@ -1,6 +1,9 @@
 package ahodanenok.di.container.impl;
 
 import ahodanenok.di.WorldInternals;
+import ahodanenok.di.access.Accessors;
+import ahodanenok.di.inject.InjectionPlan;
+import ahodanenok.di.inject.InjectionPoint;
 import ahodanenok.di.inject.Injector;
 import ahodanenok.di.character.InterceptorCharacter;
 import ahodanenok.di.container.InterceptorContainer;
@@ -8,11 +11,14 @@ import ahodanenok.di.exception.ObjectRetrievalException;
 import ahodanenok.di.interceptor.Interceptor;
 import ahodanenok.di.interceptor.InterceptorInvoke;
 import ahodanenok.di.interceptor.InterceptorType;
-import ahodanenok.di.util.ReflectionUtils;
+import ahodanenok.di.metadata.ExecutableMetadataReader;
+import ahodanenok.di.scope.Scope;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 public class DefaultInterceptorContainer<T> implements InterceptorContainer<T> {
@@ -21,11 +27,16 @@ public class DefaultInterceptorContainer<T> implements InterceptorContainer<T> {
     private final WorldInternals world;
     private final InterceptorCharacter<T> character;
     private final Injector injector;
+    private final Scope<T> scope;
+
+    // constructor can't change after registration, so its injection points are read once
+    private volatile InjectionPoint[] constructorInjectionPoints;
 
     public DefaultInterceptorContainer(WorldInternals world, InterceptorCharacter<T> character) {
         this.world = world;
         this.character = character;
         this.injector = new Injector(world);
+        this.scope = character.getScope();
     }
 
     @Override
@@ -48,13 +59,32 @@ public class DefaultInterceptorContainer<T> implements InterceptorContainer<T> {
         return new InterceptorInvoke(this, method);
     }
 
+    @Override
+    public List<InjectionPoint> getInjectionPoints() {
+        List<InjectionPoint> injectionPoints = new ArrayList<>(Arrays.asList(getConstructorInjectionPoints()));
+        for (InjectionPlan.InjectableMember member : InjectionPlan.of(getObjectClass()).getMembers()) {
+            injectionPoints.addAll(member.getInjectionPoints());
+        }
+
+        return injectionPoints;
+    }
+
+    /**
+     * Interceptor instance according to the scope of the interceptor,
+     * interceptors are invoked on instances associated with the intercepted target
+     * @see ahodanenok.di.interceptor.InterceptorInstances
+     */
     @Override
     public T getObject() {
+        return scope.getObject(this::doGetObject);
+    }
+
+    private T doGetObject() {
         Constructor<T> constructor = character.getConstructor();
-        Object[] args = injector.resolveArguments(constructor);
+        Object[] args = injector.resolveArguments(getConstructorInjectionPoints());
 
         try {
-            T instance = ReflectionUtils.newInstance(constructor, args);
+            T instance = Accessors.of(constructor).newInstance(args);
 
             injector.inject(instance);
 
@@ -64,4 +94,14 @@ public class DefaultInterceptorContainer<T> implements InterceptorContainer<T> {
                     String.format("Can't get interceptor of type '%s'", getObjectClass().getName()), e);
         }
     }
+
+    private InjectionPoint[] getConstructorInjectionPoints() {
+        InjectionPoint[] injectionPoints = constructorInjectionPoints;
+        if (injectionPoints == null) {
+            injectionPoints = Injector.getInjectionPoints(new ExecutableMetadataReader(character.getConstructor()));
+            constructorInjectionPoints = injectionPoints;
+        }
+
+        return injectionPoints;
+    }
 }
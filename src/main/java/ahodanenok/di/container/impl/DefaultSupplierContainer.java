@@ -0,0 +1,103 @@
+package ahodanenok.di.container.impl;
+
+import ahodanenok.di.WorldInternals;
+import ahodanenok.di.augment.Augmentation;
+import ahodanenok.di.character.SupplierCharacter;
+import ahodanenok.di.container.InjectableContainer;
+import ahodanenok.di.exception.ObjectRetrievalException;
+import ahodanenok.di.inject.DependencyResolver;
+import ahodanenok.di.inject.WorldDependencyResolver;
+import ahodanenok.di.scope.Scope;
+
+import java.lang.annotation.Annotation;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Container for objects of a {@link SupplierCharacter}.
+ *
+ * Objects are created and injected by the factory of the character in one step,
+ * so augmentation sees an object only once it's been fully created.
+ * Callbacks of the character are invoked where a class container invokes
+ * its PostConstruct and PreDestroy interceptors.
+ */
+public class DefaultSupplierContainer<T> implements InjectableContainer<T> {
+
+    private final WorldInternals world;
+    private final SupplierCharacter<T> character;
+    private final DependencyResolver resolver;
+
+    private final Class<T> objectClass;
+    private final Set<String> names;
+    private final Scope<T> scope;
+
+    public DefaultSupplierContainer(WorldInternals world, SupplierCharacter<T> character) {
+        this.world = world;
+        this.character = character;
+        this.resolver = new WorldDependencyResolver(world);
+
+        this.objectClass = character.getObjectClass();
+        this.names = character.getNames();
+        this.scope = character.getScope();
+    }
+
+    @Override
+    public Class<T> getObjectClass() {
+        return objectClass;
+    }
+
+    @Override
+    public Set<String> getNames() {
+        return names;
+    }
+
+    @Override
+    public List<Annotation> getQualifiers() {
+        return character.getQualifiers();
+    }
+
+    @Override
+    public boolean isEager() {
+        return character.isEager();
+    }
+
+    @Override
+    public T getObject() {
+        return scope.getObject(this::doGetObject);
+    }
+
+    private T doGetObject() {
+        Augmentation augmentation = world.requestAugmentation();
+
+        try {
+            Object instance = character.getFactory().apply(resolver);
+            if (instance == null) {
+                throw new IllegalStateException("Factory returned null");
+            }
+
+            instance = augmentation.augmentAfterInstantiated(character, instance);
+            instance = augmentation.augmentAfterInjected(character, instance);
+
+            Consumer<? super T> onConstruct = character.getOnConstruct();
+            if (onConstruct != null) {
+                onConstruct.accept(objectClass.cast(instance));
+            }
+
+            return objectClass.cast(augmentation.augmentAfterConstructed(character, instance));
+        } catch (Exception e) {
+            throw new ObjectRetrievalException(
+                    String.format("Can't get object of type '%s'", objectClass.getName()), e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        Consumer<? super T> onDestroy = character.getOnDestroy();
+        if (onDestroy != null) {
+            onDestroy.accept(getObject());
+        }
+
+        scope.destroy();
+    }
+}
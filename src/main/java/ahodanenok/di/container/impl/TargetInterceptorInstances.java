@@ -0,0 +1,99 @@
+package ahodanenok.di.container.impl;
+
+import ahodanenok.di.access.ProxyObject;
+import ahodanenok.di.interceptor.InterceptorInstances;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Interceptor instances associated with the targets created by a container,
+ * so PreDestroy interceptors are invoked on the same instances as the interceptors of the other lifecycle events.
+ *
+ * A proxy keeps its interceptor instances as its state, any other target is remembered by identity
+ * and only if it's going to be intercepted on destruction. Targets are referenced weakly,
+ * so those discarded by their scope without being destroyed can still be collected.
+ */
+final class TargetInterceptorInstances {
+
+    private final Map<TargetKey, InterceptorInstances> instances = new HashMap<>();
+    private final ReferenceQueue<Object> collected = new ReferenceQueue<>();
+    private final Lock lock = new ReentrantLock();
+
+    void bind(Object target, InterceptorInstances interceptorInstances) {
+        if (target instanceof ProxyObject) {
+            return;
+        }
+
+        lock.lock();
+        try {
+            expunge();
+            instances.put(new TargetKey(target, collected), interceptorInstances);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Interceptor instances associated with the target being destroyed,
+     * new instances if the target wasn't remembered
+     */
+    InterceptorInstances unbind(Object target) {
+        if (target instanceof ProxyObject) {
+            Object state = ((ProxyObject) target).getProxyState();
+            return state instanceof InterceptorInstances ? (InterceptorInstances) state : new InterceptorInstances();
+        }
+
+        InterceptorInstances interceptorInstances;
+        lock.lock();
+        try {
+            expunge();
+            interceptorInstances = instances.remove(new TargetKey(target, null));
+        } finally {
+            lock.unlock();
+        }
+
+        return interceptorInstances != null ? interceptorInstances : new InterceptorInstances();
+    }
+
+    private void expunge() {
+        Reference<?> key;
+        while ((key = collected.poll()) != null) {
+            instances.remove(key);
+        }
+    }
+
+    private static final class TargetKey extends WeakReference<Object> {
+
+        private final int hash;
+
+        TargetKey(Object target, ReferenceQueue<Object> queue) {
+            super(target, queue);
+            this.hash = System.identityHashCode(target);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            }
+
+            if (!(obj instanceof TargetKey)) {
+                return false;
+            }
+
+            Object target = get();
+            return target != null && target == ((TargetKey) obj).get();
+        }
+    }
+}
@@ -1,7 +1,7 @@
 package ahodanenok.di.event;
 
+import ahodanenok.di.access.Accessors;
 import ahodanenok.di.container.Container;
-import ahodanenok.di.util.ReflectionUtils;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
@@ -25,7 +25,7 @@ public final class EventHandler {
     public void invoke(Object event) {
         Object instance = container.getObject();
         try {
-            ReflectionUtils.invoke(method, instance, event);
+            Accessors.of(method).invoke1(instance, event);
         } catch (InvocationTargetException e) {
             // todo: exception + message
             throw new RuntimeException(e);
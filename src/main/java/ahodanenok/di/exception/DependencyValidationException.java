@@ -0,0 +1,25 @@
+package ahodanenok.di.exception;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Dependencies of objects in the world can't be injected
+ */
+public class DependencyValidationException extends RuntimeException {
+
+    private final List<String> problems;
+
+    public DependencyValidationException(List<String> problems) {
+        super(String.format("Found %d problem(s) with dependencies:%n - %s",
+                problems.size(), String.join(String.format("%n - "), problems)));
+        this.problems = Collections.unmodifiableList(problems);
+    }
+
+    /**
+     * Description of each dependency which can't be injected
+     */
+    public List<String> getProblems() {
+        return problems;
+    }
+}
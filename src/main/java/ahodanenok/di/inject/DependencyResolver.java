@@ -0,0 +1,38 @@
+package ahodanenok.di.inject;
+
+import javax.inject.Provider;
+import java.lang.annotation.Annotation;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Resolves dependencies of objects which are created by code
+ * knowing their dependencies in advance instead of discovering them with reflection.
+ *
+ * Unlike {@link Injector} there is no {@link InjectionPoint} for such dependencies,
+ * so they can't be intercepted with {@link AroundInject} interceptors.
+ */
+public interface DependencyResolver {
+
+    /**
+     * Object of the given type with all the given qualifiers
+     * @throws ahodanenok.di.exception.DependencyLookupException if there is no such object or it's ambiguous
+     */
+    <T> T get(Class<T> type, Annotation... qualifiers);
+
+    /**
+     * Object of the given type with all the given qualifiers, if there is one
+     */
+    <T> Optional<T> optional(Class<T> type, Annotation... qualifiers);
+
+    /**
+     * All objects of the given type with all the given qualifiers
+     */
+    <T> List<T> all(Class<T> type, Annotation... qualifiers);
+
+    /**
+     * Provider which retrieves an object every time {@link Provider#get()} is called,
+     * the object is looked up again only after new containers are registered in the world
+     */
+    <T> Provider<T> provider(Class<T> type, Annotation... qualifiers);
+}
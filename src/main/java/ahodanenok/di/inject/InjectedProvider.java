@@ -0,0 +1,80 @@
+package ahodanenok.di.inject;
+
+import ahodanenok.di.ObjectHandle;
+import ahodanenok.di.ObjectRequest;
+import ahodanenok.di.WorldInternals;
+import ahodanenok.di.exception.DependencyInjectionException;
+import ahodanenok.di.interceptor.InterceptorChain;
+import ahodanenok.di.interceptor.InterceptorRequest;
+import ahodanenok.di.interceptor.InterceptorType;
+import ahodanenok.di.interceptor.context.InjectionPointInvocationContext;
+
+import javax.inject.Provider;
+
+/**
+ * Provider injected into an injection point, retrieves objects through a handle of the world,
+ * so its request is resolved once and not on every call.
+ * As with any other dependency, the injection point is current and AroundInject interceptors are invoked
+ * while an object is retrieved.
+ *
+ * @see ahodanenok.di.World#handle(ObjectRequest)
+ */
+final class InjectedProvider<T> implements Provider<T> {
+
+    private final WorldInternals world;
+    private final InjectionPoint injectionPoint;
+    private final ObjectHandle<T> handle;
+    private volatile Chain aroundInjectChain;
+
+    InjectedProvider(WorldInternals world, InjectionPoint injectionPoint, ObjectRequest<T> request) {
+        this.world = world;
+        this.injectionPoint = injectionPoint;
+        this.handle = world.handle(request);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked") // interceptors must return object of the requested type
+    public T get() {
+        InterceptorChain chain = getAroundInjectChain();
+
+        world.pushInjectionPoint(injectionPoint);
+        try {
+            if (chain.length() == 0) {
+                return handle.get();
+            }
+
+            return (T) chain.invoke(new InjectionPointInvocationContext(injectionPoint, handle::get));
+        } catch (Exception e) {
+            throw new DependencyInjectionException(
+                    "Dependency lookup failed during processing interceptor chain", e);
+        } finally {
+            world.popInjectionPoint();
+        }
+    }
+
+    /**
+     * Chain is requested from the world again only after new containers are registered
+     */
+    private InterceptorChain getAroundInjectChain() {
+        int generation = world.getGeneration();
+        Chain current = aroundInjectChain;
+        if (current == null || current.generation != generation) {
+            current = new Chain(generation,
+                    world.getInterceptorChain(InterceptorRequest.of(InterceptorType.AROUND_INJECT).matchAll()));
+            aroundInjectChain = current;
+        }
+
+        return current.chain;
+    }
+
+    private static final class Chain {
+
+        final int generation;
+        final InterceptorChain chain;
+
+        Chain(int generation, InterceptorChain chain) {
+            this.generation = generation;
+            this.chain = chain;
+        }
+    }
+}
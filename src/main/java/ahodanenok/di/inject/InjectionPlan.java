@@ -0,0 +1,165 @@
+package ahodanenok.di.inject;
+
+import ahodanenok.di.access.Accessors;
+import ahodanenok.di.access.FieldAccessor;
+import ahodanenok.di.access.MethodAccessor;
+import ahodanenok.di.access.ObjectFactory;
+import ahodanenok.di.access.ObjectFactoryGenerator;
+import ahodanenok.di.metadata.ClassMetadataReader;
+import ahodanenok.di.metadata.ExecutableMetadataReader;
+import ahodanenok.di.metadata.FieldMetadataReader;
+import ahodanenok.di.util.ReflectionUtils;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
+/**
+ * Injectable instance members of a class in the order they must be injected:
+ * starting from the topmost superclass, fields of a class are injected before its methods.
+ *
+ * Plan depends only on the class, so it is computed once and shared by all worlds.
+ */
+public final class InjectionPlan {
+
+    private static final ClassValue<InjectionPlan> PLANS = new ClassValue<InjectionPlan>() {
+        @Override
+        protected InjectionPlan computeValue(Class<?> type) {
+            return new InjectionPlan(type);
+        }
+    };
+
+    public static InjectionPlan of(Class<?> clazz) {
+        return PLANS.get(clazz);
+    }
+
+    private final Class<?> clazz;
+    private final List<InjectableMember> members;
+    private final ConcurrentMap<Constructor<?>, Optional<ObjectFactory<?>>> factories = new ConcurrentHashMap<>();
+
+    private InjectionPlan(Class<?> clazz) {
+        this.clazz = clazz;
+
+        Map<Class<?>, List<Method>> methodsByClass = ClassMetadataReader.of(clazz).readInstanceMethods()
+                .stream().collect(Collectors.groupingBy(Method::getDeclaringClass));
+
+        List<InjectableMember> members = new ArrayList<>();
+        for (Class<?> c : ReflectionUtils.getInheritanceChain(clazz)) {
+            for (Field f : c.getDeclaredFields()) {
+                if (Modifier.isStatic(f.getModifiers())) {
+                    continue;
+                }
+
+                FieldMetadataReader metadataReader = new FieldMetadataReader(f);
+                if (metadataReader.readInjectable()) {
+                    members.add(new InjectableMember(f, new InjectionPoint[] {
+                            new InjectionPoint(f, metadataReader.readQualifiers()) }));
+                }
+            }
+
+            for (Method m : methodsByClass.getOrDefault(c, Collections.emptyList())) {
+                ExecutableMetadataReader metadataReader = new ExecutableMetadataReader(m);
+                if (metadataReader.readInjectable()) {
+                    InjectionPoint[] injectionPoints = new InjectionPoint[m.getParameterCount()];
+                    for (int i = 0; i < injectionPoints.length; i++) {
+                        injectionPoints[i] = new InjectionPoint(m, i, metadataReader.readParameterQualifiers(i));
+                    }
+
+                    members.add(new InjectableMember(m, injectionPoints));
+                }
+            }
+        }
+
+        this.members = Collections.unmodifiableList(members);
+    }
+
+    public Class<?> getInjectedClass() {
+        return clazz;
+    }
+
+    /**
+     * Injectable fields and methods in the injection order
+     */
+    public List<InjectableMember> getMembers() {
+        return members;
+    }
+
+    /**
+     * Factory creating objects with the given constructor of the class and injecting members of this plan.
+     * Factory is generated once for the constructor and shared by all worlds.
+     *
+     * @return factory or null if it can't be generated for this class
+     * @see ObjectFactoryGenerator
+     */
+    @SuppressWarnings("unchecked") // factory was generated for the constructor of class T
+    public <T> ObjectFactory<T> getObjectFactory(Constructor<T> constructor) {
+        if (constructor.getDeclaringClass() != clazz) {
+            throw new IllegalArgumentException(String.format(
+                    "Constructor '%s' doesn't belong to class '%s'", constructor, clazz.getName()));
+        }
+
+        return (ObjectFactory<T>) factories.computeIfAbsent(constructor, c -> Optional.ofNullable(
+                ObjectFactoryGenerator.generate(c, members.stream()
+                        .map(InjectableMember::getMember)
+                        .collect(Collectors.toList()))))
+                .orElse(null);
+    }
+
+    /**
+     * Field or method annotated with @Inject
+     */
+    public static final class InjectableMember {
+
+        private final Member member;
+        private final InjectionPoint[] injectionPoints;
+        private final FieldAccessor fieldAccessor;
+        private final MethodAccessor methodAccessor;
+
+        private InjectableMember(Field field, InjectionPoint[] injectionPoints) {
+            this.member = field;
+            this.injectionPoints = injectionPoints;
+            this.fieldAccessor = Accessors.of(field);
+            this.methodAccessor = null;
+        }
+
+        private InjectableMember(Method method, InjectionPoint[] injectionPoints) {
+            this.member = method;
+            this.injectionPoints = injectionPoints;
+            this.fieldAccessor = null;
+            this.methodAccessor = Accessors.of(method);
+        }
+
+        public boolean isField() {
+            return member instanceof Field;
+        }
+
+        public Member getMember() {
+            return member;
+        }
+
+        /**
+         * Injection point of a field or injection points of method parameters in order of declaration
+         */
+        public List<InjectionPoint> getInjectionPoints() {
+            return Collections.unmodifiableList(Arrays.asList(injectionPoints));
+        }
+
+        InjectionPoint[] injectionPoints() {
+            return injectionPoints;
+        }
+
+        FieldAccessor fieldAccessor() {
+            return fieldAccessor;
+        }
+
+        MethodAccessor methodAccessor() {
+            return methodAccessor;
+        }
+    }
+}
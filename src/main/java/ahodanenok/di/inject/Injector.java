@@ -2,19 +2,17 @@ package ahodanenok.di.inject;
 
 import ahodanenok.di.ObjectRequest;
 import ahodanenok.di.WorldInternals;
+import ahodanenok.di.access.ObjectFactory;
 import ahodanenok.di.exception.DependencyInjectionException;
 import ahodanenok.di.interceptor.InterceptorChain;
 import ahodanenok.di.interceptor.InterceptorRequest;
 import ahodanenok.di.interceptor.InterceptorType;
 import ahodanenok.di.interceptor.context.InjectionPointInvocationContext;
 import ahodanenok.di.metadata.ExecutableMetadataReader;
-import ahodanenok.di.metadata.FieldMetadataReader;
-import ahodanenok.di.util.ReflectionUtils;
 
 import javax.inject.Provider;
 import java.lang.reflect.*;
 import java.util.*;
-import java.util.stream.Collectors;
 
 public final class Injector {
 
@@ -25,29 +23,58 @@ public final class Injector {
     }
 
     public void inject(Object instance) throws Exception {
-        Map<Class<?>, List<Method>> methodsByClass = ReflectionUtils.getInstanceMethods(instance.getClass())
-                .stream().collect(Collectors.groupingBy(Method::getDeclaringClass));
-
-        for (Class<?> clazz : ReflectionUtils.getInheritanceChain(instance.getClass())) {
-            for (Field f : clazz.getDeclaredFields()) {
-                if (Modifier.isStatic(f.getModifiers())) {
-                    continue;
-                }
+        inject(instance, null, 0);
+    }
 
-                FieldMetadataReader metadataReader = new FieldMetadataReader(f);
-                if (metadataReader.readInjectable()) {
-                    InjectionPoint injectionPoint = new InjectionPoint(f, metadataReader.readQualifiers());
-                    ReflectionUtils.setField(f, instance, resolveDependency(injectionPoint));
-                }
+    /**
+     * Inject members of an instance taking dependencies bound beforehand from the given array
+     * @param bound dependencies in order of injection points of the members starting at the offset,
+     *              null elements are resolved as usual
+     * @see ahodanenok.di.WorldInternals#getBoundDependencies(ahodanenok.di.container.InjectableContainer)
+     */
+    public void inject(Object instance, Provider<?>[] bound, int offset) throws Exception {
+        int i = offset;
+        for (InjectionPlan.InjectableMember member : InjectionPlan.of(instance.getClass()).getMembers()) {
+            if (member.isField()) {
+                member.fieldAccessor().set(instance, resolveDependency(member.injectionPoints()[0], bound, i));
+            } else {
+                member.methodAccessor().invoke(instance, resolveArguments(member.injectionPoints(), bound, i));
             }
 
-            for (Method m : methodsByClass.getOrDefault(clazz, Collections.emptyList())) {
-                ExecutableMetadataReader metadataReader = new ExecutableMetadataReader(m);
-                if (metadataReader.readInjectable()) {
-                    ReflectionUtils.invoke(m, instance, resolveArguments(metadataReader));
-                }
+            i += member.injectionPoints().length;
+        }
+    }
+
+    /**
+     * Inject members of an instance using a factory generated for its class
+     * @see InjectionPlan#getObjectFactory(Constructor)
+     */
+    public void inject(Object instance, ObjectFactory<?> factory) throws Exception {
+        inject(instance, factory, null, 0);
+    }
+
+    /**
+     * Inject members of an instance using a factory generated for its class
+     * and taking dependencies bound beforehand from the given array
+     * @see #inject(Object, Provider[], int)
+     */
+    public void inject(Object instance, ObjectFactory<?> factory, Provider<?>[] bound, int offset) throws Exception {
+        List<InjectionPlan.InjectableMember> members = InjectionPlan.of(instance.getClass()).getMembers();
+
+        Object[] values = new Object[members.size()];
+        int index = offset;
+        for (int i = 0; i < values.length; i++) {
+            InjectionPlan.InjectableMember member = members.get(i);
+            if (member.isField()) {
+                values[i] = resolveDependency(member.injectionPoints()[0], bound, index);
+            } else {
+                values[i] = resolveArguments(member.injectionPoints(), bound, index);
             }
+
+            index += member.injectionPoints().length;
         }
+
+        factory.inject(instance, values);
     }
 
     public Object[] resolveArguments(Executable executable) {
@@ -55,13 +82,38 @@ public final class Injector {
     }
 
     public Object[] resolveArguments(ExecutableMetadataReader metadataReader) {
+        return resolveArguments(getInjectionPoints(metadataReader));
+    }
 
-        Object[] args = new Object[metadataReader.getExecutable().getParameterCount()];
-        for (int i = 0; i < args.length; i++) {
-            InjectionPoint injectionPoint = new InjectionPoint(
+    /**
+     * Injection points for each parameter of an executable
+     */
+    public static InjectionPoint[] getInjectionPoints(ExecutableMetadataReader metadataReader) {
+        InjectionPoint[] injectionPoints = new InjectionPoint[metadataReader.getExecutable().getParameterCount()];
+        for (int i = 0; i < injectionPoints.length; i++) {
+            injectionPoints[i] = new InjectionPoint(
                     metadataReader.getExecutable(), i, metadataReader.readParameterQualifiers(i));
+        }
+
+        return injectionPoints;
+    }
+
+    /**
+     * Resolve arguments for the given parameter injection points,
+     * allows to read metadata of an executable once and reuse it
+     */
+    public Object[] resolveArguments(InjectionPoint[] injectionPoints) {
+        return resolveArguments(injectionPoints, null, 0);
+    }
 
-            args[i] = resolveDependency(injectionPoint);
+    /**
+     * Resolve arguments for the given parameter injection points taking dependencies bound beforehand from the given array
+     * @see #inject(Object, Provider[], int)
+     */
+    public Object[] resolveArguments(InjectionPoint[] injectionPoints, Provider<?>[] bound, int offset) {
+        Object[] args = new Object[injectionPoints.length];
+        for (int i = 0; i < args.length; i++) {
+            args[i] = resolveDependency(injectionPoints[i], bound, offset + i);
         }
 
         return args;
@@ -71,6 +123,11 @@ public final class Injector {
         return resolveDependency(injectionPoint, injectionPoint.getGenericType(), false, false);
     }
 
+    private Object resolveDependency(InjectionPoint injectionPoint, Provider<?>[] bound, int index) {
+        Provider<?> dependency = bound != null ? bound[index] : null;
+        return dependency != null ? dependency.get() : resolveDependency(injectionPoint);
+    }
+
     private Object resolveDependency(InjectionPoint injectionPoint, Type type, boolean optional, boolean multiple) {
         if (type instanceof ParameterizedType) {
             ParameterizedType parameterizedType = (ParameterizedType) type;
@@ -83,6 +140,16 @@ public final class Injector {
                 }
 
                 Type objectType = parameterizedType.getActualTypeArguments()[0];
+                if (objectType instanceof Class<?> && objectType != InjectionPoint.class) {
+                    ObjectRequest<?> request = ObjectRequest.of((Class<?>) objectType)
+                            .withQualifiers(injectionPoint.getQualifiers());
+                    if (optional) {
+                        request.optional();
+                    }
+
+                    return new InjectedProvider<>(world, injectionPoint, request);
+                }
+
                 // technically it is possible to inject Provider<InjectionPoint>, but its lazy nature
                 // makes it impossible to retrieve underlying injection point as it will be long gone
                 // when Provider#get() will be finally invoked
@@ -0,0 +1,52 @@
+package ahodanenok.di.inject;
+
+import ahodanenok.di.ObjectRequest;
+import ahodanenok.di.World;
+
+import javax.inject.Provider;
+import java.lang.annotation.Annotation;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Resolves dependencies by looking them up in the world
+ */
+public final class WorldDependencyResolver implements DependencyResolver {
+
+    private final World world;
+
+    public WorldDependencyResolver(World world) {
+        this.world = world;
+    }
+
+    @Override
+    public <T> T get(Class<T> type, Annotation... qualifiers) {
+        return world.find(request(type, qualifiers));
+    }
+
+    @Override
+    public <T> Optional<T> optional(Class<T> type, Annotation... qualifiers) {
+        return Optional.ofNullable(world.find(request(type, qualifiers).optional()));
+    }
+
+    @Override
+    public <T> List<T> all(Class<T> type, Annotation... qualifiers) {
+        return world.findAll(request(type, qualifiers));
+    }
+
+    @Override
+    public <T> Provider<T> provider(Class<T> type, Annotation... qualifiers) {
+        // request is resolved once and not on every call
+        return world.handle(request(type, qualifiers));
+    }
+
+    private static <T> ObjectRequest<T> request(Class<T> type, Annotation[] qualifiers) {
+        ObjectRequest<T> request = ObjectRequest.of(type);
+        if (qualifiers.length > 0) {
+            request.withQualifiers(Arrays.asList(qualifiers));
+        }
+
+        return request;
+    }
+}
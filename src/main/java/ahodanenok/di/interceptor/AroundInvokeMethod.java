@@ -0,0 +1,56 @@
+package ahodanenok.di.interceptor;
+
+import ahodanenok.di.access.ProxyMethod;
+import ahodanenok.di.access.ProxyObject;
+import ahodanenok.di.interceptor.context.AroundInvokeInvocationContext;
+
+import java.lang.reflect.Method;
+
+/**
+ * Passes invocations of a business method through the chain of its AroundInvoke interceptors.
+ *
+ * Chain is resolved before the method is called for the first time and can be replaced
+ * when the interceptors registered in the world change.
+ * If the proxy has {@link InterceptorInstances} as its state, interceptors are invoked on them.
+ *
+ * @see ahodanenok.di.access.ProxyGenerator
+ */
+public final class AroundInvokeMethod implements ProxyMethod {
+
+    private final Method method;
+    private final int index;
+    private volatile InterceptorChain chain;
+
+    /**
+     * @param index index of the method in the proxy
+     */
+    public AroundInvokeMethod(Method method, int index, InterceptorChain chain) {
+        this.method = method;
+        this.index = index;
+        this.chain = chain;
+    }
+
+    public Method getMethod() {
+        return method;
+    }
+
+    public InterceptorChain getChain() {
+        return chain;
+    }
+
+    public void setChain(InterceptorChain chain) {
+        this.chain = chain;
+    }
+
+    @Override
+    public Object invoke(ProxyObject proxy, Object[] args) throws Exception {
+        AroundInvokeInvocationContext context = new AroundInvokeInvocationContext(proxy, method, index, args);
+
+        Object state = proxy.getProxyState();
+        if (state instanceof InterceptorInstances) {
+            context.setInterceptorInstances((InterceptorInstances) state);
+        }
+
+        return chain.invoke(context);
+    }
+}
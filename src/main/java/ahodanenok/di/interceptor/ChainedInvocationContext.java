@@ -0,0 +1,88 @@
+package ahodanenok.di.interceptor;
+
+import javax.interceptor.InvocationContext;
+import java.util.Map;
+
+/**
+ * Invocation context which is passed through an {@link InterceptorChain} as is.
+ *
+ * Interceptors of the chain and the position of the next one are kept in the context itself,
+ * so executing a chain doesn't need any objects besides the context and
+ * calling {@link #proceed()} costs an array access and an interceptor call.
+ * Context data is created only when an interceptor asks for it.
+ *
+ * Interceptors are invoked on the instances associated with the target of the context,
+ * contexts of the same target should share {@link InterceptorInstances}.
+ */
+public abstract class ChainedInvocationContext implements InvocationContext {
+
+    private static final Interceptor[] NO_INTERCEPTORS = new Interceptor[0];
+
+    private Interceptor[] interceptors = NO_INTERCEPTORS;
+    private int position;
+    private Map<String, Object> contextData;
+    private InterceptorInstances interceptorInstances;
+
+    /**
+     * Use the given interceptor instances, otherwise the context creates its own
+     */
+    public void setInterceptorInstances(InterceptorInstances interceptorInstances) {
+        this.interceptorInstances = interceptorInstances;
+    }
+
+    InterceptorInstances getInterceptorInstances() {
+        if (interceptorInstances == null) {
+            interceptorInstances = new InterceptorInstances();
+        }
+
+        return interceptorInstances;
+    }
+
+    /**
+     * Invoke the given interceptors and then the target of this context
+     */
+    Object invoke(Interceptor[] chainInterceptors) throws Exception {
+        Interceptor[] previousInterceptors = interceptors;
+        int previousPosition = position;
+
+        interceptors = chainInterceptors;
+        position = 0;
+        try {
+            return proceedChain();
+        } finally {
+            interceptors = previousInterceptors;
+            position = previousPosition;
+        }
+    }
+
+    /**
+     * Subclasses may override it only to change the exceptions thrown to the interceptors
+     * and must delegate to this method, the chain itself is started without it
+     */
+    @Override
+    public Object proceed() throws Exception {
+        return proceedChain();
+    }
+
+    private Object proceedChain() throws Exception {
+        if (position < interceptors.length) {
+            return interceptors[position++].execute(this);
+        } else {
+            return proceedTarget();
+        }
+    }
+
+    /**
+     * Invoked after the last interceptor in the chain called {@link #proceed()}
+     */
+    protected abstract Object proceedTarget() throws Exception;
+
+    @Override
+    public final Map<String, Object> getContextData() {
+        if (contextData == null) {
+            contextData = new ContextData();
+        }
+
+        return contextData;
+    }
+}
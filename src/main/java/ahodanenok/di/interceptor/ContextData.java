@@ -0,0 +1,156 @@
+package ahodanenok.di.interceptor;
+
+import java.util.*;
+
+/**
+ * Map for {@link javax.interceptor.InvocationContext#getContextData()}.
+ *
+ * Interceptors usually put a few entries in the context data if any,
+ * so entries are kept in arrays and looked up by a linear scan, which
+ * for a handful of keys is faster and smaller than hashing.
+ */
+final class ContextData extends AbstractMap<String, Object> {
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    private String[] keys = new String[INITIAL_CAPACITY];
+    private Object[] values = new Object[INITIAL_CAPACITY];
+    private int size;
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public Object get(Object key) {
+        int idx = indexOf(key);
+        return idx >= 0 ? values[idx] : null;
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        int idx = indexOf(key);
+        if (idx >= 0) {
+            Object previous = values[idx];
+            values[idx] = value;
+            return previous;
+        }
+
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            values = Arrays.copyOf(values, size * 2);
+        }
+
+        keys[size] = key;
+        values[size] = value;
+        size++;
+        return null;
+    }
+
+    @Override
+    public Object remove(Object key) {
+        int idx = indexOf(key);
+        if (idx < 0) {
+            return null;
+        }
+
+        Object previous = values[idx];
+        removeAt(idx);
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(keys, 0, size, null);
+        Arrays.fill(values, 0, size, null);
+        size = 0;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<Entry<String, Object>>() {
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                return new EntryIterator();
+            }
+        };
+    }
+
+    private int indexOf(Object key) {
+        for (int i = 0; i < size; i++) {
+            if (Objects.equals(keys[i], key)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private void removeAt(int idx) {
+        int moved = size - idx - 1;
+        System.arraycopy(keys, idx + 1, keys, idx, moved);
+        System.arraycopy(values, idx + 1, values, idx, moved);
+        size--;
+        keys[size] = null;
+        values[size] = null;
+    }
+
+    private final class EntryIterator implements Iterator<Entry<String, Object>> {
+
+        private int next;
+        private int last = -1;
+
+        @Override
+        public boolean hasNext() {
+            return next < size;
+        }
+
+        @Override
+        public Entry<String, Object> next() {
+            if (next >= size) {
+                throw new NoSuchElementException();
+            }
+
+            last = next++;
+            return new IndexEntry(last);
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+
+            removeAt(last);
+            next = last;
+            last = -1;
+        }
+    }
+
+    private final class IndexEntry extends SimpleEntry<String, Object> {
+
+        private final int idx;
+
+        IndexEntry(int idx) {
+            super(keys[idx], values[idx]);
+            this.idx = idx;
+        }
+
+        @Override
+        public Object setValue(Object value) {
+            values[idx] = value;
+            return super.setValue(value);
+        }
+    }
+}
@@ -3,6 +3,7 @@ package ahodanenok.di.interceptor;
 import javax.interceptor.InvocationContext;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -12,7 +13,8 @@ import java.util.Map;
  */
 public class InterceptorChain {
 
-    private final List<Interceptor> interceptors;
+    private final Interceptor[] interceptors;
+    private final List<Interceptor> interceptorList;
 
     /**
      * Constructs an empty chain
@@ -25,14 +27,15 @@ public class InterceptorChain {
      * Constructs chain with the given interceptors
      */
     public InterceptorChain(List<Interceptor> interceptors) {
-        this.interceptors = interceptors;
+        this.interceptors = interceptors.toArray(new Interceptor[0]);
+        this.interceptorList = Collections.unmodifiableList(Arrays.asList(this.interceptors));
     }
 
     /**
      * Get unmodifiable list of interceptors in the chain
      */
     public List<Interceptor> getInterceptors() {
-        return Collections.unmodifiableList(interceptors);
+        return interceptorList;
     }
 
     /**
@@ -40,7 +43,7 @@ public class InterceptorChain {
      * todo: is this method needed?
      */
     public int length() {
-        return interceptors.size();
+        return interceptors.length;
     }
 
     /**
@@ -50,8 +53,15 @@ public class InterceptorChain {
      * calls {@link InvocationContext#proceed()} of their parameter
      *
      * If the chain is empty, context will be invoked immediately
+     *
+     * Contexts extending {@link ChainedInvocationContext} are passed to the interceptors as is,
+     * other contexts are wrapped to track position in the chain
      */
     public Object invoke(InvocationContext context) throws Exception {
+        if (context instanceof ChainedInvocationContext) {
+            return ((ChainedInvocationContext) context).invoke(interceptors);
+        }
+
         return new Execution(context).proceed();
     }
 
@@ -101,8 +111,8 @@ public class InterceptorChain {
 
         @Override
         public Object proceed() throws Exception {
-            if (pos < interceptors.size()) {
-                return interceptors.get(pos++).execute(this);
+            if (pos < interceptors.length) {
+                return interceptors[pos++].execute(this);
             } else {
                 return context.proceed();
             }
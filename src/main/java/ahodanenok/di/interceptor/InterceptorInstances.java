@@ -0,0 +1,61 @@
+package ahodanenok.di.interceptor;
+
+import ahodanenok.di.container.Container;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Interceptor instances associated with a target instance.
+ *
+ * JSR-318 (Interceptors 1.2), 2.2
+ * An interceptor instance has the same lifecycle as its associated target instance.
+ * When the target instance is created, a corresponding interceptor instance is created
+ * for each associated interceptor class.
+ *
+ * An interceptor instance is taken from its container the first time it intercepts the target,
+ * so the interceptor's scope is respected, and then reused for all other interceptions of the same target.
+ * Business methods of the target can be called from many threads, so looking up an instance doesn't lock,
+ * only taking a new instance from its container does.
+ */
+public final class InterceptorInstances {
+
+    private static final Object[] EMPTY = new Object[0];
+
+    // container and its interceptor instance in adjacent cells, replaced on each addition
+    private volatile Object[] entries = EMPTY;
+    private final Lock lock = new ReentrantLock();
+
+    /**
+     * Instance of the interceptor in the given container associated with the target
+     */
+    Object get(Container<?> container) {
+        Object[] current = entries;
+        for (int i = 0; i < current.length; i += 2) {
+            if (current[i] == container) {
+                return current[i + 1];
+            }
+        }
+
+        lock.lock();
+        try {
+            current = entries;
+            for (int i = 0; i < current.length; i += 2) {
+                if (current[i] == container) {
+                    return current[i + 1];
+                }
+            }
+
+            Object instance = container.getObject();
+            Object[] updated = Arrays.copyOf(current, current.length + 2);
+            updated[current.length] = container;
+            updated[current.length + 1] = instance;
+            entries = updated;
+
+            return instance;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
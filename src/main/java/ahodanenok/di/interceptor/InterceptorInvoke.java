@@ -1,29 +1,64 @@
 package ahodanenok.di.interceptor;
 
+import ahodanenok.di.access.Accessors;
+import ahodanenok.di.access.MethodAccessor;
 import ahodanenok.di.container.Container;
-import ahodanenok.di.util.ReflectionUtils;
+import ahodanenok.di.interceptor.context.AroundInvokeInvocationContext;
 
 import javax.interceptor.InvocationContext;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 
 /**
- * Invokes given interceptor method on the object returned by container
-
+ * Invokes given interceptor method on the object returned by container.
+ *
+ * If the context is a {@link ChainedInvocationContext}, the object is taken once per target
+ * from the interceptor instances of the context, otherwise it's requested from the container
+ * on every execution.
  */
 public class InterceptorInvoke implements Interceptor {
 
     private final Container<?> container;
-    private final Method method;
+    private final MethodAccessor method;
 
     public InterceptorInvoke(Container<?> container, Method method) {
         this.container = container;
-        this.method = method;
+        this.method = Accessors.of(method);
     }
 
     @Override
     public Object execute(InvocationContext context) throws Exception {
         // todo: support interceptor methods with zero parameters
-        Object instance = container.getObject();
-        return ReflectionUtils.invoke(method, instance, context);
+        Object instance;
+        if (context instanceof ChainedInvocationContext) {
+            instance = ((ChainedInvocationContext) context).getInterceptorInstances().get(container);
+        } else {
+            instance = container.getObject();
+        }
+
+        if (context instanceof AroundInvokeInvocationContext) {
+            return invoke(method, instance, context);
+        }
+
+        return method.invoke1(instance, context);
+    }
+
+    /**
+     * Invoke AroundInvoke interceptor method, exception thrown by the interceptor reaches the caller
+     * of the business method as is, the same as if the interceptor method was called directly
+     */
+    static Object invoke(MethodAccessor method, Object instance, InvocationContext context) throws Exception {
+        try {
+            return method.invoke1(instance, context);
+        } catch (InvocationTargetException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            } else {
+                throw e;
+            }
+        }
     }
 }
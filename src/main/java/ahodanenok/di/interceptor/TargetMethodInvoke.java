@@ -0,0 +1,28 @@
+package ahodanenok.di.interceptor;
+
+import ahodanenok.di.access.Accessors;
+import ahodanenok.di.access.MethodAccessor;
+
+import javax.interceptor.InvocationContext;
+import java.lang.reflect.Method;
+
+/**
+ * Invokes interceptor method declared by the target class on the target of the context.
+ *
+ * JSR-318 (Interceptors 1.2), 5.1
+ * Around-invoke methods declared on the target class or its superclasses are invoked
+ * after the around-invoke methods of interceptor classes.
+ */
+public class TargetMethodInvoke implements Interceptor {
+
+    private final MethodAccessor method;
+
+    public TargetMethodInvoke(Method method) {
+        this.method = Accessors.of(method);
+    }
+
+    @Override
+    public Object execute(InvocationContext context) throws Exception {
+        return InterceptorInvoke.invoke(method, context.getTarget(), context);
+    }
+}
@@ -0,0 +1,67 @@
+package ahodanenok.di.interceptor.context;
+
+import ahodanenok.di.access.ProxyObject;
+import ahodanenok.di.interceptor.ChainedInvocationContext;
+import ahodanenok.di.util.ParameterValidator;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+
+/**
+ * Invocation context for AroundInvoke interceptors of a business method called on a proxy.
+ * Proceeding invokes the method of the target class, bypassing the proxy.
+ */
+public class AroundInvokeInvocationContext extends ChainedInvocationContext {
+
+    private final ProxyObject proxy;
+    private final Method method;
+    private final int index;
+    private Object[] parameters;
+
+    /**
+     * @param index index of the method in the proxy
+     * @see ProxyObject#proxyInvokeSuper(int, Object[])
+     */
+    public AroundInvokeInvocationContext(ProxyObject proxy, Method method, int index, Object[] parameters) {
+        this.proxy = proxy;
+        this.method = method;
+        this.index = index;
+        this.parameters = parameters;
+    }
+
+    @Override
+    public Object getTarget() {
+        return proxy;
+    }
+
+    @Override
+    public Object getTimer() {
+        return null;
+    }
+
+    @Override
+    public Method getMethod() {
+        return method;
+    }
+
+    @Override
+    public Constructor<?> getConstructor() {
+        return null;
+    }
+
+    @Override
+    public Object[] getParameters() {
+        return parameters;
+    }
+
+    @Override
+    public void setParameters(Object[] params) {
+        ParameterValidator.of(method).validate(params);
+        this.parameters = params;
+    }
+
+    @Override
+    protected Object proceedTarget() throws Exception {
+        return proxy.proxyInvokeSuper(index, parameters);
+    }
+}
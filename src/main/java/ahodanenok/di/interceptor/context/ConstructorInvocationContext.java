@@ -1,12 +1,12 @@
 package ahodanenok.di.interceptor.context;
 
-import ahodanenok.di.util.ReflectionUtils;
+import ahodanenok.di.access.Accessors;
+import ahodanenok.di.access.ConstructorAccessor;
+import ahodanenok.di.interceptor.ChainedInvocationContext;
+import ahodanenok.di.util.ParameterValidator;
 
-import javax.interceptor.InvocationContext;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
-import java.util.HashMap;
-import java.util.Map;
 
 /**
  * Invocation context for AroundConstruct interceptors.
@@ -14,15 +14,23 @@ import java.util.Map;
  * Before the first interceptor is invoked, constructor arguments
  * have been already resolved and are available via {@link #getParameters} method.
  */
-public class ConstructorInvocationContext implements InvocationContext {
+public class ConstructorInvocationContext extends ChainedInvocationContext {
 
     private Object target;
     private final Constructor<?> constructor;
+    private final ConstructorAccessor<?> accessor;
     private Object[] parameters;
-    private Map<String, Object> contextData;
 
     public ConstructorInvocationContext(Constructor<?> constructor) {
+        this(constructor, Accessors.of(constructor));
+    }
+
+    /**
+     * @param accessor how to invoke the constructor on {@link #proceed()}
+     */
+    public ConstructorInvocationContext(Constructor<?> constructor, ConstructorAccessor<?> accessor) {
         this.constructor = constructor;
+        this.accessor = accessor;
         this.parameters = new Object[constructor.getParameterCount()];
     }
 
@@ -54,26 +62,17 @@ public class ConstructorInvocationContext implements InvocationContext {
 
     @Override
     public void setParameters(Object[] params) {
-        ReflectionUtils.validateParameters(constructor, params);
+        ParameterValidator.of(constructor).validate(params);
         this.parameters = params;
     }
 
     @Override
-    public Map<String, Object> getContextData() {
-        if (contextData == null) {
-            contextData = new HashMap<>();
-        }
-
-        return contextData;
-    }
-
-    @Override
-    public Object proceed() throws Exception {
+    protected Object proceedTarget() throws Exception {
         if (target != null) {
             return target;
         }
 
-        target = ReflectionUtils.newInstance(constructor, parameters);
+        target = accessor.newInstance(parameters);
         return target;
     }
 }
@@ -1,19 +1,16 @@
 package ahodanenok.di.interceptor.context;
 
 import ahodanenok.di.inject.InjectionPoint;
+import ahodanenok.di.interceptor.ChainedInvocationContext;
 
-import javax.interceptor.InvocationContext;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.function.Supplier;
 
-public final class InjectionPointInvocationContext implements InvocationContext {
+public final class InjectionPointInvocationContext extends ChainedInvocationContext {
 
     private final InjectionPoint injectionPoint;
     private final Supplier<Object> dependencyLookup;
-    private Map<String, Object> contextData;
 
     private boolean resolved;
     private Object dependency;
@@ -65,16 +62,7 @@ public final class InjectionPointInvocationContext implements InvocationContext
     public void setParameters(Object[] params) { }
 
     @Override
-    public Map<String, Object> getContextData() {
-        if (contextData == null) {
-            contextData = new HashMap<>();
-        }
-
-        return contextData;
-    }
-
-    @Override
-    public Object proceed() {
+    protected Object proceedTarget() {
         if (resolved) {
             return dependency;
         }
@@ -1,23 +1,24 @@
 package ahodanenok.di.interceptor.context;
 
-import ahodanenok.di.util.ReflectionUtils;
+import ahodanenok.di.access.Accessors;
+import ahodanenok.di.access.MethodAccessor;
+import ahodanenok.di.interceptor.ChainedInvocationContext;
+import ahodanenok.di.util.ParameterValidator;
 
-import javax.interceptor.InvocationContext;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
-import java.util.HashMap;
-import java.util.Map;
 
-public class MethodInvocationContext implements InvocationContext {
+public class MethodInvocationContext extends ChainedInvocationContext {
 
     private final Object object;
     private final Method method;
+    private final MethodAccessor accessor;
     private Object[] parameters;
-    private Map<String, Object> contextData;
 
     public MethodInvocationContext(Object object, Method method) {
         this.object = object;
         this.method = method;
+        this.accessor = Accessors.of(method);
         this.parameters = new Object[method.getParameterCount()];
     }
 
@@ -49,21 +50,12 @@ public class MethodInvocationContext implements InvocationContext {
 
     @Override
     public void setParameters(Object[] params) {
-        ReflectionUtils.validateParameters(method, params);
+        ParameterValidator.of(method).validate(params);
         this.parameters = params;
     }
 
     @Override
-    public Map<String, Object> getContextData() {
-        if (contextData == null) {
-            contextData = new HashMap<>();
-        }
-
-        return contextData;
-    }
-
-    @Override
-    public Object proceed() throws Exception {
-        return ReflectionUtils.invoke(method, object, parameters);
+    protected Object proceedTarget() throws Exception {
+        return accessor.invoke(object, parameters);
     }
 }
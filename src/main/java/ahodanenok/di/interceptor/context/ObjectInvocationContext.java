@@ -1,10 +1,10 @@
 package ahodanenok.di.interceptor.context;
 
-import javax.interceptor.InvocationContext;
+import ahodanenok.di.interceptor.ChainedInvocationContext;
+
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
-import java.util.HashMap;
-import java.util.Map;
+import java.lang.reflect.UndeclaredThrowableException;
 
 /**
  * InvocationContext for lifecycle interceptors
@@ -12,11 +12,10 @@ import java.util.Map;
  *
  * Proceed is a no-op operation and null is returned.
  */
-public class ObjectInvocationContext implements InvocationContext {
+public class ObjectInvocationContext extends ChainedInvocationContext {
 
     private final Object object;
     private Object[] parameters;
-    private Map<String, Object> contextData;
 
     public ObjectInvocationContext(Object object) {
         this.object = object;
@@ -59,17 +58,25 @@ public class ObjectInvocationContext implements InvocationContext {
         this.parameters = params != null ? params : new Object[0];
     }
 
+    /**
+     * Doesn't declare any exceptions as there is no target method,
+     * unchecked exceptions thrown by the next interceptors of the chain are passed through as is
+     * and checked ones are wrapped in {@link UndeclaredThrowableException}.
+     * The chain itself throws exceptions of its first interceptor unwrapped.
+     */
     @Override
-    public Map<String, Object> getContextData() {
-        if (contextData == null) {
-            contextData = new HashMap<>();
+    public Object proceed() {
+        try {
+            return super.proceed();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new UndeclaredThrowableException(e);
         }
-
-        return contextData;
     }
 
     @Override
-    public Object proceed() {
+    protected Object proceedTarget() {
         return null;
     }
 }
@@ -13,12 +13,40 @@ import java.beans.Introspector;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.stream.Collectors;
 
 public class ClassMetadataReader<T> {
 
+    private static final ClassValue<ClassMetadataReader<?>> READERS = new ClassValue<ClassMetadataReader<?>>() {
+        @Override
+        protected ClassMetadataReader<?> computeValue(Class<?> type) {
+            return new ClassMetadataReader<>(type);
+        }
+    };
+
+    /**
+     * Reader of the class shared by all characters and worlds,
+     * so metadata of a class is read only once per process
+     */
+    @SuppressWarnings("unchecked") // reader was created for the class T
+    public static <T> ClassMetadataReader<T> of(Class<T> clazz) {
+        return (ClassMetadataReader<T>) READERS.get(clazz);
+    }
+
     private final Class<T> clazz;
 
+    // metadata is read on the first request and then reused, read lists are never modified,
+    // copies are returned to the callers; failed reads are not remembered and fail again next time
+    private volatile Optional<String> named;
+    private volatile Optional<String> scope;
+    private volatile List<Class<?>> interceptors;
+    private volatile List<Annotation> interceptorBindings;
+    private volatile List<Annotation> qualifiers;
+    private volatile List<Method> instanceMethods;
+    private final ConcurrentMap<InterceptorType, Optional<Method>> interceptorMethods = new ConcurrentHashMap<>();
+
     public ClassMetadataReader(Class<T> clazz) {
         this.clazz = clazz;
     }
@@ -28,6 +56,16 @@ public class ClassMetadataReader<T> {
      * @return name (never blank) or null if @Named is not present
      */
     public String readNamed() {
+        Optional<String> current = named;
+        if (current == null) {
+            current = Optional.ofNullable(doReadNamed());
+            named = current;
+        }
+
+        return current.orElse(null);
+    }
+
+    private String doReadNamed() {
         // https://docs.jboss.org/cdi/spec/2.0/cdi-spec.html#declaring_bean_name
         // To specify the name of a bean, the qualifier @javax.inject.Named is applied to the bean class.
         Named named = clazz.getAnnotation(Named.class);
@@ -66,6 +104,16 @@ public class ClassMetadataReader<T> {
      * @throws CharacterMetadataException if class contains multiple scope declarations or scope has attributes
      */
     public String readScope() {
+        Optional<String> current = scope;
+        if (current == null) {
+            current = Optional.ofNullable(doReadScope());
+            scope = current;
+        }
+
+        return current.orElse(null);
+    }
+
+    private String doReadScope() {
         // https://docs.jboss.org/cdi/spec/2.0/cdi-spec.html#type_level_inheritance
         // If X is annotated with a scope type Z then Y inherits the annotation if and only if Z declares
         // the @Inherited meta-annotation and neither Y nor any intermediate class that is a subclass of X
@@ -121,6 +169,16 @@ public class ClassMetadataReader<T> {
     }
 
     public List<Class<?>> readInterceptors() {
+        List<Class<?>> current = interceptors;
+        if (current == null) {
+            current = doReadInterceptors();
+            interceptors = current;
+        }
+
+        return new ArrayList<>(current);
+    }
+
+    private List<Class<?>> doReadInterceptors() {
         Interceptors interceptors = clazz.getDeclaredAnnotation(Interceptors.class);
         if (interceptors != null) {
             return Arrays.stream((Class<?>[]) interceptors.value()).collect(Collectors.toList());
@@ -129,9 +187,28 @@ public class ClassMetadataReader<T> {
         }
     }
 
+    /**
+     * Instance methods of the class and its superclasses
+     * @see ReflectionUtils#getInstanceMethods(Class)
+     */
+    public List<Method> readInstanceMethods() {
+        List<Method> current = instanceMethods;
+        if (current == null) {
+            current = Collections.unmodifiableList(new ArrayList<>(ReflectionUtils.getInstanceMethods(clazz)));
+            instanceMethods = current;
+        }
+
+        return current;
+    }
+
     public Method readInterceptorMethod(InterceptorType type) {
+        return interceptorMethods.computeIfAbsent(type, t -> Optional.ofNullable(doReadInterceptorMethod(t)))
+                .orElse(null);
+    }
+
+    private Method doReadInterceptorMethod(InterceptorType type) {
         List<Method> methods = new ArrayList<>();
-        for (Method method : ReflectionUtils.getInstanceMethods(clazz)) {
+        for (Method method : readInstanceMethods()) {
             for (Annotation a : method.getAnnotations()) {
                 if (type.matches(a)) {
                     methods.add(method);
@@ -152,6 +229,16 @@ public class ClassMetadataReader<T> {
     }
 
     public List<Annotation> readInterceptorBindings() {
+        List<Annotation> current = interceptorBindings;
+        if (current == null) {
+            current = doReadInterceptorBindings();
+            interceptorBindings = current;
+        }
+
+        return new ArrayList<>(current);
+    }
+
+    private List<Annotation> doReadInterceptorBindings() {
         // JSR-318 (Interceptors 1.2), 3.1.1
         // Interceptor bindings are transitive—an interceptor binding declared
         // by an interceptor binding type is inherited by all components and other
@@ -170,6 +257,16 @@ public class ClassMetadataReader<T> {
      * Find all @Qualifier annotations on the class
      */
     public List<Annotation> readQualifiers() {
+        List<Annotation> current = qualifiers;
+        if (current == null) {
+            current = doReadQualifiers();
+            qualifiers = current;
+        }
+
+        return new ArrayList<>(current);
+    }
+
+    private List<Annotation> doReadQualifiers() {
         List<Annotation> qualifiers = ReflectionUtils.getAnnotations(clazz, ReflectionUtils.QUALIFIER_PREDICATE);
 
         String named = readNamed();
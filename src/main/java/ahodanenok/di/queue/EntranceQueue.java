@@ -3,15 +3,27 @@ package ahodanenok.di.queue;
 import ahodanenok.di.character.Character;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
+/**
+ * Characters waiting to enter the world.
+ *
+ * Characters can be added and flushed from multiple threads,
+ * each character passes the gate exactly once.
+ * Once the queue is closed, characters are rejected when they are added, so none of them is lost.
+ */
 public class EntranceQueue {
 
     private final Consumer<List<Character<?>>> gate;
+    private final Lock lock = new ReentrantLock();
     private List<Character<?>> configs;
-    private Sentinel sentinel = __ -> true;
+    private boolean closed;
+    private volatile Sentinel sentinel = __ -> true;
 
     public EntranceQueue(Consumer<List<Character<?>>> gate) {
         this.gate = gate;
@@ -25,19 +37,49 @@ public class EntranceQueue {
     }
 
     public void add(Character<?> config) {
-        if (configs == null) {
-            configs = new ArrayList<>();
-        }
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Queue is closed, characters can't enter the world");
+            }
+
+            if (configs == null) {
+                configs = new ArrayList<>();
+            }
 
-        configs.add(config);
+            configs.add(config);
+        } finally {
+            lock.unlock();
+        }
     }
 
     public void flush() {
+        flush(false);
+    }
+
+    /**
+     * Let the characters in the queue pass the gate and reject any characters added after them
+     */
+    public void close() {
+        flush(true);
+    }
+
+    private void flush(boolean close) {
         // remembering list at the flush time
-        List<Character<?>> inQueue = configs;
-        configs = null;
+        List<Character<?>> inQueue;
+        lock.lock();
+        try {
+            inQueue = configs != null ? configs : Collections.emptyList();
+            configs = null;
+            if (close) {
+                closed = true;
+            }
+        } finally {
+            lock.unlock();
+        }
 
         // sentinel will check incoming characters
-        gate.accept(inQueue.stream().filter(ch -> sentinel.allow(ch)).collect(Collectors.toList()));
+        Sentinel s = sentinel;
+        gate.accept(inQueue.stream().filter(ch -> s.allow(ch)).collect(Collectors.toList()));
     }
 }
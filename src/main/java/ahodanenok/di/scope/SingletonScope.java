@@ -1,23 +1,46 @@
 package ahodanenok.di.scope;
 
 import javax.inject.Provider;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Instantiates object at first retrieval and returns this instance on all subsequent requests
+ *
+ * Object is instantiated exactly once even if it's requested from multiple threads at the same time,
+ * threads requesting it during instantiation wait until it's done.
+ * Once instantiated, object is returned without any locking.
  */
 public class SingletonScope<T> implements Scope<T> {
 
-    private T instance;
+    // volatile guarantees that threads see fully constructed object
+    private volatile T instance;
+
+    // lock instead of synchronized, so waiting virtual threads don't pin their carriers
+    private final Lock lock = new ReentrantLock();
 
     @Override
     public T getObject(Provider<T> provider) {
-        if (instance == null) {
-            instance = provider.get();
-            if (instance == null) {
-                throw new IllegalStateException("Provider returned null, that's not appropriate!");
-            }
+        T current = instance;
+        if (current != null) {
+            return current;
         }
 
-        return instance;
+        lock.lock();
+        try {
+            current = instance;
+            if (current == null) {
+                current = provider.get();
+                if (current == null) {
+                    throw new IllegalStateException("Provider returned null, that's not appropriate!");
+                }
+
+                instance = current;
+            }
+
+            return current;
+        } finally {
+            lock.unlock();
+        }
     }
 }
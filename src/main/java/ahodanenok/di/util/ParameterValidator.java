@@ -0,0 +1,67 @@
+package ahodanenok.di.util;
+
+import java.lang.reflect.Executable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Checks that parameters can be passed to an executable.
+ *
+ * Parameter types are read and boxed once when validator is created,
+ * validators are cached with the class declaring the executable, so it's cheap to ask
+ * for a validator of the same executable repeatedly, and the cache doesn't keep the class from being unloaded.
+ */
+public final class ParameterValidator {
+
+    private static final ClassValue<ConcurrentMap<Executable, ParameterValidator>> VALIDATORS =
+            new ClassValue<ConcurrentMap<Executable, ParameterValidator>>() {
+                @Override
+                protected ConcurrentMap<Executable, ParameterValidator> computeValue(Class<?> type) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
+
+    public static ParameterValidator of(Executable executable) {
+        return VALIDATORS.get(executable.getDeclaringClass())
+                .computeIfAbsent(executable, ParameterValidator::new);
+    }
+
+    private final Class<?>[] parameterTypes;
+    private final Class<?>[] boxedTypes;
+
+    private ParameterValidator(Executable executable) {
+        this.parameterTypes = executable.getParameterTypes();
+        this.boxedTypes = new Class<?>[parameterTypes.length];
+        for (int i = 0; i < parameterTypes.length; i++) {
+            boxedTypes[i] = ReflectionUtils.box(parameterTypes[i]);
+        }
+    }
+
+    /**
+     * @throws IllegalStateException if the number of parameters or any of their types doesn't match
+     */
+    public void validate(Object[] parameters) {
+        if (parameters.length != parameterTypes.length) {
+            throw new IllegalStateException(
+                    String.format("Parameters count doesn't match: expected %d, given %d",
+                            parameterTypes.length, parameters.length));
+        }
+
+        for (int i = 0; i < parameters.length; i++) {
+            Object param = parameters[i];
+            if (param != null && !boxedTypes[i].isInstance(param)) {
+                throw new IllegalStateException(
+                        String.format("Parameter type doesn't match: expecting %s for parameter %d, given %s",
+                                parameterTypes[i], i, param.getClass()));
+            }
+
+            if (param == null && parameterTypes[i].isPrimitive()) {
+                throw new IllegalStateException(
+                        String.format("Passed null for primitive parameter %d of type %s", i, parameterTypes[i]));
+            }
+
+            // todo: this code doesn't let through widening conversions for numbers: int -> long, float -> double, etc, should allow that?
+            // todo: think of additional checks
+        }
+    }
+}
@@ -3,6 +3,7 @@ package ahodanenok.di.util;
 import javax.inject.Named;
 import javax.inject.Qualifier;
 import javax.interceptor.InterceptorBinding;
+import java.io.Serializable;
 import java.lang.annotation.Annotation;
 import java.lang.annotation.Repeatable;
 import java.lang.reflect.*;
@@ -13,11 +14,26 @@ public final class ReflectionUtils {
 
     private ReflectionUtils() { }
 
+    // meta-annotations of an annotation type never change, so they are checked once per type
+    private static final ClassValue<Boolean> QUALIFIER_TYPES = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            return type.isAnnotationPresent(Qualifier.class);
+        }
+    };
+
+    private static final ClassValue<Boolean> INTERCEPTOR_BINDING_TYPES = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            return type.isAnnotationPresent(InterceptorBinding.class);
+        }
+    };
+
     public static final Predicate<Annotation> QUALIFIER_PREDICATE =
-            (a) -> a.annotationType().isAnnotationPresent(Qualifier.class) && !(a instanceof Named);
+            (a) -> QUALIFIER_TYPES.get(a.annotationType()) && !(a instanceof Named);
 
     public static final Predicate<Annotation> INTERCEPTOR_BINDING_PREDICATE =
-            (a) -> a.annotationType().isAnnotationPresent(InterceptorBinding.class);
+            (a) -> INTERCEPTOR_BINDING_TYPES.get(a.annotationType());
 
     private static final Map<Class<?>, Class<?>> PRIMITIVE_WRAPPERS = new HashMap<>();
 
@@ -32,33 +48,18 @@ public final class ReflectionUtils {
         PRIMITIVE_WRAPPERS.put(char.class, Character.class);
     }
 
+    /**
+     * @see ParameterValidator
+     */
     public static void validateParameters(Executable executable, Object[] parameters) {
-        if (parameters.length != executable.getParameterCount()) {
-            throw new IllegalStateException(
-                    String.format("Parameters count doesn't match: expected %d, given %d",
-                            executable.getParameterCount(), parameters.length));
-        }
-
-        Class<?>[] parameterTypes = executable.getParameterTypes();
-        for (int i = 0; i < parameters.length; i++) {
-            Class<?> expectedType = parameterTypes[i];
-
-            Object param = parameters[i];
-            if (param != null && !PRIMITIVE_WRAPPERS.getOrDefault(parameterTypes[i], parameterTypes[i])
-                    .isAssignableFrom(PRIMITIVE_WRAPPERS.getOrDefault(param.getClass(), param.getClass()))) {
-                throw new IllegalStateException(
-                        String.format("Parameter type doesn't match: expecting %s for parameter %d, given %s",
-                                expectedType, i, param.getClass()));
-            }
-
-            if (param == null && expectedType.isPrimitive()) {
-                throw new IllegalStateException(
-                        String.format("Passed null for primitive parameter %d of type %s", i, expectedType));
-            }
+        ParameterValidator.of(executable).validate(parameters);
+    }
 
-            // todo: this code doesn't let through widening conversions for numbers: int -> long, float -> double, etc, should allow that?
-            // todo: think of additional checks
-        }
+    /**
+     * Wrapper class for a primitive type, other types are returned as is
+     */
+    public static Class<?> box(Class<?> type) {
+        return PRIMITIVE_WRAPPERS.getOrDefault(type, type);
     }
 
     public static List<Class<?>> getInheritanceChain(Class<?> clazz) {
@@ -163,7 +164,7 @@ public final class ReflectionUtils {
                                                   boolean composition) {
         List<Annotation> result = new ArrayList<>();
 
-        LinkedList<Annotation> queue = new LinkedList<>();
+        ArrayDeque<Annotation> queue = new ArrayDeque<>();
         for (Annotation a : element.getAnnotations()) {
             if (predicate.test(a)) {
                 queue.addLast(a);
@@ -181,12 +182,15 @@ public final class ReflectionUtils {
         }
 
         if (composition) {
+            // each annotation is added once, even if it's declared on multiple annotations,
+            // this also stops on annotations declared on each other
+            Set<Annotation> seen = new HashSet<>(queue);
             while (!queue.isEmpty()) {
                 Annotation current = queue.removeFirst();
                 result.add(current);
 
                 for (Annotation a : current.annotationType().getDeclaredAnnotations()) {
-                    if (predicate.test(a) && !queue.contains(a)) {
+                    if (predicate.test(a) && seen.add(a)) {
                         queue.addLast(a);
                     }
                 }
@@ -248,6 +252,68 @@ public final class ReflectionUtils {
         return false;
     }
 
+    /**
+     * All types to which the given type is assignable according to {@link #isAssignable(Class, Class)}:
+     * the type itself, its superclasses and interfaces, corresponding primitive or wrapper type
+     * and for arrays - arrays of the types to which their component type is assignable
+     */
+    public static Set<Class<?>> getAssignableTypes(Class<?> type) {
+        Set<Class<?>> types = new LinkedHashSet<>();
+        collectAssignableTypes(type, types, true);
+        return types;
+    }
+
+    private static void collectAssignableTypes(Class<?> type, Set<Class<?>> types, boolean wrappers) {
+        if (!types.add(type)) {
+            return;
+        }
+
+        if (type.isArray()) {
+            Class<?> componentType = type.getComponentType();
+            if (!componentType.isPrimitive()) {
+                // array types are covariant, but primitive and wrapper component types never match
+                for (Class<?> t : getReferenceTypes(componentType)) {
+                    types.add(Array.newInstance(t, 0).getClass());
+                }
+            }
+
+            types.add(Object.class);
+            types.add(Cloneable.class);
+            types.add(Serializable.class);
+            return;
+        }
+
+        if (wrappers) {
+            for (Map.Entry<Class<?>, Class<?>> entry : PRIMITIVE_WRAPPERS.entrySet()) {
+                if (entry.getKey() == type) {
+                    types.add(entry.getValue());
+                } else if (entry.getValue() == type) {
+                    types.add(entry.getKey());
+                }
+            }
+        }
+
+        if (type.isPrimitive()) {
+            return;
+        }
+
+        if (type.getSuperclass() != null) {
+            collectAssignableTypes(type.getSuperclass(), types, false);
+        } else if (type.isInterface()) {
+            types.add(Object.class);
+        }
+
+        for (Class<?> i : type.getInterfaces()) {
+            collectAssignableTypes(i, types, false);
+        }
+    }
+
+    private static Set<Class<?>> getReferenceTypes(Class<?> type) {
+        Set<Class<?>> types = new LinkedHashSet<>();
+        collectAssignableTypes(type, types, false);
+        return types;
+    }
+
     public static boolean isInstantiatable(Class<?> clazz) {
         return !clazz.isInterface()
                 && !clazz.isArray()
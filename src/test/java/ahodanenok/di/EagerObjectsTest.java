@@ -0,0 +1,162 @@
+package ahodanenok.di;
+
+import ahodanenok.di.character.ClassCharacter;
+import ahodanenok.di.character.SupplierCharacter;
+import ahodanenok.di.exception.CharacterMetadataException;
+import ahodanenok.di.exception.ObjectRetrievalException;
+import ahodanenok.di.scope.SingletonScope;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.inject.Inject;
+import javax.inject.Provider;
+import javax.inject.Singleton;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class EagerObjectsTest {
+
+    static final List<String> CREATED = new CopyOnWriteArrayList<>();
+    static CyclicBarrier barrier;
+
+    @BeforeEach
+    public void reset() {
+        CREATED.clear();
+    }
+
+    @Singleton
+    public static class Pool {
+        public Pool() {
+            CREATED.add("pool");
+        }
+    }
+
+    public static class Connection {
+        @Inject
+        public Connection(Pool pool) {
+            CREATED.add("connection");
+        }
+    }
+
+    @Singleton
+    public static class Repository {
+        @Inject Connection connection;
+        @Inject Provider<Cache> cache;
+
+        public Repository() {
+            CREATED.add("repository");
+        }
+    }
+
+    @Singleton
+    public static class Cache {
+        public Cache() {
+            CREATED.add("cache");
+        }
+    }
+
+    @Singleton
+    public static class Slow {
+        public Slow() throws Exception {
+            barrier.await(5, TimeUnit.SECONDS);
+            CREATED.add("slow");
+        }
+    }
+
+    @Singleton
+    public static class AlsoSlow {
+        public AlsoSlow() throws Exception {
+            barrier.await(5, TimeUnit.SECONDS);
+            CREATED.add("also slow");
+        }
+    }
+
+    @Singleton
+    public static class Broken {
+        public Broken() {
+            throw new IllegalStateException("broken");
+        }
+    }
+
+    @Test
+    @DisplayName("should retrieve eager objects on flush")
+    public void shouldRetrieveOnFlush() {
+        DefaultWorld w = new DefaultWorld();
+        w.getQueue().add(ClassCharacter.of(Pool.class).eager());
+        w.getQueue().add(ClassCharacter.of(Cache.class));
+        assertThat(CREATED).isEmpty();
+
+        w.getQueue().flush();
+        assertThat(CREATED).containsExactly("pool");
+        assertThat(w.find(ObjectRequest.of(Pool.class))).isNotNull();
+        assertThat(CREATED).containsExactly("pool");
+    }
+
+    @Test
+    @DisplayName("should retrieve eager objects after eager objects they depend on")
+    public void shouldRetrieveInDependencyOrder() {
+        DefaultWorld w = new DefaultWorld();
+        w.getQueue().add(ClassCharacter.of(Repository.class).eager());
+        w.getQueue().add(ClassCharacter.of(Connection.class));
+        w.getQueue().add(ClassCharacter.of(Cache.class).eager());
+        w.getQueue().add(ClassCharacter.of(Pool.class).eager());
+        w.getQueue().flush();
+
+        assertThat(CREATED).containsOnlyOnce("pool", "cache", "repository");
+        // repository depends on pool through connection which is not eager
+        assertThat(CREATED.indexOf("pool")).isLessThan(CREATED.indexOf("repository"));
+    }
+
+    @Test
+    @DisplayName("should retrieve independent eager objects in parallel")
+    public void shouldRetrieveInParallel() {
+        barrier = new CyclicBarrier(2);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            DefaultWorld w = new DefaultWorld();
+            w.useEagerExecutor(executor);
+            w.getQueue().add(ClassCharacter.of(Slow.class).eager());
+            w.getQueue().add(ClassCharacter.of(AlsoSlow.class).eager());
+            w.getQueue().flush();
+
+            assertThat(CREATED).containsExactlyInAnyOrder("slow", "also slow");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("should fail flush if eager object can't be retrieved")
+    public void shouldFailIfNotRetrieved() {
+        DefaultWorld w = new DefaultWorld();
+        w.getQueue().add(ClassCharacter.of(Broken.class).eager());
+        w.getQueue().add(ClassCharacter.of(Pool.class).scopedBy(new SingletonScope<>()).eager());
+
+        assertThatThrownBy(() -> w.getQueue().flush())
+                .isExactlyInstanceOf(ObjectRetrievalException.class)
+                .hasRootCauseInstanceOf(IllegalStateException.class);
+        assertThat(CREATED).containsExactly("pool");
+    }
+
+    @Test
+    @DisplayName("should reject eager characters whose scope doesn't keep objects")
+    public void shouldRejectAlwaysNewScope() {
+        DefaultWorld w = new DefaultWorld();
+        w.getQueue().add(ClassCharacter.of(Pool.class));
+        w.getQueue().add(ClassCharacter.of(Connection.class).eager());
+        assertThatThrownBy(() -> w.getQueue().flush())
+                .isExactlyInstanceOf(CharacterMetadataException.class)
+                .hasMessageContaining(Connection.class.getName());
+
+        w.getQueue().add(SupplierCharacter.of(Connection.class, r -> new Connection(new Pool())).eager());
+        assertThatThrownBy(() -> w.getQueue().flush())
+                .isExactlyInstanceOf(CharacterMetadataException.class)
+                .hasMessageContaining(Connection.class.getName());
+
+        assertThat(w).isEmpty();
+        assertThat(CREATED).isEmpty();
+    }
+}
@@ -0,0 +1,63 @@
+package ahodanenok.di;
+
+import ahodanenok.di.character.ClassCharacter;
+import ahodanenok.di.exception.DependencyLookupException;
+import ahodanenok.di.scope.SingletonScope;
+import ahodanenok.di.util.NamedQualifier;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class ObjectHandleTest {
+
+    public interface Engine { }
+    public static class Petrol implements Engine { }
+    public static class Diesel implements Engine { }
+
+    @Test
+    @DisplayName("should retrieve objects through the scope of matched container")
+    public void shouldRetrieveThroughScope() {
+        DefaultWorld w = new DefaultWorld();
+        w.getQueue().add(ClassCharacter.of(Petrol.class).scopedBy(new SingletonScope<>()));
+        w.getQueue().add(ClassCharacter.of(Diesel.class).knownAs("diesel"));
+        w.getQueue().flush();
+
+        ObjectHandle<Petrol> petrol = w.handle(ObjectRequest.of(Petrol.class));
+        assertThat(petrol.get()).isNotNull().isSameAs(petrol.get()).isSameAs(w.find(ObjectRequest.of(Petrol.class)));
+
+        ObjectHandle<Engine> diesel = w.handle(ObjectRequest.of(Engine.class)
+                .withQualifiers(Collections.singletonList(new NamedQualifier("diesel"))));
+        assertThat(diesel.get()).isInstanceOf(Diesel.class).isNotSameAs(diesel.get());
+    }
+
+    @Test
+    @DisplayName("should resolve request again after registration")
+    public void shouldRefreshAfterRegistration() {
+        DefaultWorld w = new DefaultWorld();
+        ObjectRequest<Engine> request = ObjectRequest.of(Engine.class).optional();
+        ObjectHandle<Engine> handle = w.handle(request);
+        assertThat(handle.get()).isNull();
+
+        w.getQueue().add(ClassCharacter.of(Petrol.class));
+        w.getQueue().flush();
+        assertThat(handle.get()).isInstanceOf(Petrol.class);
+
+        w.getQueue().add(ClassCharacter.of(Diesel.class));
+        w.getQueue().flush();
+        assertThatThrownBy(handle::get).isInstanceOf(DependencyLookupException.class);
+    }
+
+    @Test
+    @DisplayName("should not be affected by changes of the request")
+    public void shouldCopyRequest() {
+        DefaultWorld w = new DefaultWorld();
+        ObjectRequest<Engine> request = ObjectRequest.of(Engine.class);
+        ObjectHandle<Engine> handle = w.handle(request);
+        request.optional();
+
+        assertThatThrownBy(handle::get).isInstanceOf(DependencyLookupException.class);
+    }
+}
@@ -3,14 +3,26 @@ package ahodanenok.di;
 import ahodanenok.di.character.ClassCharacter;
 import ahodanenok.di.container.impl.DefaultClassContainer;
 import ahodanenok.di.container.Container;
+import ahodanenok.di.exception.DependencyLookupException;
+import ahodanenok.di.util.NamedQualifier;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+
 import static org.assertj.core.api.Assertions.*;
 
 public class RegistrationTest {
 
     public static class A { }
 
+    public interface Marked { }
+    public static class B extends A implements Marked { }
+    public static class C implements Marked { }
+
     @Test
     public void shouldRegisterContainerAfterFlush() {
         ClassCharacter<A> config = ClassCharacter.of(A.class);
@@ -51,6 +63,177 @@ public class RegistrationTest {
         assertThat(classContainer.getNames()).containsOnly("a", "b", "c");
     }
 
+    @Test
+    public void shouldFindContainersBySuperclassesAndInterfaces() {
+        DefaultWorld w = new DefaultWorld();
+        w.getQueue().add(ClassCharacter.of(B.class));
+        w.getQueue().add(ClassCharacter.of(C.class));
+        w.getQueue().flush();
+
+        assertThat(w.find(ObjectRequest.of(A.class))).isExactlyInstanceOf(B.class);
+        assertThat(w.find(ObjectRequest.of(C.class))).isExactlyInstanceOf(C.class);
+        assertThat(w.findAll(ObjectRequest.of(Marked.class)))
+                .extracting(Object::getClass)
+                .containsExactly(B.class, C.class);
+        assertThat(w.findAll(ObjectRequest.of(Object.class))).hasSize(2);
+        assertThat(w.findAll(ObjectRequest.of(String.class))).isEmpty();
+    }
+
+    @Test
+    public void shouldFindContainersRegisteredByDifferentFlushes() {
+        DefaultWorld w = new DefaultWorld();
+        w.getQueue().add(ClassCharacter.of(B.class));
+        w.getQueue().flush();
+        assertThat(w.findAll(ObjectRequest.of(Marked.class))).hasSize(1);
+
+        w.getQueue().add(ClassCharacter.of(C.class));
+        w.getQueue().flush();
+        assertThat(w.findAll(ObjectRequest.of(Marked.class)))
+                .extracting(Object::getClass)
+                .containsExactly(B.class, C.class);
+    }
+
+    @Test
+    public void shouldResolveRequestAgainAfterNewContainersRegistered() {
+        DefaultWorld w = new DefaultWorld();
+        w.getQueue().add(ClassCharacter.of(B.class));
+        w.getQueue().flush();
+        assertThat(w.find(ObjectRequest.of(Marked.class))).isExactlyInstanceOf(B.class);
+
+        w.getQueue().add(ClassCharacter.of(C.class));
+        w.getQueue().flush();
+        assertThatThrownBy(() -> w.find(ObjectRequest.of(Marked.class)))
+                .isExactlyInstanceOf(DependencyLookupException.class)
+                .hasMessageStartingWith("Multiple matching dependencies are found for a request");
+    }
+
+    @Test
+    public void shouldKeepResolvedRequestsAfterFlushingEmptyQueue() {
+        DefaultWorld w = new DefaultWorld();
+        w.getQueue().add(ClassCharacter.of(B.class));
+        w.getQueue().flush();
+        assertThat(w.find(ObjectRequest.of(Marked.class))).isExactlyInstanceOf(B.class);
+
+        int generation = w.getGeneration();
+        w.getQueue().flush();
+        assertThat(w.getGeneration()).isEqualTo(generation);
+        assertThat(w).hasSize(1);
+    }
+
+    @Test
+    public void shouldResolveNamedRequestsRegardlessOfQualifierImplementation() {
+        DefaultWorld w = new DefaultWorld();
+        w.getQueue().add(ClassCharacter.of(B.class).knownAs("b"));
+        w.getQueue().add(ClassCharacter.of(C.class).knownAs("c"));
+        w.getQueue().flush();
+
+        assertThat(w.find(ObjectRequest.of(Marked.class)
+                .withQualifiers(Collections.singletonList(new NamedQualifier("c"))))).isExactlyInstanceOf(C.class);
+        assertThat(w.find(ObjectRequest.of(Marked.class)
+                .withQualifiers(Collections.singletonList(Names.class.getAnnotation(javax.inject.Named.class)))))
+                .isExactlyInstanceOf(C.class);
+    }
+
+    @Test
+    public void shouldFindObjectsByName() {
+        DefaultWorld w = new DefaultWorld();
+        w.getQueue().add(ClassCharacter.of(B.class).knownAs("b", "marked"));
+        w.getQueue().add(ClassCharacter.of(C.class).knownAs("c"));
+        w.getQueue().flush();
+
+        assertThat(w.findByName("b")).isExactlyInstanceOf(B.class);
+        assertThat(w.findByName("marked", Marked.class)).isExactlyInstanceOf(B.class);
+        assertThat(w.findByName("c", Marked.class)).isExactlyInstanceOf(C.class);
+        assertThatThrownBy(() -> w.findByName("c", A.class))
+                .isExactlyInstanceOf(DependencyLookupException.class)
+                .hasMessageStartingWith("No dependencies are found for a request");
+        assertThatThrownBy(() -> w.findByName("d"))
+                .isExactlyInstanceOf(DependencyLookupException.class)
+                .hasMessageStartingWith("No dependencies are found for a request");
+
+        w.getQueue().add(ClassCharacter.of(A.class).knownAs("d", "marked"));
+        w.getQueue().flush();
+        assertThat(w.findByName("d", A.class)).isExactlyInstanceOf(A.class);
+        assertThat(w.findAll(ObjectRequest.of(A.class)
+                .withQualifiers(Collections.singletonList(new NamedQualifier("marked")))))
+                .extracting(Object::getClass)
+                .containsExactly(B.class, A.class);
+    }
+
+    @javax.inject.Named("c")
+    private static class Names { }
+
+    @javax.inject.Qualifier
+    @java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME)
+    public @interface Shade {
+        String value();
+    }
+
+    @javax.inject.Qualifier
+    @java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME)
+    public @interface Unused { }
+
+    @Shade("dark") @Unused private static class Dark { }
+    @Shade("light") private static class Light { }
+
+    @Test
+    public void shouldMatchEqualQualifiersFromDifferentElements() {
+        DefaultWorld w = new DefaultWorld();
+        w.getQueue().add(ClassCharacter.of(B.class).qualifiedAs(Light.class.getAnnotation(Shade.class)));
+        w.getQueue().add(ClassCharacter.of(C.class).qualifiedAs(Dark.class.getAnnotation(Shade.class)));
+        w.getQueue().flush();
+
+        @Shade("dark") class Request { }
+        assertThat(w.find(ObjectRequest.of(Marked.class)
+                .withQualifiers(Collections.singletonList(Request.class.getAnnotation(Shade.class)))))
+                .isExactlyInstanceOf(C.class);
+        assertThat(w.findAll(ObjectRequest.of(Marked.class)
+                .withQualifiers(Arrays.asList(Dark.class.getAnnotations()))))
+                .isEmpty();
+    }
+
+    @Test
+    public void shouldFindObjectsWhileOtherContainersAreRegistered() throws Exception {
+        DefaultWorld w = new DefaultWorld();
+        w.getQueue().add(ClassCharacter.of(C.class));
+        w.getQueue().flush();
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            CountDownLatch registered = new CountDownLatch(1);
+            List<Future<?>> readers = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                readers.add(executor.submit(() -> {
+                    while (registered.getCount() > 0) {
+                        assertThat(w.find(ObjectRequest.of(C.class))).isExactlyInstanceOf(C.class);
+                        assertThat(w.findAll(ObjectRequest.of(A.class)).size()).isIn(0, 50);
+                    }
+
+                    return null;
+                }));
+            }
+
+            executor.submit(() -> {
+                for (int i = 0; i < 50; i++) {
+                    w.getQueue().add(ClassCharacter.of(A.class));
+                }
+
+                // all the characters become visible at once
+                w.getQueue().flush();
+                registered.countDown();
+            }).get(10, TimeUnit.SECONDS);
+
+            for (Future<?> reader : readers) {
+                reader.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(w.findAll(ObjectRequest.of(A.class))).hasSize(50);
+        assertThat(w).hasSize(51);
+    }
+
 //    @Test
 //    public void shouldThrowErrorIfContainerWithTheSameNameAlreadyRegistered() {
 //        ClassCharacter<A> configA1 = ClassCharacter.of(A.class).knownAs("a1", "a");
@@ -0,0 +1,227 @@
+package ahodanenok.di;
+
+import ahodanenok.di.character.ClassCharacter;
+import ahodanenok.di.character.InterceptorCharacter;
+import ahodanenok.di.exception.DependencyLookupException;
+import ahodanenok.di.inject.AroundInject;
+import ahodanenok.di.inject.InjectionPoint;
+import ahodanenok.di.interceptor.InterceptorRequest;
+import ahodanenok.di.interceptor.InterceptorType;
+import ahodanenok.di.util.NamedQualifier;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Provider;
+import javax.inject.Singleton;
+import javax.interceptor.Interceptor;
+import javax.interceptor.InvocationContext;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class SealedWorldTest {
+
+    public static class Engine {
+        @Inject InjectionPoint injectionPoint;
+    }
+
+    @Singleton
+    public static class Fuel { }
+
+    public static class Car {
+        final Engine engine;
+        @Inject @Named("spare") Engine spare;
+        @Inject Provider<Fuel> fuel;
+        @Inject Optional<Wheel> wheel;
+        Fuel tank;
+
+        @Inject
+        public Car(Engine engine) {
+            this.engine = engine;
+        }
+
+        @Inject
+        void fill(Fuel tank) {
+            this.tank = tank;
+        }
+    }
+
+    public static class Wheel { }
+
+    public static class Broken {
+        @Inject Wheel wheel;
+    }
+
+    @Interceptor
+    public static class Inspection {
+
+        @AroundInject
+        Object inspect(InvocationContext context) throws Exception {
+            Object dependency = context.proceed();
+            if (dependency instanceof Engine) {
+                INSPECTED.add(((Engine) dependency).injectionPoint.getTarget().getName());
+            }
+
+            return dependency;
+        }
+    }
+
+    @javax.interceptor.InterceptorBinding
+    @java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME)
+    public @interface Timed { }
+
+    @Interceptor @Timed
+    public static class Timer {
+
+        @javax.interceptor.AroundInvoke
+        Object time(InvocationContext context) throws Exception {
+            return "timed " + context.proceed();
+        }
+    }
+
+    public static class Dashboard {
+        @Inject Wheel wheel;
+
+        @Timed
+        public String show() {
+            return "dashboard";
+        }
+    }
+
+    static final List<String> INSPECTED = new CopyOnWriteArrayList<>();
+
+    @Test
+    @DisplayName("should inject dependencies of objects in a sealed world")
+    public void shouldInjectDependencies() {
+        DefaultWorld w = new DefaultWorld();
+        w.getQueue().add(ClassCharacter.of(Engine.class));
+        w.getQueue().add(ClassCharacter.of(Engine.class).knownAs("spare"));
+        w.getQueue().add(ClassCharacter.of(Fuel.class));
+        w.getQueue().add(ClassCharacter.of(Car.class));
+        w.getQueue().flush();
+
+        // built before sealing
+        Car before = w.find(ObjectRequest.of(Car.class));
+
+        w.seal();
+        Car car = w.find(ObjectRequest.of(Car.class));
+        assertThat(car).isNotSameAs(before);
+        assertThat(car.engine).isNotNull().isNotSameAs(before.engine);
+        assertThat(car.engine.injectionPoint.getTarget().getName()).isEqualTo(Car.class.getName());
+        assertThat(car.spare).isNotNull().isNotSameAs(car.engine);
+        assertThat(car.spare.injectionPoint.getTarget().getName()).isEqualTo("spare");
+        assertThat(car.tank).isSameAs(before.tank).isSameAs(car.fuel.get());
+        assertThat(car.wheel).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should invoke AroundInject interceptors for dependencies in a sealed world")
+    public void shouldInvokeAroundInjectInterceptors() {
+        INSPECTED.clear();
+
+        DefaultWorld w = new DefaultWorld();
+        w.getQueue().add(ClassCharacter.of(Engine.class));
+        w.getQueue().add(ClassCharacter.of(Engine.class).knownAs("spare"));
+        w.getQueue().add(ClassCharacter.of(Fuel.class));
+        w.getQueue().add(ClassCharacter.of(Car.class));
+        w.getQueue().add(InterceptorCharacter.of(Inspection.class));
+        w.getQueue().flush();
+        ContainerRegistry before = w.getRegistry();
+        w.seal();
+
+        // the chain is built against the sealed snapshot, not the one it replaced
+        InterceptorRequestKey key = InterceptorRequestKey.of(
+                InterceptorRequest.of(InterceptorType.AROUND_INJECT).matchAll());
+        assertThat(before.getInterceptorChains()).doesNotContainKey(key);
+        assertThat(w.getRegistry().getInterceptorChains()).containsKey(key);
+
+        w.find(ObjectRequest.of(Car.class));
+        assertThat(INSPECTED).containsExactlyInAnyOrder(Car.class.getName(), "spare");
+    }
+
+    @Test
+    @DisplayName("should fail injection of unresolved dependencies in a sealed world")
+    public void shouldFailUnresolvedDependencies() {
+        DefaultWorld w = new DefaultWorld();
+        w.getQueue().add(ClassCharacter.of(Broken.class));
+        w.seal();
+
+        assertThatThrownBy(() -> w.find(ObjectRequest.of(Broken.class)))
+                .hasRootCauseInstanceOf(DependencyLookupException.class);
+    }
+
+    @Test
+    @DisplayName("should not let characters enter a sealed world")
+    public void shouldRejectCharacters() {
+        DefaultWorld w = new DefaultWorld();
+        w.getQueue().add(ClassCharacter.of(Fuel.class));
+        w.seal();
+        w.seal();
+        w.getQueue().flush();
+        assertThat(w.find(ObjectRequest.of(Fuel.class))).isNotNull();
+
+        assertThatThrownBy(() -> w.getQueue().add(ClassCharacter.of(Wheel.class)))
+                .isExactlyInstanceOf(IllegalStateException.class)
+                .hasMessage("Queue is closed, characters can't enter the world");
+        w.getQueue().flush();
+        assertThat(w).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("should resolve a request once and then retrieve objects from its slot in a sealed world")
+    public void shouldResolveRequestToSlot() {
+        DefaultWorld w = new DefaultWorld();
+        w.getQueue().add(ClassCharacter.of(Wheel.class));
+        w.getQueue().add(ClassCharacter.of(Fuel.class));
+        w.getQueue().add(ClassCharacter.of(Wheel.class).knownAs("spare"));
+        w.seal();
+
+        ContainerRegistry snapshot = w.getRegistry();
+        Fuel fuel = w.find(ObjectRequest.of(Fuel.class));
+        ObjectRequest<Wheel> spare = ObjectRequest.of(Wheel.class)
+                .withQualifiers(Collections.singletonList(new NamedQualifier("spare")));
+        Wheel spareWheel = w.find(spare);
+        assertThat(spareWheel).isNotNull();
+        assertThat(w.find(ObjectRequest.of(Car.class).optional())).isNull();
+
+        // equal requests are served from their slots without being resolved again
+        snapshot.getResolvedContainers().clear();
+        assertThat(w.find(ObjectRequest.of(Fuel.class))).isSameAs(fuel);
+        assertThat(w.find(ObjectRequest.of(Wheel.class)
+                .withQualifiers(Collections.singletonList(new NamedQualifier("spare"))))).isNotNull();
+        assertThat(w.find(spare)).isNotNull().isNotSameAs(spareWheel);
+        assertThat(w.find(ObjectRequest.of(Car.class).optional())).isNull();
+        assertThat(snapshot.getResolvedContainers()).isEmpty();
+
+        // request is resolved again once it changes
+        ObjectRequest<Car> optional = ObjectRequest.of(Car.class);
+        assertThatThrownBy(() -> w.find(optional)).isExactlyInstanceOf(DependencyLookupException.class);
+        assertThat(w.find(optional.optional())).isNull();
+    }
+
+    @Test
+    @DisplayName("should inject bound dependencies into intercepted objects in a sealed world")
+    public void shouldInjectBoundDependenciesIntoProxies() {
+        DefaultWorld w = new DefaultWorld();
+        w.getQueue().add(ClassCharacter.of(Wheel.class));
+        w.getQueue().add(ClassCharacter.of(Dashboard.class));
+        w.getQueue().add(InterceptorCharacter.of(Timer.class));
+        w.seal();
+
+        // injection doesn't look up anything, so the lookup cache doesn't get the dependency back
+        ContainerRegistry snapshot = w.getRegistry();
+        snapshot.getResolvedContainers().clear();
+
+        Dashboard dashboard = w.find(ObjectRequest.of(Dashboard.class));
+        assertThat(dashboard.getClass()).isNotEqualTo(Dashboard.class);
+        assertThat(dashboard.show()).isEqualTo("timed dashboard");
+        assertThat(dashboard.wheel).isNotNull();
+        assertThat(snapshot.getResolvedContainers())
+                .doesNotContainKey(RequestKey.of(ObjectRequest.of(Wheel.class), snapshot.getAnnotationIds()));
+    }
+}
@@ -0,0 +1,163 @@
+package ahodanenok.di;
+
+import ahodanenok.di.character.ClassCharacter;
+import ahodanenok.di.character.GeneratedCharacter;
+import ahodanenok.di.character.InterceptorCharacter;
+import ahodanenok.di.exception.DependencyValidationException;
+import ahodanenok.di.inject.DependencyResolver;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Provider;
+import java.lang.reflect.Constructor;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class ValidationTest {
+
+    public interface Engine { }
+    public static class Petrol implements Engine { }
+    public static class Diesel implements Engine { }
+    public static class Wheel { }
+    public static class Missing { }
+
+    public static class Car {
+        @Inject @Named("petrol") Engine engine;
+        @Inject List<Wheel> wheels;
+        @Inject Optional<Missing> missing;
+        @Inject Provider<Wheel> spare;
+
+        @Inject
+        public Car(Wheel wheel) { }
+    }
+
+    public static class Broken {
+        @Inject Engine ambiguous;
+        @Inject Map<String, Wheel> unsupported;
+
+        @Inject
+        public void setMissing(Wheel wheel, Missing missing) { }
+    }
+
+    @javax.interceptor.Interceptor
+    public static class Audit {
+        @Inject Missing missing;
+
+        @Inject
+        public Audit(@Named("diesel") Engine engine, Missing missing) { }
+    }
+
+    public static class Garage {
+        @Inject Missing missing;
+
+        @Inject
+        public Garage(Wheel wheel) { }
+    }
+
+    // what the processor would generate for Garage
+    public static class Garage_Character extends GeneratedCharacter<Garage> {
+
+        public Garage_Character() {
+            super(Garage.class);
+        }
+
+        @Override
+        public Constructor<Garage> getConstructor() {
+            try {
+                return Garage.class.getDeclaredConstructor(Wheel.class);
+            } catch (NoSuchMethodException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public Object[] resolveArguments(DependencyResolver resolver) {
+            return new Object[] { resolver.get(Wheel.class) };
+        }
+
+        @Override
+        public Garage newInstance(Object[] args) {
+            return new Garage((Wheel) args[0]);
+        }
+
+        @Override
+        public void injectMembers(Garage instance, DependencyResolver resolver) {
+            instance.missing = resolver.get(Missing.class);
+        }
+    }
+
+    @Test
+    @DisplayName("should pass validation if all dependencies can be injected")
+    public void shouldPass() {
+        DefaultWorld w = new DefaultWorld();
+        w.getQueue().add(ClassCharacter.of(Petrol.class).knownAs("petrol"));
+        w.getQueue().add(ClassCharacter.of(Diesel.class).knownAs("diesel"));
+        w.getQueue().add(ClassCharacter.of(Wheel.class));
+        w.getQueue().add(ClassCharacter.of(Car.class));
+        w.getQueue().flush();
+
+        assertThatCode(w::validate).doesNotThrowAnyException();
+        assertThat(w.find(ObjectRequest.of(Car.class)).engine).isInstanceOf(Petrol.class);
+    }
+
+    @Test
+    @DisplayName("should report all problems with dependencies at once")
+    public void shouldReportAllProblems() {
+        DefaultWorld w = new DefaultWorld();
+        w.getQueue().add(ClassCharacter.of(Petrol.class).knownAs("petrol"));
+        w.getQueue().add(ClassCharacter.of(Diesel.class).knownAs("diesel"));
+        w.getQueue().add(ClassCharacter.of(Wheel.class));
+        w.getQueue().add(ClassCharacter.of(Broken.class));
+        w.getQueue().flush();
+
+        assertThatThrownBy(w::validate)
+                .isInstanceOfSatisfying(DependencyValidationException.class, e -> assertThat(e.getProblems())
+                        .hasSize(3)
+                        .anyMatch(p -> p.startsWith("Field") && p.contains("ambiguous") && p.contains("Multiple"))
+                        .anyMatch(p -> p.contains("unsupported") && p.contains("not supported"))
+                        .anyMatch(p -> p.startsWith("Parameter 1") && p.contains("No dependencies")));
+    }
+
+    @Test
+    @DisplayName("should report problems with dependencies of interceptors")
+    public void shouldReportProblemsOfInterceptors() {
+        DefaultWorld w = new DefaultWorld();
+        w.getQueue().add(ClassCharacter.of(Diesel.class).knownAs("diesel"));
+        w.getQueue().add(InterceptorCharacter.of(Audit.class));
+        w.getQueue().flush();
+
+        assertThatThrownBy(w::validate)
+                .isInstanceOfSatisfying(DependencyValidationException.class, e -> assertThat(e.getProblems())
+                        .hasSize(2)
+                        .anyMatch(p -> p.startsWith("Field") && p.contains("missing") && p.contains("No dependencies"))
+                        .anyMatch(p -> p.startsWith("Parameter 1") && p.contains("Audit")));
+
+        w.getQueue().add(ClassCharacter.of(Missing.class));
+        w.getQueue().flush();
+        assertThatCode(w::validate).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("should report problems with dependencies of generated characters")
+    public void shouldReportProblemsOfGeneratedCharacters() {
+        DefaultWorld w = new DefaultWorld();
+        w.getQueue().add(new Garage_Character());
+        w.getQueue().flush();
+
+        assertThatThrownBy(w::validate)
+                .isInstanceOfSatisfying(DependencyValidationException.class, e -> assertThat(e.getProblems())
+                        .hasSize(2)
+                        .anyMatch(p -> p.startsWith("Field") && p.contains("missing") && p.contains("No dependencies"))
+                        .anyMatch(p -> p.startsWith("Parameter 0") && p.contains("Garage")));
+
+        w.getQueue().add(ClassCharacter.of(Wheel.class));
+        w.getQueue().add(ClassCharacter.of(Missing.class));
+        w.getQueue().flush();
+        assertThatCode(w::validate).doesNotThrowAnyException();
+    }
+}
@@ -0,0 +1,141 @@
+package ahodanenok.di.access;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.InvocationTargetException;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class AccessorsTest {
+
+    private static class Box {
+        private static String label;
+
+        private final long size;
+        private String color;
+        private final String material;
+
+        private Box(long size, String color) {
+            this.size = size;
+            this.color = color;
+            this.material = "wood";
+        }
+
+        private String describe(String prefix, int count) {
+            return prefix + ":" + color + ":" + size + ":" + count;
+        }
+
+        private static String label(String value) {
+            return "label:" + value;
+        }
+
+        void fail() {
+            throw new IllegalStateException("failed");
+        }
+    }
+
+    @Test
+    @DisplayName("should create object using private constructor")
+    public void constructor() throws Exception {
+        ConstructorAccessor<Box> accessor =
+                Accessors.of(Box.class.getDeclaredConstructor(long.class, String.class));
+
+        Box box = accessor.newInstance(new Object[] { 10L, "red" });
+        assertThat(box.size).isEqualTo(10L);
+        assertThat(box.color).isEqualTo("red");
+    }
+
+    @Test
+    @DisplayName("should invoke private instance and static methods")
+    public void methods() throws Exception {
+        Box box = new Box(5, "green");
+
+        assertThat(Accessors.of(Box.class.getDeclaredMethod("describe", String.class, int.class))
+                .invoke(box, new Object[] { "box", 3 })).isEqualTo("box:green:5:3");
+        assertThat(Accessors.of(Box.class.getDeclaredMethod("label", String.class))
+                .invoke(null, new Object[] { "a" })).isEqualTo("label:a");
+    }
+
+    @Test
+    @DisplayName("should invoke method with a single argument")
+    public void singleArgument() throws Exception {
+        MethodAccessor accessor = Accessors.of(Box.class.getDeclaredMethod("label", String.class));
+
+        assertThat(accessor.invoke1(null, "b")).isEqualTo("label:b");
+        assertThatThrownBy(() -> accessor.invoke1(null, 1))
+                .isExactlyInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Accessors.of(Box.class.getDeclaredMethod("fail")).invoke1(new Box(1, "blue"), "a"))
+                .isExactlyInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("should wrap exception thrown by method")
+    public void methodException() throws Exception {
+        MethodAccessor accessor = Accessors.of(Box.class.getDeclaredMethod("fail"));
+
+        assertThatThrownBy(() -> accessor.invoke(new Box(1, "blue"), new Object[0]))
+                .isExactlyInstanceOf(InvocationTargetException.class)
+                .hasCauseExactlyInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("should reject arguments and objects the same as reflection")
+    public void invalidArguments() throws Exception {
+        MethodAccessor accessor = Accessors.of(Box.class.getDeclaredMethod("describe", String.class, int.class));
+        Box box = new Box(5, "green");
+
+        assertThatThrownBy(() -> accessor.invoke(box, new Object[] { "box" }))
+                .isExactlyInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> accessor.invoke(box, new Object[] { "box", "3" }))
+                .isExactlyInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> accessor.invoke(box, new Object[] { "box", null }))
+                .isExactlyInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> accessor.invoke(box, new Object[] { "box", 3L }))
+                .isExactlyInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> accessor.invoke(null, new Object[] { "box", 3 }))
+                .isExactlyInstanceOf(NullPointerException.class);
+        assertThatThrownBy(() -> accessor.invoke("box", new Object[] { "box", 3 }))
+                .isExactlyInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Accessors.of(Box.class.getDeclaredField("color")).set(box, 1))
+                .isExactlyInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Accessors.of(Box.class.getDeclaredConstructor(long.class, String.class))
+                .newInstance(new Object[] { "10", "red" }))
+                .isExactlyInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("should widen primitive arguments the same as reflection")
+    public void widening() throws Exception {
+        Box box = Accessors.of(Box.class.getDeclaredConstructor(long.class, String.class))
+                .newInstance(new Object[] { 'a', "red" });
+        assertThat(box.size).isEqualTo(97L);
+
+        assertThat(Accessors.of(Box.class.getDeclaredMethod("describe", String.class, int.class))
+                .invoke(box, new Object[] { "box", (short) 3 })).isEqualTo("box:red:97:3");
+    }
+
+    @Test
+    @DisplayName("should set instance, final and static fields")
+    public void fields() throws Exception {
+        Box box = new Box(1, "red");
+
+        Accessors.of(Box.class.getDeclaredField("color")).set(box, "yellow");
+        assertThat(box.color).isEqualTo("yellow");
+
+        Accessors.of(Box.class.getDeclaredField("label")).set(null, "fragile");
+        assertThat(Box.label).isEqualTo("fragile");
+
+        Accessors.of(Box.class.getDeclaredField("material")).set(box, "paper");
+        assertThat(box.material).isEqualTo("paper");
+    }
+
+    @Test
+    @DisplayName("should return the same accessor for the same member")
+    public void cached() throws Exception {
+        assertThat(Accessors.of(Box.class.getDeclaredMethod("fail")))
+                .isSameAs(Accessors.of(Box.class.getDeclaredMethod("fail")));
+        assertThat(Accessors.of(Box.class.getDeclaredField("color")))
+                .isSameAs(Accessors.of(Box.class.getDeclaredField("color")));
+    }
+}
@@ -0,0 +1,101 @@
+package ahodanenok.di.access;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Member;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class ObjectFactoryGeneratorTest {
+
+    public static class Engine { }
+
+    public static class Car {
+
+        public final Engine engine;
+        public final long mileage;
+        public String name;
+        public int wheels;
+        public Engine spare;
+
+        public Car(Engine engine, long mileage) {
+            this.engine = engine;
+            this.mileage = mileage;
+        }
+
+        public long setSpare(Engine spare, boolean flag) {
+            this.spare = flag ? spare : null;
+            return 1L;
+        }
+
+        public void crash() {
+            throw new IllegalStateException("crashed");
+        }
+    }
+
+    private static class Hidden {
+        public Hidden() { }
+    }
+
+    @Test
+    @DisplayName("should create object with generated factory")
+    public void create() throws Exception {
+        ObjectFactory<Car> factory = ObjectFactoryGenerator.generate(
+                Car.class.getConstructor(Engine.class, long.class), Collections.emptyList());
+        assertThat(factory).isNotNull();
+
+        Engine engine = new Engine();
+        Car car = factory.newInstance(new Object[] { engine, 100L });
+        assertThat(car.engine).isSameAs(engine);
+        assertThat(car.mileage).isEqualTo(100L);
+    }
+
+    @Test
+    @DisplayName("should inject fields and methods with generated factory")
+    public void inject() throws Exception {
+        ObjectFactory<Car> factory = ObjectFactoryGenerator.generate(
+                Car.class.getConstructor(Engine.class, long.class),
+                Arrays.<Member>asList(
+                        Car.class.getField("name"),
+                        Car.class.getField("wheels"),
+                        Car.class.getMethod("setSpare", Engine.class, boolean.class)));
+        assertThat(factory).isNotNull();
+
+        Engine spare = new Engine();
+        Car car = new Car(new Engine(), 0);
+        factory.inject(car, new Object[] { "cabrio", 4, new Object[] { spare, true } });
+        assertThat(car.name).isEqualTo("cabrio");
+        assertThat(car.wheels).isEqualTo(4);
+        assertThat(car.spare).isSameAs(spare);
+    }
+
+    @Test
+    @DisplayName("should wrap exceptions thrown by members")
+    public void exception() throws Exception {
+        ObjectFactory<Car> factory = ObjectFactoryGenerator.generate(
+                Car.class.getConstructor(Engine.class, long.class),
+                Collections.singletonList(Car.class.getMethod("crash")));
+        assertThat(factory).isNotNull();
+
+        assertThatThrownBy(() -> factory.inject(new Car(new Engine(), 0), new Object[] { new Object[0] }))
+                .isExactlyInstanceOf(InvocationTargetException.class)
+                .hasCauseExactlyInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("should not generate factory if class or members are not accessible")
+    public void notAccessible() throws Exception {
+        assertThat(ObjectFactoryGenerator.generate(
+                Hidden.class.getConstructor(), Collections.emptyList())).isNull();
+        assertThat(ObjectFactoryGenerator.generate(
+                Car.class.getConstructor(Engine.class, long.class),
+                Collections.singletonList(Car.class.getField("engine")))).isNull();
+        assertThat(ObjectFactoryGenerator.generate(
+                Car.class.getConstructor(Engine.class, long.class),
+                Collections.singletonList(Hidden.class.getConstructor()))).isNull();
+    }
+}
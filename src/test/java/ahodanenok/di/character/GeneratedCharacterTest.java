@@ -0,0 +1,159 @@
+package ahodanenok.di.character;
+
+import ahodanenok.di.DefaultWorld;
+import ahodanenok.di.ObjectRequest;
+import ahodanenok.di.inject.DependencyResolver;
+import ahodanenok.di.interceptor.InterceptorType;
+import ahodanenok.di.scope.SingletonScope;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.interceptor.InvocationContext;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class GeneratedCharacterTest {
+
+    public static class Engine { }
+
+    public static class Car {
+        public final Engine engine;
+        public Engine spare;
+        public List<String> events = new ArrayList<>();
+
+        public Car(Engine engine) {
+            this.engine = engine;
+        }
+
+        public void init() {
+            events.add("init");
+        }
+    }
+
+    // what the processor would generate for Car
+    public static class Car_Character extends GeneratedCharacter<Car> {
+
+        public Car_Character() {
+            super(Car.class);
+        }
+
+        @Override
+        public Constructor<Car> getConstructor() {
+            try {
+                return Car.class.getDeclaredConstructor(Engine.class);
+            } catch (NoSuchMethodException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public Object[] resolveArguments(DependencyResolver resolver) {
+            return new Object[] { resolver.get(Engine.class) };
+        }
+
+        @Override
+        public Car newInstance(Object[] args) {
+            return new Car((Engine) args[0]);
+        }
+
+        @Override
+        public void injectMembers(Car instance, DependencyResolver resolver) {
+            instance.spare = resolver.get(Engine.class);
+        }
+
+        @Override
+        public boolean hasInterceptorMethod(InterceptorType type) {
+            return InterceptorType.POST_CONSTRUCT.equals(type);
+        }
+
+        @Override
+        public Method getInterceptorMethod(InterceptorType type) {
+            try {
+                return InterceptorType.POST_CONSTRUCT.equals(type) ? Car.class.getDeclaredMethod("init") : null;
+            } catch (NoSuchMethodException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public void invokeInterceptorMethod(InterceptorType type, Car instance) {
+            if (InterceptorType.POST_CONSTRUCT.equals(type)) {
+                instance.init();
+            }
+        }
+    }
+
+    public static class Interceptor {
+        public Object aroundConstruct(InvocationContext context) throws Exception {
+            Object instance = context.proceed();
+            ((Car) context.getTarget()).events.add("constructed " + context.getConstructor().getName());
+            return instance;
+        }
+
+        public Object postConstruct(InvocationContext context) throws Exception {
+            ((Car) context.getTarget()).events.add("post construct " + System.identityHashCode(this));
+            return context.proceed();
+        }
+
+        public Object preDestroy(InvocationContext context) throws Exception {
+            ((Car) context.getTarget()).events.add("pre destroy " + System.identityHashCode(this));
+            return context.proceed();
+        }
+    }
+
+    @Test
+    @DisplayName("should create and inject object with generated code")
+    public void create() {
+        DefaultWorld world = new DefaultWorld();
+        world.getQueue().add(ClassCharacter.of(Engine.class));
+        world.getQueue().add(new Car_Character().scopedBy(new SingletonScope<>()));
+        world.getQueue().flush();
+
+        Car car = world.find(ObjectRequest.of(Car.class));
+        assertThat(car).isSameAs(world.find(ObjectRequest.of(Car.class)));
+        assertThat(car.engine).isNotNull();
+        assertThat(car.spare).isNotNull().isNotSameAs(car.engine);
+        assertThat(car.events).containsExactly("init");
+    }
+
+    @Test
+    @DisplayName("should invoke interceptors with the looked up constructor")
+    public void intercept() throws Exception {
+        DefaultWorld world = new DefaultWorld();
+        world.getQueue().add(ClassCharacter.of(Engine.class));
+        world.getQueue().add(InterceptorCharacter.of(Interceptor.class)
+                .intercepts(InterceptorType.AROUND_CONSTRUCT,
+                        Interceptor.class.getDeclaredMethod("aroundConstruct", InvocationContext.class)));
+        world.getQueue().add(new Car_Character().interceptedBy(Interceptor.class));
+        world.getQueue().flush();
+
+        Car car = world.find(ObjectRequest.of(Car.class));
+        assertThat(car.events).containsExactly("constructed " + Car.class.getName(), "init");
+    }
+
+    @Test
+    @DisplayName("should invoke PreDestroy interceptors on the instances associated with the object")
+    public void destroy() throws Exception {
+        DefaultWorld world = new DefaultWorld();
+        world.getQueue().add(ClassCharacter.of(Engine.class));
+        world.getQueue().add(InterceptorCharacter.of(Interceptor.class)
+                .intercepts(InterceptorType.POST_CONSTRUCT,
+                        Interceptor.class.getDeclaredMethod("postConstruct", InvocationContext.class))
+                .intercepts(InterceptorType.PRE_DESTROY,
+                        Interceptor.class.getDeclaredMethod("preDestroy", InvocationContext.class)));
+        world.getQueue().add(new Car_Character().interceptedBy(Interceptor.class).scopedBy(new SingletonScope<>()));
+        world.getQueue().flush();
+
+        Car car = world.find(ObjectRequest.of(Car.class));
+        world.destroy();
+
+        assertThat(car.events).hasSize(3);
+        assertThat(car.events.get(0)).startsWith("post construct ");
+        assertThat(car.events.get(1)).isEqualTo("init");
+        assertThat(car.events.get(2)).isEqualTo("pre destroy " + car.events.get(0).substring("post construct ".length()));
+    }
+}
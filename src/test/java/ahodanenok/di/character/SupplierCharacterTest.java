@@ -0,0 +1,129 @@
+package ahodanenok.di.character;
+
+import ahodanenok.di.DefaultWorld;
+import ahodanenok.di.ObjectRequest;
+import ahodanenok.di.container.InjectableContainer;
+import ahodanenok.di.exception.ObjectRetrievalException;
+import ahodanenok.di.scope.SingletonScope;
+import ahodanenok.di.util.NamedQualifier;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class SupplierCharacterTest {
+
+    public static class Engine { }
+
+    public static class Car {
+        public final Engine engine;
+        public final Engine spare;
+
+        public Car(Engine engine, Engine spare) {
+            this.engine = engine;
+            this.spare = spare;
+        }
+    }
+
+    public static class Garage {
+        @Inject Car car;
+    }
+
+    @Test
+    @DisplayName("should create object with factory and resolve its dependencies")
+    public void create() {
+        DefaultWorld world = new DefaultWorld();
+        world.getQueue().add(ClassCharacter.of(Engine.class));
+        world.getQueue().add(SupplierCharacter.of(Engine.class, __ -> new Engine()).knownAs("spare"));
+        world.getQueue().add(SupplierCharacter.of(Car.class, resolver -> new Car(
+                        resolver.get(Engine.class),
+                        resolver.get(Engine.class, new NamedQualifier("spare"))))
+                .scopedBy(new SingletonScope<>())
+                .knownAs("car"));
+        world.getQueue().add(ClassCharacter.of(Garage.class));
+        world.getQueue().flush();
+
+        Car car = world.find(ObjectRequest.of(Car.class));
+        assertThat(car).isSameAs(world.findByName("car"));
+        assertThat(car.engine).isNotNull();
+        assertThat(car.spare).isNotNull().isNotSameAs(car.engine);
+        assertThat(world.find(ObjectRequest.of(Garage.class)).car).isSameAs(car);
+    }
+
+    @Test
+    @DisplayName("should retrieve eager object when character enters the world")
+    public void eager() {
+        AtomicInteger created = new AtomicInteger();
+
+        DefaultWorld world = new DefaultWorld();
+        world.getQueue().add(SupplierCharacter.of(Engine.class, __ -> {
+            created.incrementAndGet();
+            return new Engine();
+        }).scopedBy(new SingletonScope<>()).eager());
+        world.getQueue().flush();
+        assertThat(created).hasValue(1);
+
+        world.find(ObjectRequest.of(Engine.class));
+        assertThat(created).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("should fail if factory doesn't create object")
+    public void fail() {
+        DefaultWorld world = new DefaultWorld();
+        world.getQueue().add(SupplierCharacter.of(Engine.class, __ -> null));
+        world.getQueue().add(SupplierCharacter.of(Car.class, __ -> {
+            throw new IllegalArgumentException("no engine");
+        }));
+        world.getQueue().flush();
+
+        assertThatThrownBy(() -> world.find(ObjectRequest.of(Engine.class)))
+                .isExactlyInstanceOf(ObjectRetrievalException.class)
+                .hasMessage("Can't get object of type '%s'", Engine.class.getName());
+        assertThatThrownBy(() -> world.find(ObjectRequest.of(Car.class)))
+                .isExactlyInstanceOf(ObjectRetrievalException.class)
+                .hasRootCauseMessage("no engine");
+    }
+
+    @Test
+    @DisplayName("should invoke callbacks on constructed and destroyed objects")
+    public void callbacks() {
+        List<String> events = new ArrayList<>();
+
+        DefaultWorld world = new DefaultWorld();
+        world.getQueue().add(SupplierCharacter.of(Engine.class, __ -> {
+                    events.add("created");
+                    return new Engine();
+                })
+                .scopedBy(new SingletonScope<>())
+                .onConstruct(engine -> events.add("constructed " + engine.getClass().getSimpleName()))
+                .onDestroy(engine -> events.add("destroyed " + engine.getClass().getSimpleName())));
+        world.getQueue().flush();
+
+        Engine engine = world.find(ObjectRequest.of(Engine.class));
+        assertThat(world.find(ObjectRequest.of(Engine.class))).isSameAs(engine);
+        assertThat(events).containsExactly("created", "constructed Engine");
+
+        world.destroy();
+        assertThat(events).containsExactly("created", "constructed Engine", "destroyed Engine");
+    }
+
+    @Test
+    @DisplayName("should not know dependencies resolved by factory")
+    public void dependencies() {
+        DefaultWorld world = new DefaultWorld();
+        world.getQueue().add(SupplierCharacter.of(Car.class, resolver -> new Car(
+                resolver.get(Engine.class), resolver.get(Engine.class))));
+        world.getQueue().flush();
+
+        assertThat(((InjectableContainer<?>) world.iterator().next()).getInjectionPoints()).isEmpty();
+        assertThatCode(world::validate).doesNotThrowAnyException();
+        assertThatThrownBy(() -> world.find(ObjectRequest.of(Car.class)))
+                .isExactlyInstanceOf(ObjectRetrievalException.class);
+    }
+}
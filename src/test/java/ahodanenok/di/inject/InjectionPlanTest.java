@@ -0,0 +1,74 @@
+package ahodanenok.di.inject;
+
+import ahodanenok.di.util.NamedQualifier;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import java.lang.reflect.Member;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class InjectionPlanTest {
+
+    static class Base {
+        @Inject String baseField;
+        String notInjected;
+        @Inject static String staticField;
+
+        @Inject void baseMethod(String a) { }
+        @Inject void overridden(String a) { }
+        @Inject static void staticMethod(String a) { }
+    }
+
+    static class Derived extends Base {
+        @Inject @Named("x") String derivedField;
+
+        @Inject void derivedMethod(String a, @Named("y") String b) { }
+        @Override @Inject void overridden(String a) { }
+    }
+
+    @Test
+    @DisplayName("should list injectable members starting from superclass, fields before methods")
+    public void injectionOrder() throws Exception {
+        assertThat(InjectionPlan.of(Derived.class).getMembers())
+                .extracting(InjectionPlan.InjectableMember::getMember)
+                .containsExactly(
+                        Base.class.getDeclaredField("baseField"),
+                        Base.class.getDeclaredMethod("baseMethod", String.class),
+                        Derived.class.getDeclaredField("derivedField"),
+                        Derived.class.getDeclaredMethod("derivedMethod", String.class, String.class),
+                        Derived.class.getDeclaredMethod("overridden", String.class));
+    }
+
+    @Test
+    @DisplayName("should read injection points of members")
+    public void injectionPoints() throws Exception {
+        InjectionPlan.InjectableMember field = InjectionPlan.of(Derived.class).getMembers().get(2);
+        assertThat(field.isField()).isTrue();
+        assertThat(field.getInjectionPoints()).hasSize(1);
+        assertThat(field.getInjectionPoints().get(0).getQualifiers()).containsExactly(new NamedQualifier("x"));
+
+        InjectionPlan.InjectableMember method = InjectionPlan.of(Derived.class).getMembers().get(3);
+        assertThat(method.isField()).isFalse();
+        assertThat(method.getInjectionPoints()).hasSize(2);
+        assertThat(method.getInjectionPoints().get(0).getParameterIndex()).isEqualTo(0);
+        assertThat(method.getInjectionPoints().get(0).getQualifiers()).isEmpty();
+        assertThat(method.getInjectionPoints().get(1).getParameterIndex()).isEqualTo(1);
+        assertThat(method.getInjectionPoints().get(1).getQualifiers()).containsExactly(new NamedQualifier("y"));
+    }
+
+    @Test
+    @DisplayName("should compute plan once per class")
+    public void cached() {
+        assertThat(InjectionPlan.of(Derived.class)).isSameAs(InjectionPlan.of(Derived.class));
+        assertThat(InjectionPlan.of(Base.class)).isNotSameAs(InjectionPlan.of(Derived.class));
+        assertThat(InjectionPlan.of(Base.class).getMembers().stream()
+                .map(InjectionPlan.InjectableMember::getMember)
+                .map(Member::getName)
+                .collect(Collectors.toList()))
+                .containsExactly("baseField", "baseMethod", "overridden");
+    }
+}
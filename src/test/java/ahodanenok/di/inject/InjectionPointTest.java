@@ -11,8 +11,11 @@ import org.junit.jupiter.api.Test;
 import javax.inject.Inject;
 import javax.inject.Provider;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.*;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -239,4 +242,80 @@ public class InjectionPointTest {
         assertThat(holder.field.injectionPoint.iterator().next().getTarget())
                 .isEqualTo(InjectionPointCollectionHolder.class.getDeclaredField("field"));
     }
+
+    private static class SlowFiller {
+        public SlowFiller() throws InterruptedException {
+            // let other threads push their injection points meanwhile
+            Thread.sleep(1);
+        }
+    }
+
+    private static class SlowInjectionPointConstructor {
+
+        InjectionPoint injectionPoint;
+
+        @Inject
+        SlowInjectionPointConstructor(SlowFiller filler, InjectionPoint injectionPoint) {
+            this.injectionPoint = injectionPoint;
+        }
+    }
+
+    private static class FirstHolder {
+
+        SlowInjectionPointConstructor constructor;
+
+        @Inject
+        FirstHolder(SlowInjectionPointConstructor constructor) {
+            this.constructor = constructor;
+        }
+    }
+
+    private static class SecondHolder {
+
+        SlowInjectionPointConstructor constructor;
+
+        @Inject
+        SecondHolder(SlowInjectionPointConstructor constructor) {
+            this.constructor = constructor;
+        }
+    }
+
+    @Test
+    @DisplayName("should inject InjectionPoint of the current thread when objects are requested concurrently")
+    public void injectInjectionPointConcurrently() throws Exception {
+        DefaultWorld w = new DefaultWorld();
+        w.getQueue().add(ClassCharacter.of(SlowFiller.class));
+        w.getQueue().add(ClassCharacter.of(SlowInjectionPointConstructor.class));
+        w.getQueue().add(ClassCharacter.of(FirstHolder.class));
+        w.getQueue().add(ClassCharacter.of(SecondHolder.class));
+        w.getQueue().flush();
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                if (i % 2 == 0) {
+                    results.add(executor.submit(() -> {
+                        FirstHolder holder = w.find(ObjectRequest.of(FirstHolder.class));
+                        assertThat(holder.constructor.injectionPoint.getTarget().getDeclaringClass())
+                                .isEqualTo(FirstHolder.class);
+                        return null;
+                    }));
+                } else {
+                    results.add(executor.submit(() -> {
+                        SecondHolder holder = w.find(ObjectRequest.of(SecondHolder.class));
+                        assertThat(holder.constructor.injectionPoint.getTarget().getDeclaringClass())
+                                .isEqualTo(SecondHolder.class);
+                        return null;
+                    }));
+                }
+            }
+
+            for (Future<?> result : results) {
+                result.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
 }
@@ -31,6 +31,28 @@ public class InjectionTest {
         assertThat(fc.color).isExactlyInstanceOf(Color.class);
     }
 
+    @Test
+    @DisplayName("should inject members using generated factory")
+    public void injectMembersGeneratedFactory() throws Exception {
+        DefaultWorld w = new DefaultWorld();
+        w.useGeneratedFactories(true);
+        w.getQueue().add(ClassCharacter.of(FoodContainer.class));
+        w.getQueue().add(ClassCharacter.of(Bread.class));
+        w.getQueue().add(ClassCharacter.of(Butter.class));
+        w.getQueue().add(ClassCharacter.of(Capacity.class));
+        w.getQueue().add(ClassCharacter.of(Color.class));
+        w.getQueue().flush();
+
+        FoodContainer fc = w.find(ObjectRequest.of(FoodContainer.class));
+        assertThat(fc.bread).isExactlyInstanceOf(Bread.class);
+        assertThat(fc.butter).isExactlyInstanceOf(Butter.class);
+        assertThat(fc.capacity).isExactlyInstanceOf(Capacity.class);
+        assertThat(fc.color).isExactlyInstanceOf(Color.class);
+
+        assertThat(InjectionPlan.of(FoodContainer.class).getObjectFactory(FoodContainer.class.getConstructor()))
+                .isNotNull();
+    }
+
     @Test
     @DisplayName("should throw error if no dependencies match")
     public void errorNoDependencies() {
@@ -3,6 +3,8 @@ package ahodanenok.di.inject;
 import ahodanenok.di.DefaultWorld;
 import ahodanenok.di.ObjectRequest;
 import ahodanenok.di.character.ClassCharacter;
+import ahodanenok.di.exception.DependencyInjectionException;
+import ahodanenok.di.exception.DependencyLookupException;
 import ahodanenok.di.inject.classes.*;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -43,6 +45,29 @@ public class ProviderTest {
         assertThat(cup.provider.get()).isExactlyInstanceOf(Water.class);
     }
 
+    @Test
+    @DisplayName("should resolve provider again after registration")
+    public void providerRegistration() {
+        DefaultWorld w = new DefaultWorld();
+        w.getQueue().add(ClassCharacter.of(Tea.class));
+        w.getQueue().add(ClassCharacter.of(ProviderCup.class));
+        w.getQueue().flush();
+
+        ProviderCup cup = w.find(ObjectRequest.of(ProviderCup.class));
+        assertThat(cup.provider.get()).isExactlyInstanceOf(Tea.class).isNotSameAs(cup.provider.get());
+
+        // object without qualifiers is preferred
+        w.getQueue().add(ClassCharacter.of(Water.class));
+        w.getQueue().flush();
+        assertThat(cup.provider.get()).isExactlyInstanceOf(Water.class);
+
+        w.getQueue().add(ClassCharacter.of(Water.class));
+        w.getQueue().flush();
+        assertThatThrownBy(() -> cup.provider.get())
+                .isInstanceOf(DependencyInjectionException.class)
+                .hasCauseInstanceOf(DependencyLookupException.class);
+    }
+
     private static class ProviderProviderProviderCup {
 
         public ProviderProviderProviderCup() { }
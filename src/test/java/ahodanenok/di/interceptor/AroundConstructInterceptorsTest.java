@@ -5,11 +5,13 @@ import ahodanenok.di.ObjectRequest;
 import ahodanenok.di.character.ClassCharacter;
 import ahodanenok.di.character.InterceptorCharacter;
 import ahodanenok.di.interceptor.context.ObjectInvocationContext;
+import ahodanenok.di.scope.SingletonScope;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import javax.inject.Inject;
+import javax.inject.Singleton;
 import javax.interceptor.AroundConstruct;
 import javax.interceptor.InvocationContext;
 
@@ -57,6 +59,33 @@ public class AroundConstructInterceptorsTest {
         }
     }
 
+    public static class LifecycleInterceptor {
+        public static List<Object> instances = new ArrayList<>();
+
+        public Object aroundConstruct(InvocationContext context) throws Exception {
+            instances.add(this);
+            return context.proceed();
+        }
+
+        public Object postConstruct(InvocationContext context) throws Exception {
+            instances.add(this);
+            return context.proceed();
+        }
+
+        public Object preDestroy(InvocationContext context) throws Exception {
+            instances.add(this);
+            return context.proceed();
+        }
+    }
+
+    @Singleton
+    public static class SingletonInterceptor extends LifecycleInterceptor {
+        @Override
+        public Object aroundConstruct(InvocationContext context) throws Exception {
+            return super.aroundConstruct(context);
+        }
+    }
+
     @BeforeEach
     public void beforeEach() {
         calledInterceptors = new ArrayList<>();
@@ -227,4 +256,91 @@ public class AroundConstructInterceptorsTest {
         B object = w.find(ObjectRequest.of(B.class));
         assertThat(object.dependency.value).isEqualTo("from interceptor 3");
     }
+
+    @Test
+    public void shouldInvokeInterceptorRegisteredAfterObjectWasCreated() throws Exception {
+        DefaultWorld w = new DefaultWorld();
+        w.getQueue().add(ClassCharacter.of(A.class).interceptedBy(Interceptor_1.class));
+        w.getQueue().flush();
+
+        assertThat(w.find(ObjectRequest.of(A.class))).isExactlyInstanceOf(A.class);
+        assertThat(calledInterceptors).isEmpty();
+
+        w.getQueue().add(InterceptorCharacter.of(Interceptor_1.class)
+                .intercepts(
+                        InterceptorType.AROUND_CONSTRUCT,
+                        Interceptor_1.class.getDeclaredMethod("interceptor", InvocationContext.class)));
+        w.getQueue().flush();
+
+        assertThat(w.find(ObjectRequest.of(A.class))).isExactlyInstanceOf(A.class);
+        assertThat(w.find(ObjectRequest.of(A.class))).isExactlyInstanceOf(A.class);
+        assertThat(calledInterceptors).containsExactly("interceptor 1", "interceptor 1");
+    }
+
+    @Test
+    public void shouldInvokeLifecycleInterceptorsOnInstanceAssociatedWithTarget() throws Exception {
+        LifecycleInterceptor.instances.clear();
+        DefaultWorld w = new DefaultWorld();
+        w.getQueue().add(InterceptorCharacter.of(LifecycleInterceptor.class)
+                .intercepts(
+                        InterceptorType.AROUND_CONSTRUCT,
+                        LifecycleInterceptor.class.getDeclaredMethod("aroundConstruct", InvocationContext.class))
+                .intercepts(
+                        InterceptorType.POST_CONSTRUCT,
+                        LifecycleInterceptor.class.getDeclaredMethod("postConstruct", InvocationContext.class)));
+        w.getQueue().add(ClassCharacter.of(A.class).interceptedBy(LifecycleInterceptor.class));
+        w.getQueue().flush();
+
+        w.find(ObjectRequest.of(A.class));
+        w.find(ObjectRequest.of(A.class));
+
+        List<Object> instances = LifecycleInterceptor.instances;
+        assertThat(instances).hasSize(4);
+        assertThat(instances.get(0)).isSameAs(instances.get(1));
+        assertThat(instances.get(2)).isSameAs(instances.get(3));
+        assertThat(instances.get(0)).isNotSameAs(instances.get(2));
+    }
+
+    @Test
+    public void shouldInvokeInterceptorsAccordingToInterceptorScope() throws Exception {
+        LifecycleInterceptor.instances.clear();
+        DefaultWorld w = new DefaultWorld();
+        w.getQueue().add(InterceptorCharacter.of(SingletonInterceptor.class)
+                .intercepts(
+                        InterceptorType.AROUND_CONSTRUCT,
+                        SingletonInterceptor.class.getDeclaredMethod("aroundConstruct", InvocationContext.class)));
+        w.getQueue().add(ClassCharacter.of(A.class).interceptedBy(SingletonInterceptor.class));
+        w.getQueue().flush();
+
+        w.find(ObjectRequest.of(A.class));
+        w.find(ObjectRequest.of(A.class));
+
+        List<Object> instances = LifecycleInterceptor.instances;
+        assertThat(instances).hasSize(2);
+        assertThat(instances.get(0)).isSameAs(instances.get(1));
+    }
+
+    @Test
+    public void shouldInvokePreDestroyInterceptorsOnInstanceAssociatedWithTarget() throws Exception {
+        LifecycleInterceptor.instances.clear();
+        DefaultWorld w = new DefaultWorld();
+        w.getQueue().add(InterceptorCharacter.of(LifecycleInterceptor.class)
+                .intercepts(
+                        InterceptorType.POST_CONSTRUCT,
+                        LifecycleInterceptor.class.getDeclaredMethod("postConstruct", InvocationContext.class))
+                .intercepts(
+                        InterceptorType.PRE_DESTROY,
+                        LifecycleInterceptor.class.getDeclaredMethod("preDestroy", InvocationContext.class)));
+        w.getQueue().add(ClassCharacter.of(A.class)
+                .interceptedBy(LifecycleInterceptor.class)
+                .scopedBy(new SingletonScope<>()));
+        w.getQueue().flush();
+
+        w.find(ObjectRequest.of(A.class));
+        w.destroy();
+
+        List<Object> instances = LifecycleInterceptor.instances;
+        assertThat(instances).hasSize(2);
+        assertThat(instances.get(0)).isSameAs(instances.get(1));
+    }
 }
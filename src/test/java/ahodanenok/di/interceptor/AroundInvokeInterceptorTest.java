@@ -0,0 +1,254 @@
+package ahodanenok.di.interceptor;
+
+import ahodanenok.di.DefaultWorld;
+import ahodanenok.di.ObjectRequest;
+import ahodanenok.di.character.ClassCharacter;
+import ahodanenok.di.character.InterceptorCharacter;
+import ahodanenok.di.exception.CharacterMetadataException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.interceptor.AroundInvoke;
+import javax.interceptor.InterceptorBinding;
+import javax.interceptor.InvocationContext;
+import java.io.IOException;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class AroundInvokeInterceptorTest {
+
+    private static List<String> log = new ArrayList<>();
+
+    @BeforeEach
+    public void beforeEach() {
+        log = new ArrayList<>();
+    }
+
+    @InterceptorBinding
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface Logged { }
+
+    public static class Service {
+
+        public String greet(String name) {
+            log.add("greet " + name);
+            return "hello, " + name;
+        }
+
+        public long add(int a, long b) {
+            return a + b;
+        }
+
+        @Logged
+        public void fail(boolean checked) throws IOException {
+            if (checked) {
+                throw new IOException("checked");
+            } else {
+                throw new IllegalStateException("unchecked");
+            }
+        }
+
+        @Logged
+        protected void touch() {
+            log.add("touch");
+        }
+
+        public void touchFromInside() {
+            touch();
+        }
+    }
+
+    public static class UppercaseInterceptor {
+
+        @AroundInvoke
+        public Object aroundInvoke(InvocationContext context) throws Exception {
+            log.add("intercepted " + context.getMethod().getName());
+            Object result = context.proceed();
+            return result instanceof String ? ((String) result).toUpperCase() : result;
+        }
+    }
+
+    public static class ParametersInterceptor {
+
+        @AroundInvoke
+        public Object aroundInvoke(InvocationContext context) throws Exception {
+            if (context.getMethod().getName().equals("add")) {
+                context.setParameters(new Object[] { 10, 20L });
+            }
+
+            return context.proceed();
+        }
+    }
+
+    @Logged
+    public static class LoggingInterceptor {
+
+        private static final List<Object> instances = new ArrayList<>();
+
+        @AroundInvoke
+        public Object aroundInvoke(InvocationContext context) throws Exception {
+            instances.add(this);
+            log.add("logged " + context.getMethod().getName());
+            return context.proceed();
+        }
+    }
+
+    public static class SelfIntercepted {
+
+        public int value() {
+            return 1;
+        }
+
+        @AroundInvoke
+        public Object aroundInvoke(InvocationContext context) throws Exception {
+            return (Integer) context.proceed() + 1;
+        }
+    }
+
+    static class Hidden {
+
+        @javax.inject.Inject
+        public Hidden() { }
+
+        @Logged
+        public void run() { }
+    }
+
+    public static class Sealed {
+
+        @Logged
+        public final void run() { }
+    }
+
+    @Test
+    @DisplayName("should intercept business methods with interceptors declared by class")
+    public void shouldInterceptDeclaredInterceptors() {
+        DefaultWorld w = new DefaultWorld();
+        w.getQueue().add(InterceptorCharacter.of(UppercaseInterceptor.class));
+        w.getQueue().add(ClassCharacter.of(Service.class).interceptedBy(UppercaseInterceptor.class));
+        w.getQueue().flush();
+
+        Service service = w.find(ObjectRequest.of(Service.class));
+        assertThat(service.getClass()).isNotEqualTo(Service.class);
+        assertThat(service.greet("world")).isEqualTo("HELLO, WORLD");
+        assertThat(service.add(1, 2L)).isEqualTo(3L);
+        assertThat(log).containsExactly("intercepted greet", "greet world", "intercepted add");
+    }
+
+    @Test
+    @DisplayName("should pass changed parameters to business method")
+    public void shouldChangeParameters() {
+        DefaultWorld w = new DefaultWorld();
+        w.getQueue().add(InterceptorCharacter.of(ParametersInterceptor.class));
+        w.getQueue().add(ClassCharacter.of(Service.class).interceptedBy(ParametersInterceptor.class));
+        w.getQueue().flush();
+
+        Service service = w.find(ObjectRequest.of(Service.class));
+        assertThat(service.add(1, 2L)).isEqualTo(30L);
+    }
+
+    @Test
+    @DisplayName("should intercept only methods with interceptor bindings")
+    public void shouldInterceptByBindings() {
+        DefaultWorld w = new DefaultWorld();
+        w.getQueue().add(InterceptorCharacter.of(LoggingInterceptor.class));
+        w.getQueue().add(ClassCharacter.of(Service.class));
+        w.getQueue().flush();
+
+        Service service = w.find(ObjectRequest.of(Service.class));
+        assertThat(service.greet("world")).isEqualTo("hello, world");
+        service.touchFromInside();
+        assertThat(log).containsExactly("greet world", "logged touch", "touch");
+    }
+
+    @Test
+    @DisplayName("should throw exception thrown by business method as is")
+    public void shouldThrowExceptionAsIs() {
+        DefaultWorld w = new DefaultWorld();
+        w.getQueue().add(InterceptorCharacter.of(LoggingInterceptor.class));
+        w.getQueue().add(ClassCharacter.of(Service.class));
+        w.getQueue().flush();
+
+        Service service = w.find(ObjectRequest.of(Service.class));
+        assertThatThrownBy(() -> service.fail(true)).isExactlyInstanceOf(IOException.class).hasMessage("checked");
+        assertThatThrownBy(() -> service.fail(false))
+                .isExactlyInstanceOf(IllegalStateException.class).hasMessage("unchecked");
+        assertThat(log).containsExactly("logged fail", "logged fail");
+    }
+
+    @Test
+    @DisplayName("should invoke interceptors on the instances associated with the target")
+    public void shouldInvokeInterceptorInstancesOfTarget() {
+        LoggingInterceptor.instances.clear();
+        DefaultWorld w = new DefaultWorld();
+        w.getQueue().add(InterceptorCharacter.of(LoggingInterceptor.class));
+        w.getQueue().add(ClassCharacter.of(Service.class));
+        w.getQueue().flush();
+
+        Service first = w.find(ObjectRequest.of(Service.class));
+        Service second = w.find(ObjectRequest.of(Service.class));
+        first.touchFromInside();
+        first.touchFromInside();
+        second.touchFromInside();
+
+        List<Object> instances = LoggingInterceptor.instances;
+        assertThat(instances).hasSize(3);
+        assertThat(instances.get(0)).isSameAs(instances.get(1));
+        assertThat(instances.get(0)).isNotSameAs(instances.get(2));
+    }
+
+    @Test
+    @DisplayName("should invoke around invoke method of the target class")
+    public void shouldInvokeTargetClassInterceptor() {
+        DefaultWorld w = new DefaultWorld();
+        w.getQueue().add(ClassCharacter.of(SelfIntercepted.class));
+        w.getQueue().flush();
+
+        assertThat(w.find(ObjectRequest.of(SelfIntercepted.class)).value()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("should not create proxy if there are no interceptors")
+    public void shouldNotProxyWithoutInterceptors() {
+        DefaultWorld w = new DefaultWorld();
+        w.getQueue().add(InterceptorCharacter.of(UppercaseInterceptor.class));
+        w.getQueue().add(ClassCharacter.of(Service.class));
+        w.getQueue().flush();
+
+        Service service = w.find(ObjectRequest.of(Service.class));
+        assertThat(service.getClass()).isEqualTo(Service.class);
+        assertThat(service.greet("world")).isEqualTo("hello, world");
+    }
+
+    @Test
+    @DisplayName("should fail if class with interceptors can't be proxied")
+    public void shouldFailIfClassCantBeProxied() {
+        DefaultWorld w = new DefaultWorld();
+        w.getQueue().add(InterceptorCharacter.of(LoggingInterceptor.class));
+        w.getQueue().add(ClassCharacter.of(Hidden.class));
+        w.getQueue().flush();
+
+        assertThatThrownBy(() -> w.find(ObjectRequest.of(Hidden.class)))
+                .isExactlyInstanceOf(CharacterMetadataException.class)
+                .hasMessageContaining(Hidden.class.getName())
+                .hasMessageContaining("not public");
+    }
+
+    @Test
+    @DisplayName("should fail if method with interceptor bindings can't be overridden")
+    public void shouldFailIfMethodCantBeOverridden() {
+        DefaultWorld w = new DefaultWorld();
+        w.getQueue().add(InterceptorCharacter.of(LoggingInterceptor.class));
+        w.getQueue().add(ClassCharacter.of(Sealed.class));
+        w.getQueue().flush();
+
+        assertThatThrownBy(() -> w.find(ObjectRequest.of(Sealed.class)))
+                .isExactlyInstanceOf(CharacterMetadataException.class)
+                .hasMessageContaining("Sealed.run()");
+    }
+}
@@ -178,4 +178,31 @@ public class InterceptorBindingsTest {
         assertThat(obj.initialized).isTrue();
         assertThat(log).containsExactlyInAnyOrder("pc1", "pc3");
     }
+
+    @Test
+    @DisplayName("should reuse interceptor chain until new interceptors are registered")
+    @Binding_1
+    public void shouldReuseInterceptorChain() throws Exception {
+        DefaultWorld w = new DefaultWorld();
+        w.getQueue().add(InterceptorCharacter.of(Interceptor_1.class));
+        w.getQueue().flush();
+
+        Annotation b = InterceptorBindingsTest.class
+                .getDeclaredMethod("shouldReuseInterceptorChain")
+                .getDeclaredAnnotation(Binding_1.class);
+        InterceptorChain chain = w.getInterceptorChain(
+                InterceptorRequest.of(InterceptorType.AROUND_CONSTRUCT).withBindings(Collections.singletonList(b)));
+        assertThat(chain.getInterceptors()).hasSize(1);
+        assertThat(w.getInterceptorChain(
+                InterceptorRequest.of(InterceptorType.AROUND_CONSTRUCT).withBindings(Collections.singletonList(b))))
+                .isSameAs(chain);
+
+        w.getQueue().add(InterceptorCharacter.of(Interceptor_3.class));
+        w.getQueue().flush();
+
+        InterceptorChain updated = w.getInterceptorChain(
+                InterceptorRequest.of(InterceptorType.AROUND_CONSTRUCT).withBindings(Collections.singletonList(b)));
+        assertThat(updated).isNotSameAs(chain);
+        assertThat(updated.getInterceptors()).hasSize(2);
+    }
 }
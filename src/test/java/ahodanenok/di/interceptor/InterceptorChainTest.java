@@ -1,12 +1,16 @@
 package ahodanenok.di.interceptor;
 
 import ahodanenok.di.interceptor.context.ConstructorInvocationContext;
+import ahodanenok.di.interceptor.context.ObjectInvocationContext;
 import org.junit.jupiter.api.Test;
 
 import javax.interceptor.InvocationContext;
 
+import java.io.IOException;
+import java.lang.reflect.UndeclaredThrowableException;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -88,4 +92,61 @@ public class InterceptorChainTest {
         assertThat(called[1]).isFalse();
         assertThat(ctx.getTarget()).isNull();
     }
+
+    @Test
+    public void shouldPassChainedContextToInterceptorsAsIs() throws Exception {
+        ObjectInvocationContext ctx = new ObjectInvocationContext(new A());
+        Interceptor interceptor = c -> {
+            assertThat(c).isSameAs(ctx);
+            return c.proceed();
+        };
+
+        new InterceptorChain(Arrays.asList(interceptor, interceptor)).invoke(ctx);
+        new InterceptorChain(Arrays.asList(interceptor, interceptor)).invoke(ctx);
+    }
+
+    @Test
+    public void shouldShareContextDataBetweenInterceptors() throws Exception {
+        ObjectInvocationContext ctx = new ObjectInvocationContext(new A());
+        Interceptor interceptor_1 = c -> {
+            for (int i = 0; i < 10; i++) {
+                c.getContextData().put("key-" + i, i);
+            }
+
+            return c.proceed();
+        };
+
+        Interceptor interceptor_2 = c -> {
+            Map<String, Object> data = c.getContextData();
+            assertThat(data).hasSize(10).containsEntry("key-0", 0).containsEntry("key-9", 9);
+            assertThat(data.remove("key-5")).isEqualTo(5);
+            assertThat(data.put("key-0", "zero")).isEqualTo(0);
+            data.entrySet().removeIf(e -> e.getKey().equals("key-9"));
+            return c.proceed();
+        };
+
+        new InterceptorChain(Arrays.asList(interceptor_1, interceptor_2)).invoke(ctx);
+        assertThat(ctx.getContextData()).hasSize(8)
+                .containsEntry("key-0", "zero")
+                .doesNotContainKeys("key-5", "key-9");
+    }
+
+    @Test
+    public void shouldWrapCheckedExceptionsProceedingObjectContext() throws Exception {
+        ObjectInvocationContext ctx = new ObjectInvocationContext(new A());
+        Interceptor failing = c -> {
+            throw new IOException("checked");
+        };
+        Interceptor proceeding = c -> {
+            assertThatThrownBy(ctx::proceed)
+                    .isExactlyInstanceOf(UndeclaredThrowableException.class)
+                    .hasCauseExactlyInstanceOf(IOException.class);
+            return "proceeded";
+        };
+
+        assertThat(new InterceptorChain(Arrays.asList(proceeding, failing)).invoke(ctx)).isEqualTo("proceeded");
+        assertThatThrownBy(() -> new InterceptorChain(Collections.singletonList(failing)).invoke(ctx))
+                .isExactlyInstanceOf(IOException.class)
+                .hasMessage("checked");
+    }
 }
@@ -12,10 +12,12 @@ import org.junit.jupiter.api.Test;
 import javax.annotation.PostConstruct;
 import javax.inject.Inject;
 import javax.interceptor.InvocationContext;
+import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 public class PostConstructInterceptorTest {
 
@@ -66,6 +68,12 @@ public class PostConstructInterceptorTest {
         }
     }
 
+    public static class FailingInterceptor {
+        public Object interceptor(InvocationContext context) throws Exception {
+            throw new IllegalStateException("failed");
+        }
+    }
+
     @BeforeEach
     public void beforeEach() {
         calledInterceptors = new ArrayList<>();
@@ -166,4 +174,21 @@ public class PostConstructInterceptorTest {
         assertThat(w.find(ObjectRequest.of(A.class))).isExactlyInstanceOf(A.class);
         assertThat(calledInterceptors).containsExactly("interceptor 2", "interceptor 1", "A");
     }
+
+    @Test
+    public void shouldWrapExceptionThrownByInterceptor() throws Exception {
+        DefaultWorld w = new DefaultWorld();
+        w.getQueue().add(InterceptorCharacter.of(FailingInterceptor.class)
+                .intercepts(
+                        InterceptorType.POST_CONSTRUCT,
+                        FailingInterceptor.class.getDeclaredMethod("interceptor", InvocationContext.class)));
+        w.getQueue().flush();
+
+        InterceptorChain chain = w.getInterceptorChain(
+                InterceptorRequest.of(InterceptorType.POST_CONSTRUCT).matchAll());
+        assertThatThrownBy(() -> chain.invoke(new MethodInvocationContext(new A(), A.class.getDeclaredMethod("m"))))
+                .isExactlyInstanceOf(InvocationTargetException.class)
+                .hasCauseExactlyInstanceOf(IllegalStateException.class);
+        assertThat(calledInterceptors).isEmpty();
+    }
 }
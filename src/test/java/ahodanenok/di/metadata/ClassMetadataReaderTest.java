@@ -223,4 +223,15 @@ public class ClassMetadataReaderTest {
     public void noInterceptorBindings() {
         assertThat(new ClassMetadataReader<>(Tree.class).readInterceptorBindings()).isEmpty();
     }
+
+    @Test
+    @DisplayName("should share reader of a class and return copies of read metadata")
+    public void sharedReader() {
+        ClassMetadataReader<Seasons> reader = ClassMetadataReader.of(Seasons.class);
+        assertThat(ClassMetadataReader.of(Seasons.class)).isSameAs(reader);
+
+        reader.readInterceptorBindings().clear();
+        assertThat(reader.readInterceptorBindings()).hasSize(3);
+        assertThat(reader.readInstanceMethods()).isSameAs(reader.readInstanceMethods());
+    }
 }
@@ -4,6 +4,10 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import javax.inject.Provider;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -22,6 +26,45 @@ public class ScopeTest {
                 .isSameAs(scope.getObject(provider));
     }
 
+    @Test
+    @DisplayName("should instantiate singleton once when requested concurrently")
+    public void singletonConcurrent() throws Exception {
+        SingletonScope<Box> scope = new SingletonScope<>();
+        AtomicInteger instantiations = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        Provider<Box> provider = () -> {
+            instantiations.incrementAndGet();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            return new Box();
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Box>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return scope.getObject(provider);
+                }));
+            }
+
+            start.countDown();
+            Box box = results.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<Box> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isSameAs(box);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(instantiations.get()).isEqualTo(1);
+    }
+
     @Test
     @DisplayName("should return a new object from always new scope")
     public void alwaysNew() {
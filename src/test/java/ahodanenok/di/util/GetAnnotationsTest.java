@@ -40,7 +40,18 @@ public class GetAnnotationsTest {
     @Inherited
     @interface B { }
 
+    @Meta
+    @ME
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface MF { }
+
+    @Meta
+    @MF
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface ME { }
+
     @A @MC static class WithAnnotations { }
+    @ME static class WithCycle { }
     @B @MA @MD static class Superclass { }
     static class Subclass extends Superclass { }
 
@@ -54,6 +65,14 @@ public class GetAnnotationsTest {
                         WithAnnotations.class.getDeclaredAnnotation(MC.class));
     }
 
+    @Test
+    public void shouldReturnAnnotationsDeclaredOnEachOtherOnce()  {
+        assertThat(ReflectionUtils.getAnnotations(WithCycle.class, a -> a.annotationType().isAnnotationPresent(Meta.class), true))
+                .containsExactlyInAnyOrder(
+                        WithCycle.class.getDeclaredAnnotation(ME.class),
+                        ME.class.getDeclaredAnnotation(MF.class));
+    }
+
     @Test
     public void shouldReturnAnnotationsWithMetaAnnotationDeclaredOnSuperClass()  {
         assertThat(ReflectionUtils.getAnnotations(Subclass.class, a -> a.annotationType().isAnnotationPresent(Meta.class), true))
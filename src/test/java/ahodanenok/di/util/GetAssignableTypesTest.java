@@ -0,0 +1,61 @@
+package ahodanenok.di.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.Serializable;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class GetAssignableTypesTest {
+
+    interface Food { }
+    interface Fruit extends Food { }
+    static class Plant { }
+    static class Apple extends Plant implements Fruit { }
+
+    @Test
+    public void shouldReturnClassSuperclassesAndInterfaces() {
+        assertThat(ReflectionUtils.getAssignableTypes(Apple.class))
+                .containsExactlyInAnyOrder(Apple.class, Plant.class, Fruit.class, Food.class, Object.class);
+    }
+
+    @Test
+    public void shouldReturnObjectForInterface() {
+        assertThat(ReflectionUtils.getAssignableTypes(Fruit.class))
+                .containsExactlyInAnyOrder(Fruit.class, Food.class, Object.class);
+    }
+
+    @Test
+    public void shouldReturnWrapperForPrimitive() {
+        assertThat(ReflectionUtils.getAssignableTypes(int.class)).containsExactlyInAnyOrder(int.class, Integer.class);
+        assertThat(ReflectionUtils.getAssignableTypes(Integer.class)).contains(int.class, Number.class);
+    }
+
+    @Test
+    public void shouldReturnCovariantArrays() {
+        assertThat(ReflectionUtils.getAssignableTypes(Apple[].class)).containsExactlyInAnyOrder(
+                Apple[].class, Plant[].class, Fruit[].class, Food[].class, Object[].class,
+                Object.class, Cloneable.class, Serializable.class);
+        assertThat(ReflectionUtils.getAssignableTypes(int[].class)).containsExactlyInAnyOrder(
+                int[].class, Object.class, Cloneable.class, Serializable.class);
+    }
+
+    @Test
+    public void shouldBeConsistentWithIsAssignable() {
+        List<Class<?>> types = Arrays.asList(
+                Apple.class, Plant.class, Fruit.class, Food.class, Object.class,
+                int.class, Integer.class, Number.class, long.class, String.class, CharSequence.class,
+                Apple[].class, Fruit[].class, Object[].class, int[].class, Integer[].class,
+                String[][].class, Object[][].class, Cloneable.class, Serializable.class, ArrayList.class, List.class);
+
+        for (Class<?> from : types) {
+            Set<Class<?>> assignable = ReflectionUtils.getAssignableTypes(from);
+            for (Class<?> to : types) {
+                assertThat(assignable.contains(to))
+                        .as("%s -> %s", from, to)
+                        .isEqualTo(ReflectionUtils.isAssignable(from, to));
+            }
+        }
+    }
+}